@@ -157,6 +157,12 @@ public class OpenIdConfigurationClient extends BaseClient<OpenIdConfigurationReq
                 if (jsonObj.has(FRONTCHANNEL_LOGOUT_SESSION_SUPPORTED)) {
                     getResponse().setFrontChannelLogoutSessionSupported(jsonObj.getBoolean(FRONTCHANNEL_LOGOUT_SESSION_SUPPORTED));
                 }
+                if (jsonObj.has(BACKCHANNEL_LOGOUT_SUPPORTED)) {
+                    getResponse().setBackchannelLogoutSupported(jsonObj.getBoolean(BACKCHANNEL_LOGOUT_SUPPORTED));
+                }
+                if (jsonObj.has(BACKCHANNEL_LOGOUT_SESSION_SUPPORTED)) {
+                    getResponse().setBackchannelLogoutSessionSupported(jsonObj.getBoolean(BACKCHANNEL_LOGOUT_SESSION_SUPPORTED));
+                }
                 if (jsonObj.has(REQUIRE_REQUEST_URI_REGISTRATION)) {
                     getResponse().setRequireRequestUriRegistration(jsonObj.getBoolean(REQUIRE_REQUEST_URI_REGISTRATION));
                 }
@@ -49,6 +49,7 @@ public class RegisterRequest extends BaseRequest {
     private String policyUri;
     private List<String> frontChannelLogoutUris;
     private Boolean frontChannelLogoutSessionRequired;
+    private List<String> backchannelLogoutUris;
     private String tosUri;
     private String jwksUri;
     private String jwks;
@@ -207,6 +208,24 @@ public class RegisterRequest extends BaseRequest {
         this.frontChannelLogoutSessionRequired = frontChannelLogoutSessionRequired;
     }
 
+    /**
+     * Gets backchannel logout uris.
+     *
+     * @return backchannel logout uris
+     */
+    public List<String> getBackchannelLogoutUris() {
+        return backchannelLogoutUris;
+    }
+
+    /**
+     * Sets backchannel logout uris.
+     *
+     * @param backchannelLogoutUris backchannel logout uris
+     */
+    public void setBackchannelLogoutUris(List<String> backchannelLogoutUris) {
+        this.backchannelLogoutUris = backchannelLogoutUris;
+    }
+
     /**
      * Returns a list of redirection URIs.
      *
@@ -996,6 +1015,9 @@ public class RegisterRequest extends BaseRequest {
         if (frontChannelLogoutSessionRequired != null) {
             parameters.put(FRONT_CHANNEL_LOGOUT_SESSION_REQUIRED.toString(), frontChannelLogoutSessionRequired.toString());
         }
+        if (backchannelLogoutUris != null && !backchannelLogoutUris.isEmpty()) {
+            parameters.put(BACKCHANNEL_LOGOUT_URI.toString(), toJSONArray(backchannelLogoutUris).toString());
+        }
         if (requestUris != null && !requestUris.isEmpty()) {
             parameters.put(REQUEST_URIS.toString(), toJSONArray(requestUris).toString());
         }
@@ -1139,6 +1161,18 @@ public class RegisterRequest extends BaseRequest {
             }
         }
 
+        final List<String> backchannelLogoutUris = new ArrayList<String>();
+        if (requestObject.has(BACKCHANNEL_LOGOUT_URI.toString())) {
+            try {
+                JSONArray backchannelLogoutUriJsonArray = requestObject.getJSONArray(BACKCHANNEL_LOGOUT_URI.toString());
+                for (int i = 0; i < backchannelLogoutUriJsonArray.length(); i++) {
+                    backchannelLogoutUris.add(backchannelLogoutUriJsonArray.getString(i));
+                }
+            } catch (JSONException e) {
+                backchannelLogoutUris.add(requestObject.optString(BACKCHANNEL_LOGOUT_URI.toString()));
+            }
+        }
+
         Date clientSecretExpiresAt = null;
         if (requestObject.has(CLIENT_SECRET_EXPIRES_AT_.getName())) {
             if (requestObject.optLong(CLIENT_SECRET_EXPIRES_AT_.getName()) > 0) {
@@ -1158,6 +1192,7 @@ public class RegisterRequest extends BaseRequest {
         result.setRequireAuthTime(requestObject.has(REQUIRE_AUTH_TIME.toString()) && requestObject.getBoolean(REQUIRE_AUTH_TIME.toString()));
         result.setFrontChannelLogoutUris(frontChannelLogoutUris);
         result.setFrontChannelLogoutSessionRequired(requestObject.optBoolean(FRONT_CHANNEL_LOGOUT_SESSION_REQUIRED.toString()));
+        result.setBackchannelLogoutUris(backchannelLogoutUris);
         result.setDefaultMaxAge(requestObject.has(DEFAULT_MAX_AGE.toString()) ?
                 requestObject.getInt(DEFAULT_MAX_AGE.toString()) : null);
         result.setIdTokenSignedResponseAlg(requestObject.has(ID_TOKEN_SIGNED_RESPONSE_ALG.toString()) ?
@@ -1306,6 +1341,9 @@ public class RegisterRequest extends BaseRequest {
         if (frontChannelLogoutSessionRequired != null) {
             parameters.put(FRONT_CHANNEL_LOGOUT_SESSION_REQUIRED.toString(), frontChannelLogoutSessionRequired.toString());
         }
+        if (backchannelLogoutUris != null && !backchannelLogoutUris.isEmpty()) {
+            parameters.put(BACKCHANNEL_LOGOUT_URI.toString(), toJSONArray(backchannelLogoutUris));
+        }
         if (requestUris != null && !requestUris.isEmpty()) {
             parameters.put(REQUEST_URIS.toString(), toJSONArray(requestUris));
         }
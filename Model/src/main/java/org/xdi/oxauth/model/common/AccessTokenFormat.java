@@ -0,0 +1,50 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.model.common;
+
+import org.codehaus.jackson.annotate.JsonCreator;
+import org.codehaus.jackson.annotate.JsonValue;
+
+/**
+ * Format of issued access tokens. Handle tokens are random strings persisted in token store, jwt tokens are signed
+ * and carry the grant, so they are validated without store lookup.
+ */
+public enum AccessTokenFormat {
+    HANDLE("handle"),
+    JWT("jwt");
+
+    private final String value;
+
+    private AccessTokenFormat(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static AccessTokenFormat fromString(String string) {
+        for (AccessTokenFormat v : values()) {
+            if (v.getValue().equalsIgnoreCase(string)) {
+                return v;
+            }
+        }
+        return HANDLE;
+    }
+
+    /**
+     * Returns a string representation of the object. In this case the parameter name.
+     *
+     * @return The string representation of the object.
+     */
+    @Override
+    @JsonValue
+    public String toString() {
+        return value;
+    }
+}
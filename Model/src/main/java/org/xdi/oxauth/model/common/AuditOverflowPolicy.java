@@ -0,0 +1,59 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.model.common;
+
+import org.codehaus.jackson.annotate.JsonCreator;
+import org.codehaus.jackson.annotate.JsonValue;
+
+/**
+ * What audit logger does with message when its queue is full.
+ */
+public enum AuditOverflowPolicy {
+    /**
+     * Discard message
+     */
+    DROP("drop"),
+    /**
+     * Wait until queue has free space
+     */
+    BLOCK("block"),
+    /**
+     * Write message to local log file instead of JMS
+     */
+    FILE("file");
+
+    private final String value;
+
+    private AuditOverflowPolicy(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static AuditOverflowPolicy fromString(String string) {
+        for (AuditOverflowPolicy v : values()) {
+            if (v.getValue().equalsIgnoreCase(string)) {
+                return v;
+            }
+        }
+        return FILE;
+    }
+
+    /**
+     * Returns a string representation of the object. In this case the parameter name.
+     *
+     * @return The string representation of the object.
+     */
+    @Override
+    @JsonValue
+    public String toString() {
+        return value;
+    }
+}
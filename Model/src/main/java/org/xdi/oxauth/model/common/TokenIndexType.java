@@ -0,0 +1,49 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.model.common;
+
+import org.codehaus.jackson.annotate.JsonCreator;
+import org.codehaus.jackson.annotate.JsonValue;
+
+/**
+ * Storage of per client and per session indexes of tokens kept in cache.
+ */
+public enum TokenIndexType {
+    CACHE("cache"),
+    IN_MEMORY("in_memory");
+
+    private final String value;
+
+    private TokenIndexType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static TokenIndexType fromString(String string) {
+        for (TokenIndexType v : values()) {
+            if (v.getValue().equalsIgnoreCase(string)) {
+                return v;
+            }
+        }
+        return CACHE;
+    }
+
+    /**
+     * Returns a string representation of the object. In this case the parameter name.
+     *
+     * @return The string representation of the object.
+     */
+    @Override
+    @JsonValue
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.model.common;
+
+import org.codehaus.jackson.annotate.JsonCreator;
+import org.codehaus.jackson.annotate.JsonValue;
+
+/**
+ * Storage of persisted tokens (access, refresh, id tokens and authorization codes).
+ */
+public enum TokenStoreType {
+    LDAP("ldap"),
+    IN_MEMORY("in_memory");
+
+    private final String value;
+
+    private TokenStoreType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static TokenStoreType fromString(String string) {
+        for (TokenStoreType v : values()) {
+            if (v.getValue().equalsIgnoreCase(string)) {
+                return v;
+            }
+        }
+        return LDAP;
+    }
+
+    /**
+     * Returns a string representation of the object. In this case the parameter name.
+     *
+     * @return The string representation of the object.
+     */
+    @Override
+    @JsonValue
+    public String toString() {
+        return value;
+    }
+}
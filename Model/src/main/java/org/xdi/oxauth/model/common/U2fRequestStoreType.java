@@ -0,0 +1,50 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.model.common;
+
+import org.codehaus.jackson.annotate.JsonCreator;
+import org.codehaus.jackson.annotate.JsonValue;
+
+/**
+ * Storage of short lived U2F authentication and registration request messages.
+ */
+public enum U2fRequestStoreType {
+    LDAP("ldap"),
+    IN_MEMORY("in_memory"),
+    CACHE("cache");
+
+    private final String value;
+
+    private U2fRequestStoreType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @JsonCreator
+    public static U2fRequestStoreType fromString(String string) {
+        for (U2fRequestStoreType v : values()) {
+            if (v.getValue().equalsIgnoreCase(string)) {
+                return v;
+            }
+        }
+        return CACHE;
+    }
+
+    /**
+     * Returns a string representation of the object. In this case the parameter name.
+     *
+     * @return The string representation of the object.
+     */
+    @Override
+    @JsonValue
+    public String toString() {
+        return value;
+    }
+}
@@ -7,8 +7,13 @@
 package org.xdi.oxauth.model.configuration;
 
 import org.codehaus.jackson.annotate.JsonIgnoreProperties;
+import org.xdi.oxauth.model.common.AccessTokenFormat;
+import org.xdi.oxauth.model.common.AuditOverflowPolicy;
 import org.xdi.oxauth.model.common.GrantType;
 import org.xdi.oxauth.model.common.ResponseType;
+import org.xdi.oxauth.model.common.TokenIndexType;
+import org.xdi.oxauth.model.common.TokenStoreType;
+import org.xdi.oxauth.model.common.U2fRequestStoreType;
 import org.xdi.oxauth.model.common.WebKeyStorage;
 
 import java.util.ArrayList;
@@ -167,6 +172,63 @@ public class AppConfiguration implements Configuration {
     private Boolean disableJdkLogger = true;
     private Set<String> authorizationRequestCustomAllowedParameters;
     private Boolean legacyDynamicRegistrationScopeParam;
+    private Boolean clientNearCacheEnabled;
+    private Integer clientNearCacheSize;
+    private Integer clientNearCacheLifetime;
+    private Integer clientAccessTimeFlushInterval;
+    private Integer clientAccessTimeMaxPendingUpdates;
+    private Boolean authorizationGrantCacheEnabled;
+    private Integer authorizationGrantCacheSize;
+    private Integer authorizationGrantCacheLifetime;
+    private Boolean userNearCacheEnabled;
+    private Integer userNearCacheSize;
+    private Integer userNearCacheLifetime;
+    private Integer discoveryCacheLifetime;
+    private Boolean discoveryGzipEnabled;
+    private TokenStoreType tokenStoreType;
+    private TokenIndexType tokenIndexType;
+    private Integer tokenIndexShards;
+    private Integer cleanServiceThreads;
+    private Integer cleanServiceTokenThreads;
+    private Integer cleanServiceRateLimit;
+    private Integer cleanServiceLatencyThreshold;
+    private Integer auditQueueCapacity;
+    private Integer auditBatchSize;
+    private Integer auditLingerTime;
+    private AuditOverflowPolicy auditOverflowPolicy;
+    private Boolean jwksCacheEnabled;
+    private Integer jwksCacheSize;
+    private Integer jwksCacheMinLifetime;
+    private Integer jwksCacheMaxLifetime;
+    private Integer jwksCacheDefaultLifetime;
+    private Integer jwksCacheRefetchInterval;
+    private Integer sectorIdentifierCacheLifetime;
+    private Integer sectorIdentifierCacheMaxStaleness;
+    private Boolean umaPermissionNearCacheEnabled;
+    private Integer umaPermissionNearCacheSize;
+    private Integer umaPermissionNearCacheLifetime;
+    private Boolean umaIntrospectionNearCacheEnabled;
+    private Integer umaIntrospectionNearCacheSize;
+    private Integer umaIntrospectionNearCacheLifetime;
+    private Integer umaRptPolicyThreads;
+    private Integer umaRptPolicyTimeout;
+    private Boolean u2fDeviceNearCacheEnabled;
+    private Integer u2fDeviceNearCacheSize;
+    private Integer u2fDeviceNearCacheLifetime;
+    private U2fRequestStoreType u2fRequestStoreType;
+    /**
+     * Self-contained (jwt) access tokens are checked against revocations kept in the shared cache on each validation,
+     * so revocation is effective on all nodes as soon as the shared cache has it. Revocation is kept for
+     * accessTokenLifetime seconds.
+     */
+    private AccessTokenFormat accessTokenFormat;
+    private Integer sessionIdTouchInterval;
+    private Integer logoutNotificationThreads;
+    private Integer logoutNotificationTimeout;
+    private Integer logoutNotificationRetries;
+    private Integer logoutNotificationRetryDelay;
+    private Integer tokenIndexPreviousShards;
+    private Integer inMemoryTokenStoreSize;
 
     public Boolean getDisableJdkLogger() {
         return disableJdkLogger;
@@ -1332,4 +1394,420 @@ public class AppConfiguration implements Configuration {
     public void setLegacyDynamicRegistrationScopeParam(Boolean legacyDynamicRegistrationScopeParam) {
         this.legacyDynamicRegistrationScopeParam = legacyDynamicRegistrationScopeParam;
     }
+
+    public Boolean getClientNearCacheEnabled() {
+        return clientNearCacheEnabled != null ? clientNearCacheEnabled : true;
+    }
+
+    public void setClientNearCacheEnabled(Boolean clientNearCacheEnabled) {
+        this.clientNearCacheEnabled = clientNearCacheEnabled;
+    }
+
+    public Integer getClientNearCacheSize() {
+        return clientNearCacheSize != null ? clientNearCacheSize : 1000;
+    }
+
+    public void setClientNearCacheSize(Integer clientNearCacheSize) {
+        this.clientNearCacheSize = clientNearCacheSize;
+    }
+
+    public Integer getClientNearCacheLifetime() {
+        return clientNearCacheLifetime != null ? clientNearCacheLifetime : 60;
+    }
+
+    public void setClientNearCacheLifetime(Integer clientNearCacheLifetime) {
+        this.clientNearCacheLifetime = clientNearCacheLifetime;
+    }
+
+    public Integer getClientAccessTimeFlushInterval() {
+        return clientAccessTimeFlushInterval != null ? clientAccessTimeFlushInterval : 60;
+    }
+
+    public void setClientAccessTimeFlushInterval(Integer clientAccessTimeFlushInterval) {
+        this.clientAccessTimeFlushInterval = clientAccessTimeFlushInterval;
+    }
+
+    public Integer getClientAccessTimeMaxPendingUpdates() {
+        return clientAccessTimeMaxPendingUpdates != null ? clientAccessTimeMaxPendingUpdates : 10000;
+    }
+
+    public void setClientAccessTimeMaxPendingUpdates(Integer clientAccessTimeMaxPendingUpdates) {
+        this.clientAccessTimeMaxPendingUpdates = clientAccessTimeMaxPendingUpdates;
+    }
+
+    public Boolean getAuthorizationGrantCacheEnabled() {
+        return authorizationGrantCacheEnabled != null ? authorizationGrantCacheEnabled : true;
+    }
+
+    public void setAuthorizationGrantCacheEnabled(Boolean authorizationGrantCacheEnabled) {
+        this.authorizationGrantCacheEnabled = authorizationGrantCacheEnabled;
+    }
+
+    public Integer getAuthorizationGrantCacheSize() {
+        return authorizationGrantCacheSize != null ? authorizationGrantCacheSize : 10000;
+    }
+
+    public void setAuthorizationGrantCacheSize(Integer authorizationGrantCacheSize) {
+        this.authorizationGrantCacheSize = authorizationGrantCacheSize;
+    }
+
+    public Integer getAuthorizationGrantCacheLifetime() {
+        return authorizationGrantCacheLifetime != null ? authorizationGrantCacheLifetime : 300;
+    }
+
+    public void setAuthorizationGrantCacheLifetime(Integer authorizationGrantCacheLifetime) {
+        this.authorizationGrantCacheLifetime = authorizationGrantCacheLifetime;
+    }
+
+    public Boolean getUserNearCacheEnabled() {
+        return userNearCacheEnabled != null ? userNearCacheEnabled : true;
+    }
+
+    public void setUserNearCacheEnabled(Boolean userNearCacheEnabled) {
+        this.userNearCacheEnabled = userNearCacheEnabled;
+    }
+
+    public Integer getUserNearCacheSize() {
+        return userNearCacheSize != null ? userNearCacheSize : 10000;
+    }
+
+    public void setUserNearCacheSize(Integer userNearCacheSize) {
+        this.userNearCacheSize = userNearCacheSize;
+    }
+
+    public Integer getUserNearCacheLifetime() {
+        return userNearCacheLifetime != null ? userNearCacheLifetime : 30;
+    }
+
+    public void setUserNearCacheLifetime(Integer userNearCacheLifetime) {
+        this.userNearCacheLifetime = userNearCacheLifetime;
+    }
+
+    public Integer getDiscoveryCacheLifetime() {
+        return discoveryCacheLifetime != null ? discoveryCacheLifetime : 60;
+    }
+
+    public void setDiscoveryCacheLifetime(Integer discoveryCacheLifetime) {
+        this.discoveryCacheLifetime = discoveryCacheLifetime;
+    }
+
+    public Boolean getDiscoveryGzipEnabled() {
+        return discoveryGzipEnabled != null ? discoveryGzipEnabled : false;
+    }
+
+    public void setDiscoveryGzipEnabled(Boolean discoveryGzipEnabled) {
+        this.discoveryGzipEnabled = discoveryGzipEnabled;
+    }
+
+    public TokenStoreType getTokenStoreType() {
+        return tokenStoreType != null ? tokenStoreType : TokenStoreType.LDAP;
+    }
+
+    public void setTokenStoreType(TokenStoreType tokenStoreType) {
+        this.tokenStoreType = tokenStoreType;
+    }
+
+    public TokenIndexType getTokenIndexType() {
+        return tokenIndexType != null ? tokenIndexType : TokenIndexType.CACHE;
+    }
+
+    public void setTokenIndexType(TokenIndexType tokenIndexType) {
+        this.tokenIndexType = tokenIndexType;
+    }
+
+    public Integer getTokenIndexShards() {
+        return tokenIndexShards != null ? tokenIndexShards : 16;
+    }
+
+    public void setTokenIndexShards(Integer tokenIndexShards) {
+        this.tokenIndexShards = tokenIndexShards;
+    }
+
+    public Integer getCleanServiceThreads() {
+        return cleanServiceThreads != null ? cleanServiceThreads : 4;
+    }
+
+    public void setCleanServiceThreads(Integer cleanServiceThreads) {
+        this.cleanServiceThreads = cleanServiceThreads;
+    }
+
+    public Integer getCleanServiceTokenThreads() {
+        return cleanServiceTokenThreads != null ? cleanServiceTokenThreads : 4;
+    }
+
+    public void setCleanServiceTokenThreads(Integer cleanServiceTokenThreads) {
+        this.cleanServiceTokenThreads = cleanServiceTokenThreads;
+    }
+
+    public Integer getCleanServiceRateLimit() {
+        return cleanServiceRateLimit != null ? cleanServiceRateLimit : 0;
+    }
+
+    public void setCleanServiceRateLimit(Integer cleanServiceRateLimit) {
+        this.cleanServiceRateLimit = cleanServiceRateLimit;
+    }
+
+    public Integer getCleanServiceLatencyThreshold() {
+        return cleanServiceLatencyThreshold != null ? cleanServiceLatencyThreshold : 100;
+    }
+
+    public void setCleanServiceLatencyThreshold(Integer cleanServiceLatencyThreshold) {
+        this.cleanServiceLatencyThreshold = cleanServiceLatencyThreshold;
+    }
+
+    public Integer getAuditQueueCapacity() {
+        return auditQueueCapacity != null ? auditQueueCapacity : 10000;
+    }
+
+    public void setAuditQueueCapacity(Integer auditQueueCapacity) {
+        this.auditQueueCapacity = auditQueueCapacity;
+    }
+
+    public Integer getAuditBatchSize() {
+        return auditBatchSize != null ? auditBatchSize : 100;
+    }
+
+    public void setAuditBatchSize(Integer auditBatchSize) {
+        this.auditBatchSize = auditBatchSize;
+    }
+
+    public Integer getAuditLingerTime() {
+        return auditLingerTime != null ? auditLingerTime : 200;
+    }
+
+    public void setAuditLingerTime(Integer auditLingerTime) {
+        this.auditLingerTime = auditLingerTime;
+    }
+
+    public AuditOverflowPolicy getAuditOverflowPolicy() {
+        return auditOverflowPolicy != null ? auditOverflowPolicy : AuditOverflowPolicy.FILE;
+    }
+
+    public void setAuditOverflowPolicy(AuditOverflowPolicy auditOverflowPolicy) {
+        this.auditOverflowPolicy = auditOverflowPolicy;
+    }
+
+    public Boolean getJwksCacheEnabled() {
+        return jwksCacheEnabled != null ? jwksCacheEnabled : true;
+    }
+
+    public void setJwksCacheEnabled(Boolean jwksCacheEnabled) {
+        this.jwksCacheEnabled = jwksCacheEnabled;
+    }
+
+    public Integer getJwksCacheSize() {
+        return jwksCacheSize != null ? jwksCacheSize : 1000;
+    }
+
+    public void setJwksCacheSize(Integer jwksCacheSize) {
+        this.jwksCacheSize = jwksCacheSize;
+    }
+
+    public Integer getJwksCacheMinLifetime() {
+        return jwksCacheMinLifetime != null ? jwksCacheMinLifetime : 60;
+    }
+
+    public void setJwksCacheMinLifetime(Integer jwksCacheMinLifetime) {
+        this.jwksCacheMinLifetime = jwksCacheMinLifetime;
+    }
+
+    public Integer getJwksCacheMaxLifetime() {
+        return jwksCacheMaxLifetime != null ? jwksCacheMaxLifetime : 86400;
+    }
+
+    public void setJwksCacheMaxLifetime(Integer jwksCacheMaxLifetime) {
+        this.jwksCacheMaxLifetime = jwksCacheMaxLifetime;
+    }
+
+    public Integer getJwksCacheDefaultLifetime() {
+        return jwksCacheDefaultLifetime != null ? jwksCacheDefaultLifetime : 3600;
+    }
+
+    public void setJwksCacheDefaultLifetime(Integer jwksCacheDefaultLifetime) {
+        this.jwksCacheDefaultLifetime = jwksCacheDefaultLifetime;
+    }
+
+    public Integer getJwksCacheRefetchInterval() {
+        return jwksCacheRefetchInterval != null ? jwksCacheRefetchInterval : 30;
+    }
+
+    public void setJwksCacheRefetchInterval(Integer jwksCacheRefetchInterval) {
+        this.jwksCacheRefetchInterval = jwksCacheRefetchInterval;
+    }
+
+    public Integer getSectorIdentifierCacheLifetime() {
+        return sectorIdentifierCacheLifetime != null ? sectorIdentifierCacheLifetime : 3600;
+    }
+
+    public void setSectorIdentifierCacheLifetime(Integer sectorIdentifierCacheLifetime) {
+        this.sectorIdentifierCacheLifetime = sectorIdentifierCacheLifetime;
+    }
+
+    public Integer getSectorIdentifierCacheMaxStaleness() {
+        return sectorIdentifierCacheMaxStaleness != null ? sectorIdentifierCacheMaxStaleness : 86400;
+    }
+
+    public void setSectorIdentifierCacheMaxStaleness(Integer sectorIdentifierCacheMaxStaleness) {
+        this.sectorIdentifierCacheMaxStaleness = sectorIdentifierCacheMaxStaleness;
+    }
+
+    public Boolean getUmaPermissionNearCacheEnabled() {
+        return umaPermissionNearCacheEnabled != null ? umaPermissionNearCacheEnabled : true;
+    }
+
+    public void setUmaPermissionNearCacheEnabled(Boolean umaPermissionNearCacheEnabled) {
+        this.umaPermissionNearCacheEnabled = umaPermissionNearCacheEnabled;
+    }
+
+    public Integer getUmaPermissionNearCacheSize() {
+        return umaPermissionNearCacheSize != null ? umaPermissionNearCacheSize : 10000;
+    }
+
+    public void setUmaPermissionNearCacheSize(Integer umaPermissionNearCacheSize) {
+        this.umaPermissionNearCacheSize = umaPermissionNearCacheSize;
+    }
+
+    public Integer getUmaPermissionNearCacheLifetime() {
+        return umaPermissionNearCacheLifetime != null ? umaPermissionNearCacheLifetime : 30;
+    }
+
+    public void setUmaPermissionNearCacheLifetime(Integer umaPermissionNearCacheLifetime) {
+        this.umaPermissionNearCacheLifetime = umaPermissionNearCacheLifetime;
+    }
+
+    public Boolean getUmaIntrospectionNearCacheEnabled() {
+        return umaIntrospectionNearCacheEnabled != null ? umaIntrospectionNearCacheEnabled : true;
+    }
+
+    public void setUmaIntrospectionNearCacheEnabled(Boolean umaIntrospectionNearCacheEnabled) {
+        this.umaIntrospectionNearCacheEnabled = umaIntrospectionNearCacheEnabled;
+    }
+
+    public Integer getUmaIntrospectionNearCacheSize() {
+        return umaIntrospectionNearCacheSize != null ? umaIntrospectionNearCacheSize : 10000;
+    }
+
+    public void setUmaIntrospectionNearCacheSize(Integer umaIntrospectionNearCacheSize) {
+        this.umaIntrospectionNearCacheSize = umaIntrospectionNearCacheSize;
+    }
+
+    public Integer getUmaIntrospectionNearCacheLifetime() {
+        return umaIntrospectionNearCacheLifetime != null ? umaIntrospectionNearCacheLifetime : 60;
+    }
+
+    public void setUmaIntrospectionNearCacheLifetime(Integer umaIntrospectionNearCacheLifetime) {
+        this.umaIntrospectionNearCacheLifetime = umaIntrospectionNearCacheLifetime;
+    }
+
+    public Integer getUmaRptPolicyThreads() {
+        return umaRptPolicyThreads != null ? umaRptPolicyThreads : 0;
+    }
+
+    public void setUmaRptPolicyThreads(Integer umaRptPolicyThreads) {
+        this.umaRptPolicyThreads = umaRptPolicyThreads;
+    }
+
+    public Integer getUmaRptPolicyTimeout() {
+        return umaRptPolicyTimeout != null ? umaRptPolicyTimeout : 10000;
+    }
+
+    public void setUmaRptPolicyTimeout(Integer umaRptPolicyTimeout) {
+        this.umaRptPolicyTimeout = umaRptPolicyTimeout;
+    }
+
+    public Boolean getU2fDeviceNearCacheEnabled() {
+        return u2fDeviceNearCacheEnabled != null ? u2fDeviceNearCacheEnabled : true;
+    }
+
+    public void setU2fDeviceNearCacheEnabled(Boolean u2fDeviceNearCacheEnabled) {
+        this.u2fDeviceNearCacheEnabled = u2fDeviceNearCacheEnabled;
+    }
+
+    public Integer getU2fDeviceNearCacheSize() {
+        return u2fDeviceNearCacheSize != null ? u2fDeviceNearCacheSize : 10000;
+    }
+
+    public void setU2fDeviceNearCacheSize(Integer u2fDeviceNearCacheSize) {
+        this.u2fDeviceNearCacheSize = u2fDeviceNearCacheSize;
+    }
+
+    public Integer getU2fDeviceNearCacheLifetime() {
+        return u2fDeviceNearCacheLifetime != null ? u2fDeviceNearCacheLifetime : 300;
+    }
+
+    public void setU2fDeviceNearCacheLifetime(Integer u2fDeviceNearCacheLifetime) {
+        this.u2fDeviceNearCacheLifetime = u2fDeviceNearCacheLifetime;
+    }
+
+    public U2fRequestStoreType getU2fRequestStoreType() {
+        return u2fRequestStoreType != null ? u2fRequestStoreType : U2fRequestStoreType.CACHE;
+    }
+
+    public void setU2fRequestStoreType(U2fRequestStoreType u2fRequestStoreType) {
+        this.u2fRequestStoreType = u2fRequestStoreType;
+    }
+
+    public AccessTokenFormat getAccessTokenFormat() {
+        return accessTokenFormat != null ? accessTokenFormat : AccessTokenFormat.HANDLE;
+    }
+
+    public void setAccessTokenFormat(AccessTokenFormat accessTokenFormat) {
+        this.accessTokenFormat = accessTokenFormat;
+    }
+
+    public Integer getSessionIdTouchInterval() {
+        return sessionIdTouchInterval != null ? sessionIdTouchInterval : 10;
+    }
+
+    public void setSessionIdTouchInterval(Integer sessionIdTouchInterval) {
+        this.sessionIdTouchInterval = sessionIdTouchInterval;
+    }
+
+    public Integer getLogoutNotificationThreads() {
+        return logoutNotificationThreads != null ? logoutNotificationThreads : 10;
+    }
+
+    public void setLogoutNotificationThreads(Integer logoutNotificationThreads) {
+        this.logoutNotificationThreads = logoutNotificationThreads;
+    }
+
+    public Integer getLogoutNotificationTimeout() {
+        return logoutNotificationTimeout != null ? logoutNotificationTimeout : 5;
+    }
+
+    public void setLogoutNotificationTimeout(Integer logoutNotificationTimeout) {
+        this.logoutNotificationTimeout = logoutNotificationTimeout;
+    }
+
+    public Integer getLogoutNotificationRetries() {
+        return logoutNotificationRetries != null ? logoutNotificationRetries : 2;
+    }
+
+    public void setLogoutNotificationRetries(Integer logoutNotificationRetries) {
+        this.logoutNotificationRetries = logoutNotificationRetries;
+    }
+
+    public Integer getLogoutNotificationRetryDelay() {
+        return logoutNotificationRetryDelay != null ? logoutNotificationRetryDelay : 5;
+    }
+
+    public void setLogoutNotificationRetryDelay(Integer logoutNotificationRetryDelay) {
+        this.logoutNotificationRetryDelay = logoutNotificationRetryDelay;
+    }
+
+    public Integer getTokenIndexPreviousShards() {
+        return tokenIndexPreviousShards != null ? tokenIndexPreviousShards : 0;
+    }
+
+    public void setTokenIndexPreviousShards(Integer tokenIndexPreviousShards) {
+        this.tokenIndexPreviousShards = tokenIndexPreviousShards;
+    }
+
+    public Integer getInMemoryTokenStoreSize() {
+        return inMemoryTokenStoreSize != null ? inMemoryTokenStoreSize : 100000;
+    }
+
+    public void setInMemoryTokenStoreSize(Integer inMemoryTokenStoreSize) {
+        this.inMemoryTokenStoreSize = inMemoryTokenStoreSize;
+    }
 }
\ No newline at end of file
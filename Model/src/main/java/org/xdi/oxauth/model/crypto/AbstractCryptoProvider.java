@@ -5,6 +5,8 @@
  */
 package org.xdi.oxauth.model.crypto;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.codehaus.jettison.json.JSONArray;
 import org.codehaus.jettison.json.JSONException;
 import org.codehaus.jettison.json.JSONObject;
@@ -31,6 +33,9 @@ import java.security.spec.ECPublicKeySpec;
 import java.util.ArrayList;
 import java.util.GregorianCalendar;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.xdi.oxauth.model.jwk.JWKParameter.*;
 
@@ -40,6 +45,15 @@ import static org.xdi.oxauth.model.jwk.JWKParameter.*;
  */
 public abstract class AbstractCryptoProvider {
 
+    /**
+     * Public keys parsed from JWKS documents, by document instance (identity) and key id. Cached documents (e.g. of
+     * client jwks_uri) are shared instances, so their keys are parsed once. Documents must not be modified after
+     * keys are read from them.
+     */
+    private static final Cache<JSONObject, ConcurrentMap<String, PublicKey>> PARSED_PUBLIC_KEYS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
     public abstract JSONObject generateKey(SignatureAlgorithm signatureAlgorithm, Long expirationTime) throws Exception;
 
     public abstract String sign(String signingInput, String keyId, String sharedSecret, SignatureAlgorithm signatureAlgorithm) throws Exception;
@@ -126,6 +140,28 @@ public abstract class AbstractCryptoProvider {
     }
 
     public PublicKey getPublicKey(String alias, JSONObject jwks) throws Exception {
+        if (alias == null) {
+            return parsePublicKey(alias, jwks);
+        }
+
+        ConcurrentMap<String, PublicKey> keys = PARSED_PUBLIC_KEYS.get(jwks, new Callable<ConcurrentMap<String, PublicKey>>() {
+            @Override
+            public ConcurrentMap<String, PublicKey> call() {
+                return new ConcurrentHashMap<String, PublicKey>();
+            }
+        });
+
+        PublicKey publicKey = keys.get(alias);
+        if (publicKey == null) {
+            publicKey = parsePublicKey(alias, jwks);
+            if (publicKey != null) {
+                keys.put(alias, publicKey);
+            }
+        }
+        return publicKey;
+    }
+
+    private PublicKey parsePublicKey(String alias, JSONObject jwks) throws Exception {
         java.security.PublicKey publicKey = null;
 
         JSONArray webKeys = jwks.getJSONArray(JSON_WEB_KEY_SET);
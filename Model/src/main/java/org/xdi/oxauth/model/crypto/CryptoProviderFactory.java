@@ -9,22 +9,30 @@ package org.xdi.oxauth.model.crypto;
 import org.xdi.oxauth.model.common.WebKeyStorage;
 import org.xdi.oxauth.model.configuration.AppConfiguration;
 
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
+ * Hands out shared crypto providers. Key store is loaded once and reloaded only when the key store file changes,
+ * so signing and verification don't parse JKS file on each call.
+ *
  * @author Javier Rojas Blum
  * @version April 25, 2017
  */
 public class CryptoProviderFactory {
 
+    private static final long KEY_STORE_CHECK_INTERVAL = 10 * 1000; // 10 seconds
+
+    private static final ConcurrentMap<String, CachedCryptoProvider> PROVIDERS = new ConcurrentHashMap<String, CachedCryptoProvider>();
+
     public static AbstractCryptoProvider getCryptoProvider(AppConfiguration configuration) throws Exception {
         AbstractCryptoProvider cryptoProvider = null;
         WebKeyStorage webKeyStorage = configuration.getWebKeysStorage();
 
         switch (webKeyStorage) {
             case KEYSTORE:
-                String keyStoreFile = configuration.getKeyStoreFile();
-                String keyStoreSecret = configuration.getKeyStoreSecret();
-                String dnName = configuration.getDnName();
-                cryptoProvider = new OxAuthCryptoProvider(keyStoreFile, keyStoreSecret, dnName);
+                cryptoProvider = getOxAuthCryptoProvider(configuration);
                 break;
             case PKCS11:
                 cryptoProvider = new OxElevenCryptoProvider(
@@ -38,4 +46,66 @@ public class CryptoProviderFactory {
 
         return cryptoProvider;
     }
+
+    /**
+     * Returns shared key store based crypto provider regardless of configured web key storage.
+     */
+    public static OxAuthCryptoProvider getOxAuthCryptoProvider(AppConfiguration configuration) throws Exception {
+        String keyStoreFile = configuration.getKeyStoreFile();
+        String keyStoreSecret = configuration.getKeyStoreSecret();
+        String dnName = configuration.getDnName();
+
+        final String key = keyStoreFile + "|" + keyStoreSecret + "|" + dnName;
+        CachedCryptoProvider cached = PROVIDERS.get(key);
+        if (cached != null && !cached.isStale()) {
+            return cached.getCryptoProvider();
+        }
+
+        synchronized (PROVIDERS) {
+            cached = PROVIDERS.get(key);
+            if (cached == null || cached.isStale()) {
+                // Load new instance completely before publishing it, readers keep using previous one meanwhile
+                cached = new CachedCryptoProvider(new OxAuthCryptoProvider(keyStoreFile, keyStoreSecret, dnName), keyStoreFile);
+                PROVIDERS.put(key, cached);
+            }
+        }
+
+        return cached.getCryptoProvider();
+    }
+
+    private static class CachedCryptoProvider {
+
+        private final OxAuthCryptoProvider cryptoProvider;
+        private final File keyStoreFile;
+        private final long lastModified;
+        private volatile long lastChecked;
+
+        CachedCryptoProvider(OxAuthCryptoProvider cryptoProvider, String keyStoreFile) {
+            this.cryptoProvider = cryptoProvider;
+            this.keyStoreFile = keyStoreFile != null ? new File(keyStoreFile) : null;
+            this.lastModified = lastModified();
+            this.lastChecked = System.currentTimeMillis();
+        }
+
+        OxAuthCryptoProvider getCryptoProvider() {
+            return cryptoProvider;
+        }
+
+        boolean isStale() {
+            final long now = System.currentTimeMillis();
+            if (now - lastChecked < KEY_STORE_CHECK_INTERVAL) {
+                return false;
+            }
+
+            boolean stale = lastModified() != lastModified;
+            if (!stale) {
+                lastChecked = now;
+            }
+            return stale;
+        }
+
+        private long lastModified() {
+            return keyStoreFile != null ? keyStoreFile.lastModified() : 0;
+        }
+    }
 }
@@ -49,8 +49,12 @@ import java.security.interfaces.RSAPublicKey;
 import java.security.spec.ECGenParameterSpec;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.xdi.oxauth.model.jwk.JWKParameter.*;
 
@@ -63,6 +67,27 @@ public class OxAuthCryptoProvider extends AbstractCryptoProvider {
 
     private static final Logger LOG = Logger.getLogger(OxAuthCryptoProvider.class);
 
+    /**
+     * Signature and Mac instances are not thread safe but are reusable after init, keep one per algorithm per thread
+     * instead of resolving the provider on each call.
+     */
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURES = new ThreadLocal<Map<String, Signature>>() {
+        @Override
+        protected Map<String, Signature> initialValue() {
+            return new HashMap<String, Signature>();
+        }
+    };
+
+    private static final ThreadLocal<Map<String, Mac>> MACS = new ThreadLocal<Map<String, Mac>>() {
+        @Override
+        protected Map<String, Mac> initialValue() {
+            return new HashMap<String, Mac>();
+        }
+    };
+
+    private final ConcurrentMap<String, PrivateKey> privateKeys = new ConcurrentHashMap<String, PrivateKey>();
+    private final ConcurrentMap<String, PublicKey> publicKeys = new ConcurrentHashMap<String, PublicKey>();
+
     private KeyStore keyStore;
     private String keyStoreFile;
     private String keyStoreSecret;
@@ -129,6 +154,8 @@ public class OxAuthCryptoProvider extends AbstractCryptoProvider {
         keyStore.store(stream, keyStoreSecret.toCharArray());
 
         PublicKey publicKey = keyPair.getPublic();
+        privateKeys.put(alias, pk);
+        publicKeys.put(alias, publicKey);
 
         JSONObject jsonObject = new JSONObject();
         jsonObject.put(KEY_TYPE, signatureAlgorithm.getFamily());
@@ -159,15 +186,14 @@ public class OxAuthCryptoProvider extends AbstractCryptoProvider {
             return "";
         } else if (SignatureAlgorithmFamily.HMAC.equals(signatureAlgorithm.getFamily())) {
             SecretKey secretKey = new SecretKeySpec(sharedSecret.getBytes(Util.UTF8_STRING_ENCODING), signatureAlgorithm.getAlgorithm());
-            Mac mac = Mac.getInstance(signatureAlgorithm.getAlgorithm());
+            Mac mac = getMac(signatureAlgorithm.getAlgorithm());
             mac.init(secretKey);
             byte[] sig = mac.doFinal(signingInput.getBytes());
             return Base64Util.base64urlencode(sig);
         } else { // EC or RSA
             PrivateKey privateKey = getPrivateKey(alias);
 
-            Signature signature = Signature.getInstance(signatureAlgorithm.getAlgorithm(), "BC");
-            //Signature signature = Signature.getInstance(signatureAlgorithm.getAlgorithm());
+            Signature signature = getSignature(signatureAlgorithm.getAlgorithm());
             signature.initSign(privateKey);
             signature.update(signingInput.getBytes());
 
@@ -199,8 +225,7 @@ public class OxAuthCryptoProvider extends AbstractCryptoProvider {
 
                 byte[] signature = Base64Util.base64urldecode(encodedSignature);
 
-                Signature verifier = Signature.getInstance(signatureAlgorithm.getAlgorithm(), "BC");
-                //Signature verifier = Signature.getInstance(signatureAlgorithm.getAlgorithm());
+                Signature verifier = getSignature(signatureAlgorithm.getAlgorithm());
                 verifier.initVerify(publicKey);
                 verifier.update(signingInput.getBytes());
                 verified = verifier.verify(signature);
@@ -222,6 +247,26 @@ public class OxAuthCryptoProvider extends AbstractCryptoProvider {
         return verified;
     }
 
+    private static Signature getSignature(String algorithm) throws NoSuchAlgorithmException, NoSuchProviderException {
+        Map<String, Signature> signatures = SIGNATURES.get();
+        Signature signature = signatures.get(algorithm);
+        if (signature == null) {
+            signature = Signature.getInstance(algorithm, "BC");
+            signatures.put(algorithm, signature);
+        }
+        return signature;
+    }
+
+    private static Mac getMac(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, Mac> macs = MACS.get();
+        Mac mac = macs.get(algorithm);
+        if (mac == null) {
+            mac = Mac.getInstance(algorithm);
+            macs.put(algorithm, mac);
+        }
+        return mac;
+    }
+
     private String getJWKSValue(JSONObject jwks, String node) throws JSONException {
         try {
             return jwks.getString(node);
@@ -233,6 +278,8 @@ public class OxAuthCryptoProvider extends AbstractCryptoProvider {
 
     @Override
     public boolean deleteKey(String alias) throws Exception {
+        privateKeys.remove(alias);
+        publicKeys.remove(alias);
         keyStore.deleteEntry(alias);
         FileOutputStream stream = new FileOutputStream(keyStoreFile);
         keyStore.store(stream, keyStoreSecret.toCharArray());
@@ -247,11 +294,17 @@ public class OxAuthCryptoProvider extends AbstractCryptoProvider {
                 return null;
             }
 
+            publicKey = publicKeys.get(alias);
+            if (publicKey != null) {
+                return publicKey;
+            }
+
             java.security.cert.Certificate certificate = keyStore.getCertificate(alias);
             if (certificate == null) {
                 return null;
             }
             publicKey = certificate.getPublicKey();
+            publicKeys.put(alias, publicKey);
         } catch (KeyStoreException e) {
             e.printStackTrace();
         }
@@ -265,11 +318,18 @@ public class OxAuthCryptoProvider extends AbstractCryptoProvider {
             return null;
         }
 
+        PrivateKey privateKey = privateKeys.get(alias);
+        if (privateKey != null) {
+            return privateKey;
+        }
+
+        // Decrypting JKS entry is expensive, do it once per alias
         Key key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
         if (key == null) {
             return null;
         }
-        PrivateKey privateKey = (PrivateKey) key;
+        privateKey = (PrivateKey) key;
+        privateKeys.put(alias, privateKey);
 
         return privateKey;
     }
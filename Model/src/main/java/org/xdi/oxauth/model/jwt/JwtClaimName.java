@@ -74,6 +74,15 @@ public final class JwtClaimName {
      * Authentication Context Class that the authentication performed satisfied.
      */
     public static final String AUTHENTICATION_CONTEXT_CLASS_REFERENCE = "acr"; // ID Token
+    /**
+     * Session ID - identifier of the End-User's session at the OP, it's used by front-channel and back-channel logout
+     * to identify the session which ended.
+     */
+    public static final String SESSION_ID = "sid"; // ID Token
+    /**
+     * Events of the Security Event Token, logout token carries back-channel logout event.
+     */
+    public static final String EVENTS = "events";
     /**
      * String value used to associate a Client session with an ID Token, and to mitigate replay attacks.
      * The value is passed through unmodified from the Authentication Request to the ID Token.
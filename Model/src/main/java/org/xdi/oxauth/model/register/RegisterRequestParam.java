@@ -219,6 +219,11 @@ public enum RegisterRequestParam {
      */
     FRONT_CHANNEL_LOGOUT_SESSION_REQUIRED("frontchannel_logout_session_required"),
 
+    /**
+     * RP URL that will cause the RP to log itself out when sent a Logout Token by the OP.
+     */
+    BACKCHANNEL_LOGOUT_URI("backchannel_logout_uri"),
+
     /**
      * Array of request_uri values that are pre-registered by the Client for use at the Authorization Server.
      */
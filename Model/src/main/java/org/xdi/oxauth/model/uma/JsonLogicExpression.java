@@ -0,0 +1,303 @@
+package org.xdi.oxauth.model.uma;
+
+import org.codehaus.jackson.JsonNode;
+import org.xdi.oxauth.model.util.Util;
+
+import javax.script.ScriptException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JsonLogic rule compiled into tree of Java nodes, evaluated against vector of scope results.
+ * <p>
+ * Compiled operators are <code>and</code>, <code>or</code>, <code>!</code>, <code>!!</code>, <code>if</code>
+ * (<code>?:</code>), <code>var</code> with numeric index and literals, which is all scope expressions need. Rules with
+ * any other operator are evaluated by {@link JsonLogic} script engine, rule string is prepared only once.
+ */
+public abstract class JsonLogicExpression {
+
+    private final List<String> data;
+
+    private JsonLogicExpression(List<String> data) {
+        this.data = data;
+    }
+
+    /**
+     * @return compiled expression or <code>null</code> if node is not valid
+     */
+    public static JsonLogicExpression compile(JsonLogicNode node) {
+        if (node == null || node.getRule() == null) {
+            return null;
+        }
+
+        final List<String> data = node.getDataCopy();
+        final Node compiled = compileNode(node.getRule());
+        if (compiled != null) {
+            return new Compiled(data, compiled);
+        }
+        return new Scripted(data, node.getRule().toString());
+    }
+
+    /**
+     * @return scope ids referenced by expression, in order of results vector
+     */
+    public List<String> getData() {
+        return data;
+    }
+
+    public abstract boolean evaluate(List<Boolean> results) throws ScriptException;
+
+    private static class Compiled extends JsonLogicExpression {
+
+        private final Node root;
+
+        Compiled(List<String> data, Node root) {
+            super(data);
+            this.root = root;
+        }
+
+        @Override
+        public boolean evaluate(List<Boolean> results) {
+            return Boolean.TRUE.equals(root.evaluate(results));
+        }
+    }
+
+    private static class Scripted extends JsonLogicExpression {
+
+        private final String rule;
+
+        Scripted(List<String> data, String rule) {
+            super(data);
+            this.rule = rule;
+        }
+
+        @Override
+        public boolean evaluate(List<Boolean> results) throws ScriptException {
+            if (results.isEmpty()) {
+                return JsonLogic.apply(rule);
+            }
+            return JsonLogic.apply(rule, Util.asJsonSilently(results));
+        }
+    }
+
+    private interface Node {
+        Object evaluate(List<Boolean> results);
+    }
+
+    /**
+     * @return compiled node or <code>null</code> if node contains operator which is not compiled
+     */
+    private static Node compileNode(JsonNode json) {
+        if (json.isBoolean()) {
+            return new Literal(json.getBooleanValue());
+        }
+        if (json.isNumber()) {
+            return new Literal(json.getNumberValue().doubleValue());
+        }
+        if (json.isTextual()) {
+            return new Literal(json.getTextValue());
+        }
+        if (json.isNull()) {
+            return new Literal(null);
+        }
+        if (!json.isObject() || json.size() != 1) {
+            return null;
+        }
+
+        final String operator = json.getFieldNames().next();
+        final JsonNode argsJson = json.get(operator);
+        if ("var".equals(operator)) {
+            return compileVar(argsJson);
+        }
+
+        final List<Node> args = new ArrayList<Node>();
+        if (argsJson.isArray()) {
+            for (Iterator<JsonNode> it = argsJson.getElements(); it.hasNext(); ) {
+                Node arg = compileNode(it.next());
+                if (arg == null) {
+                    return null;
+                }
+                args.add(arg);
+            }
+        } else {
+            Node arg = compileNode(argsJson);
+            if (arg == null) {
+                return null;
+            }
+            args.add(arg);
+        }
+
+        if ("and".equals(operator) && !args.isEmpty()) {
+            return new And(args);
+        }
+        if ("or".equals(operator) && !args.isEmpty()) {
+            return new Or(args);
+        }
+        if ("!".equals(operator) && args.size() == 1) {
+            return new Not(args.get(0), false);
+        }
+        if ("!!".equals(operator) && args.size() == 1) {
+            return new Not(args.get(0), true);
+        }
+        if (("if".equals(operator) || "?:".equals(operator)) && args.size() == 3) {
+            return new If(args.get(0), args.get(1), args.get(2));
+        }
+        return null;
+    }
+
+    private static Node compileVar(JsonNode argsJson) {
+        JsonNode index = argsJson;
+        Node defaultValue = new Literal(null);
+        if (argsJson.isArray()) {
+            if (argsJson.size() < 1 || argsJson.size() > 2) {
+                return null;
+            }
+            index = argsJson.get(0);
+            if (argsJson.size() == 2) {
+                defaultValue = compileNode(argsJson.get(1));
+                if (defaultValue == null) {
+                    return null;
+                }
+            }
+        }
+
+        if (index.isInt()) {
+            return new Var(index.getIntValue(), defaultValue);
+        }
+        if (index.isTextual() && index.getTextValue().matches("\\d+")) {
+            return new Var(Integer.parseInt(index.getTextValue()), defaultValue);
+        }
+        return null;
+    }
+
+    /**
+     * JsonLogic truthiness (same as JavaScript except that empty array is falsy).
+     */
+    private static boolean truthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Double) {
+            double d = (Double) value;
+            return d != 0 && !Double.isNaN(d);
+        }
+        if (value instanceof String) {
+            return !((String) value).isEmpty();
+        }
+        return true;
+    }
+
+    private static class Literal implements Node {
+
+        private final Object value;
+
+        Literal(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object evaluate(List<Boolean> results) {
+            return value;
+        }
+    }
+
+    private static class Var implements Node {
+
+        private final int index;
+        private final Node defaultValue;
+
+        Var(int index, Node defaultValue) {
+            this.index = index;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public Object evaluate(List<Boolean> results) {
+            if (index < results.size() && results.get(index) != null) {
+                return results.get(index);
+            }
+            return defaultValue.evaluate(results);
+        }
+    }
+
+    private static class And implements Node {
+
+        private final List<Node> args;
+
+        And(List<Node> args) {
+            this.args = args;
+        }
+
+        @Override
+        public Object evaluate(List<Boolean> results) {
+            Object value = null;
+            for (Node arg : args) {
+                value = arg.evaluate(results);
+                if (!truthy(value)) {
+                    return value;
+                }
+            }
+            return value;
+        }
+    }
+
+    private static class Or implements Node {
+
+        private final List<Node> args;
+
+        Or(List<Node> args) {
+            this.args = args;
+        }
+
+        @Override
+        public Object evaluate(List<Boolean> results) {
+            Object value = null;
+            for (Node arg : args) {
+                value = arg.evaluate(results);
+                if (truthy(value)) {
+                    return value;
+                }
+            }
+            return value;
+        }
+    }
+
+    private static class Not implements Node {
+
+        private final Node arg;
+        private final boolean doubleNegation;
+
+        Not(Node arg, boolean doubleNegation) {
+            this.arg = arg;
+            this.doubleNegation = doubleNegation;
+        }
+
+        @Override
+        public Object evaluate(List<Boolean> results) {
+            boolean value = truthy(arg.evaluate(results));
+            return doubleNegation ? value : !value;
+        }
+    }
+
+    private static class If implements Node {
+
+        private final Node condition;
+        private final Node then;
+        private final Node otherwise;
+
+        If(Node condition, Node then, Node otherwise) {
+            this.condition = condition;
+            this.then = then;
+            this.otherwise = otherwise;
+        }
+
+        @Override
+        public Object evaluate(List<Boolean> results) {
+            return truthy(condition.evaluate(results)) ? then.evaluate(results) : otherwise.evaluate(results);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.xdi.oxauth.model.uma;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.script.ScriptException;
+import java.util.Arrays;
+import java.util.List;
+
+public class JsonLogicExpressionTest {
+
+    private static final String UMA_RULE = "{" +
+            "    \"and\": [ {" +
+            "        \"or\": [" +
+            "          {\"var\": 0 }," +
+            "          {\"var\": 1 }" +
+            "        ]" +
+            "      }," +
+            "      {\"var\": 2 }" +
+            "    ]}";
+
+    @Test
+    public void compiledMatchesScriptEngine() throws ScriptException {
+        JsonLogicExpression expression = compile(UMA_RULE, "[\"a\", \"b\", \"c\"]");
+        Assert.assertEquals(expression.getData(), Arrays.asList("a", "b", "c"));
+
+        boolean[] values = {false, true};
+        for (boolean a : values) {
+            for (boolean b : values) {
+                for (boolean c : values) {
+                    List<Boolean> results = Arrays.asList(a, b, c);
+                    Assert.assertEquals(expression.evaluate(results), JsonLogic.apply(UMA_RULE, results.toString()), "Results: " + results);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void negationAndCondition() throws ScriptException {
+        JsonLogicExpression expression = compile("{\"if\": [{\"!\": {\"var\": 0}}, {\"var\": \"1\"}, false]}", "[\"a\", \"b\"]");
+
+        Assert.assertTrue(expression.evaluate(Arrays.asList(false, true)));
+        Assert.assertFalse(expression.evaluate(Arrays.asList(false, false)));
+        Assert.assertFalse(expression.evaluate(Arrays.asList(true, true)));
+    }
+
+    @Test
+    public void notCompiledOperatorFallsBackToScriptEngine() throws ScriptException {
+        JsonLogicExpression expression = compile("{\"==\": [{\"var\": 0}, {\"var\": 1}]}", "[\"a\", \"b\"]");
+
+        Assert.assertTrue(expression.evaluate(Arrays.asList(true, true)));
+        Assert.assertFalse(expression.evaluate(Arrays.asList(true, false)));
+    }
+
+    private static JsonLogicExpression compile(String rule, String data) {
+        JsonLogicExpression expression = JsonLogicExpression.compile(JsonLogicNodeParser.parseNode("{\"rule\": " + rule + ", \"data\": " + data + "}"));
+        Assert.assertNotNull(expression);
+        return expression;
+    }
+}
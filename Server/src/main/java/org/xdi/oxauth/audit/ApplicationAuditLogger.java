@@ -1,14 +1,20 @@
 package org.xdi.oxauth.audit;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
-import org.xdi.service.cdi.async.Asynchronous;
 import javax.ejb.DependsOn;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
@@ -27,12 +33,21 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.BooleanUtils;
 import org.slf4j.Logger;
 import org.xdi.oxauth.model.audit.OAuth2AuditLog;
+import org.xdi.oxauth.model.common.AuditOverflowPolicy;
 import org.xdi.oxauth.model.configuration.AppConfiguration;
 import org.xdi.oxauth.util.ServerUtil;
 import org.xdi.service.cdi.event.ConfigurationUpdate;
 
 import com.google.common.base.Objects;
 
+/**
+ * Audit messages are put to bounded queue and sent to JMS by dedicated publisher thread in batches of up to
+ * {@link AppConfiguration#getAuditBatchSize()} messages, each batch in one transaction of long-lived session.
+ * Batch is sent when it's full or {@link AppConfiguration#getAuditLingerTime()} ms after its first message.
+ * If queue is full {@link AppConfiguration#getAuditOverflowPolicy()} is applied.
+ * Publisher thread runs only while audit logging is enabled and JMS brokers are configured, otherwise messages are
+ * logged to file.
+ */
 @Named
 @ApplicationScoped
 @DependsOn("appInitializer")
@@ -43,9 +58,9 @@ public class ApplicationAuditLogger {
 
 	private final String BROKER_URL_PREFIX = "failover:(";
 	private final String BROKER_URL_SUFFIX = ")?timeout=5000&jms.useAsyncSend=true";
-	private final int ACK_MODE = Session.AUTO_ACKNOWLEDGE;
+	private final int ACK_MODE = Session.SESSION_TRANSACTED;
 	private final String CLIENT_QUEUE_NAME = "oauth2.audit.logging";
-	private final boolean transacted = false;
+	private final boolean transacted = true;
 
 	private volatile PooledConnectionFactory pooledConnectionFactory;
 
@@ -61,48 +76,231 @@ public class ApplicationAuditLogger {
 	private boolean updateState;
 	private Boolean enabledOAuthAuditnLogging;
 
+	private BlockingQueue<OAuth2AuditLog> queue;
+	private ExecutorService publisher;
+	private ExecutorService stoppedPublisher;
+	private volatile boolean running;
+
+	// Used by publisher thread only, it closes them on exit
+	private QueueConnection connection;
+	private QueueSession session;
+	private MessageProducer producer;
+
+	private final AtomicLong publishedCount = new AtomicLong();
+	private final AtomicLong droppedCount = new AtomicLong();
+	private final AtomicLong spilledCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+
 	public void updateConfiguration(@Observes @ConfigurationUpdate AppConfiguration appConfiguration) {
 		this.updateState = true;
+		updatePublisher();
 	}
 
     @PostConstruct
 	public void init() {
+		this.queue = new ArrayBlockingQueue<OAuth2AuditLog>(Math.max(appConfiguration.getAuditQueueCapacity(), 1));
+		updatePublisher();
+	}
+
+	public void sendMessage(OAuth2AuditLog oAuth2AuditLog) {
 		if (BooleanUtils.isNotTrue(isEnabledOAuthAuditnLogging())) {
 			return;
 		}
 
-		tryToEstablishJMSConnection();
-	}
+		if (!running) {
+			loggingThroughFile(oAuth2AuditLog);
+			return;
+		}
 
-	@Asynchronous
-	public void sendMessage(OAuth2AuditLog oAuth2AuditLog) {
-		if (BooleanUtils.isNotTrue(isEnabledOAuthAuditnLogging())) {
+		if (queue.offer(oAuth2AuditLog)) {
 			return;
 		}
 
-		if ((this.pooledConnectionFactory == null) || isJmsConfigChanged()) {
-			if (tryToEstablishJMSConnection())
-				loggingThroughJMS(oAuth2AuditLog);
-			else
+		AuditOverflowPolicy overflowPolicy = appConfiguration.getAuditOverflowPolicy();
+		switch (overflowPolicy) {
+			case BLOCK:
+				try {
+					queue.put(oAuth2AuditLog);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					droppedCount.incrementAndGet();
+				}
+				break;
+			case DROP:
+				droppedCount.incrementAndGet();
+				log.trace("Audit queue is full, message is dropped");
+				break;
+			default:
+				spilledCount.incrementAndGet();
 				loggingThroughFile(oAuth2AuditLog);
-		} else {
-			loggingThroughJMS(oAuth2AuditLog);
+				break;
 		}
 	}
 
 	@PreDestroy
 	public void destroy() {
-		if (this.pooledConnectionFactory == null)
+		stopPublisher();
+	}
+
+	private synchronized void updatePublisher() {
+		boolean enabled = BooleanUtils.isTrue(appConfiguration.getEnabledOAuthAuditLogging())
+				&& CollectionUtils.isNotEmpty(getJmsBrokerURISet());
+		if (enabled && this.publisher == null) {
+			startPublisher();
+		} else if (!enabled && this.publisher != null) {
+			stopPublisher();
+		}
+	}
+
+	private synchronized void startPublisher() {
+		if (!awaitStoppedPublisher()) {
+			log.error("Previous audit publisher is still running, audit messages are logged to file");
 			return;
-		this.pooledConnectionFactory.clear();
-		this.pooledConnectionFactory = null;
+		}
+
+		this.running = true;
+		this.publisher = ServerUtil.createFixedExecutor(1, "oxauth-audit-publisher");
+		this.publisher.execute(new Runnable() {
+			@Override
+			public void run() {
+				publishLoop();
+			}
+		});
+		log.debug("Audit publisher is started");
+	}
+
+	private synchronized void stopPublisher() {
+		this.running = false;
+		if (this.publisher != null) {
+			this.publisher.shutdownNow();
+			this.stoppedPublisher = this.publisher;
+			this.publisher = null;
+			if (awaitStoppedPublisher()) {
+				log.debug("Audit publisher is stopped");
+			} else {
+				log.warn("Audit publisher didn't stop in time, it closes JMS connection when current batch is done");
+			}
+		}
+
+		// Don't lose messages which were not published yet
+		if (this.queue != null) {
+			List<OAuth2AuditLog> rest = new ArrayList<OAuth2AuditLog>();
+			this.queue.drainTo(rest);
+			for (OAuth2AuditLog oAuth2AuditLog : rest) {
+				loggingThroughFile(oAuth2AuditLog);
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if previously stopped publisher thread terminated, so JMS state isn't used anymore
+	 */
+	private boolean awaitStoppedPublisher() {
+		if (this.stoppedPublisher == null) {
+			return true;
+		}
+
+		try {
+			if (!this.stoppedPublisher.awaitTermination(5, TimeUnit.SECONDS)) {
+				return false;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		this.stoppedPublisher = null;
+		return true;
+	}
+
+	public int getQueueDepth() {
+		return queue != null ? queue.size() : 0;
+	}
+
+	public long getPublishedCount() {
+		return publishedCount.get();
+	}
+
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	public long getSpilledCount() {
+		return spilledCount.get();
+	}
+
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	private void publishLoop() {
+		try {
+			publishBatches();
+		} finally {
+			// JMS state is owned by publisher thread, close it here and not in the thread which stops publisher
+			closeJmsConnection();
+		}
+	}
+
+	private void publishBatches() {
+		List<OAuth2AuditLog> batch = new ArrayList<OAuth2AuditLog>();
+		while (running) {
+			try {
+				OAuth2AuditLog first = queue.poll(1, TimeUnit.SECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+
+				int batchSize = Math.max(appConfiguration.getAuditBatchSize(), 1);
+				long deadline = System.currentTimeMillis() + appConfiguration.getAuditLingerTime();
+				while (batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.currentTimeMillis();
+					if (batch.size() >= batchSize || remaining <= 0) {
+						break;
+					}
+
+					OAuth2AuditLog next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+
+				publish(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (Exception e) {
+				log.error("Failed to publish audit messages", e);
+			} finally {
+				if (!batch.isEmpty() && Thread.currentThread().isInterrupted()) {
+					// Stopping, publish what's collected to file
+					for (OAuth2AuditLog oAuth2AuditLog : batch) {
+						loggingThroughFile(oAuth2AuditLog);
+					}
+				}
+				batch.clear();
+			}
+		}
+	}
+
+	private void publish(List<OAuth2AuditLog> batch) {
+		if (((this.pooledConnectionFactory == null) || isJmsConfigChanged()) && !tryToEstablishJMSConnection()) {
+			for (OAuth2AuditLog oAuth2AuditLog : batch) {
+				loggingThroughFile(oAuth2AuditLog);
+			}
+			return;
+		}
+
+		loggingThroughJMS(batch);
 	}
 
 	private boolean tryToEstablishJMSConnection() {
 		lock.lock();
 		try {
 			// Check if another thread init JMS pool already
-			if ((this.pooledConnectionFactory != null) && !isJmsConfigChanged()) {
+			if ((this.pooledConnectionFactory == null) || isJmsConfigChanged()) {
 				return tryToEstablishJMSConnectionImpl();
 			}
 
@@ -113,7 +311,7 @@ public class ApplicationAuditLogger {
 	}
 
 	private boolean tryToEstablishJMSConnectionImpl() {
-		destroy();
+		closeJmsConnection();
 
 		Set<String> jmsBrokerURISet = getJmsBrokerURISet();
 		if (BooleanUtils.isNotTrue(isEnabledOAuthAuditnLogging()) || CollectionUtils.isEmpty(jmsBrokerURISet))
@@ -147,35 +345,81 @@ public class ApplicationAuditLogger {
 		return true;
 	}
 
-	private void loggingThroughJMS(OAuth2AuditLog oAuth2AuditLog) {
-		QueueConnection connection = null;
-		try {
-			connection = pooledConnectionFactory.createQueueConnection();
-			connection.start();
+	private void closeJmsConnection() {
+		closeSession();
+		if (this.pooledConnectionFactory == null)
+			return;
+		this.pooledConnectionFactory.clear();
+		this.pooledConnectionFactory = null;
+	}
+
+	private void openSession() throws JMSException {
+		if (session != null) {
+			return;
+		}
+
+		connection = pooledConnectionFactory.createQueueConnection();
+		connection.start();
 
-			QueueSession session = connection.createQueueSession(transacted, ACK_MODE);
-			MessageProducer producer = session.createProducer(session.createQueue(CLIENT_QUEUE_NAME));
+		session = connection.createQueueSession(transacted, ACK_MODE);
+		producer = session.createProducer(session.createQueue(CLIENT_QUEUE_NAME));
+	}
 
-			TextMessage txtMessage = session.createTextMessage();
-			txtMessage.setText(ServerUtil.asPrettyJson(oAuth2AuditLog));
-			producer.send(txtMessage);
+	private void closeSession() {
+		if (connection == null)
+			return;
+		try {
+			connection.close();
 		} catch (JMSException e) {
-			log.error("Can't send message", e);
-		} catch (IOException e) {
-			log.error("Can't serialize the audit log", e);
-		} catch (Exception e) {
-			log.error("Can't send message, please check your activeMQ configuration.", e);
+			log.error("Can't close connection.");
 		} finally {
-			if (connection == null)
-				return;
-			try {
-				connection.close();
-			} catch (JMSException e) {
-				log.error("Can't close connection.");
+			connection = null;
+			session = null;
+			producer = null;
+		}
+	}
+
+	private void loggingThroughJMS(List<OAuth2AuditLog> batch) {
+		try {
+			openSession();
+
+			int count = 0;
+			for (OAuth2AuditLog oAuth2AuditLog : batch) {
+				try {
+					TextMessage txtMessage = session.createTextMessage();
+					txtMessage.setText(ServerUtil.asPrettyJson(oAuth2AuditLog));
+					producer.send(txtMessage);
+					count++;
+				} catch (IOException e) {
+					failedCount.incrementAndGet();
+					log.error("Can't serialize the audit log", e);
+				}
+			}
+			session.commit();
+			publishedCount.addAndGet(count);
+		} catch (Exception e) {
+			log.error("Can't send messages, please check your activeMQ configuration.", e);
+			failedCount.addAndGet(batch.size());
+			rollback();
+
+			// Session might be broken, reopen it for next batch
+			closeSession();
+			for (OAuth2AuditLog oAuth2AuditLog : batch) {
+				loggingThroughFile(oAuth2AuditLog);
 			}
 		}
 	}
 
+	private void rollback() {
+		if (session == null)
+			return;
+		try {
+			session.rollback();
+		} catch (JMSException e) {
+			log.trace("Can't rollback session", e);
+		}
+	}
+
 	private void loggingThroughFile(OAuth2AuditLog oAuth2AuditLog) {
 		try {
 			log.info(ServerUtil.asPrettyJson(oAuth2AuditLog));
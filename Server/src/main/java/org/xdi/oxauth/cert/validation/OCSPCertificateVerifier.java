@@ -17,6 +17,16 @@ import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.IOUtils;
 import org.bouncycastle.asn1.ASN1InputStream;
@@ -43,12 +53,17 @@ import org.bouncycastle.cert.ocsp.SingleResp;
 import org.bouncycastle.operator.DigestCalculator;
 import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.jcajce.JcaDigestCalculatorProviderBuilder;
+import org.bouncycastle.util.encoders.Hex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xdi.oxauth.cert.validation.model.ValidationStatus;
 import org.xdi.oxauth.cert.validation.model.ValidationStatus.CertificateValidity;
 import org.xdi.oxauth.cert.validation.model.ValidationStatus.ValidatorSourceType;
 import org.xdi.oxauth.model.util.SecurityProviderUtility;
+import org.xdi.oxauth.util.ServerUtil;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * Certificate verifier based on OCSP
@@ -60,8 +75,28 @@ public class OCSPCertificateVerifier implements CertificateVerifier {
 
 	private static final Logger log = LoggerFactory.getLogger(OCSPCertificateVerifier.class);
 
+	private static final int MAX_CACHED_RESPONSES = 10000;
+
+	// Lifetime of response without nextUpdate, such responder may have newer information at any time
+	private static final long DEFAULT_RESPONSE_LIFETIME = TimeUnit.MINUTES.toMillis(1);
+
+	private static final long MAX_RESPONSE_LIFETIME = TimeUnit.DAYS.toMillis(1);
+
+	// Response used at least this number of times is refreshed in background during last 20% of its lifetime
+	private static final int POPULAR_RESPONSE_HITS = 3;
+
+	private Cache<String, CachedResponse> responseCache;
+
+	private ConcurrentMap<String, FutureTask<CachedResponse>> pendingRequests;
+
+	private ExecutorService refresher;
+
 	public OCSPCertificateVerifier() {
 		SecurityProviderUtility.installBCProvider(true);
+
+		this.responseCache = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_RESPONSES).expireAfterWrite(MAX_RESPONSE_LIFETIME, TimeUnit.MILLISECONDS).build();
+		this.pendingRequests = new ConcurrentHashMap<String, FutureTask<CachedResponse>>();
+		this.refresher = ServerUtil.createFixedExecutor(1, "oxauth-ocsp-refresher");
 	}
 
 	@Override
@@ -83,11 +118,8 @@ public class OCSPCertificateVerifier implements CertificateVerifier {
 			DigestCalculator digestCalculator = new JcaDigestCalculatorProviderBuilder().build().get(CertificateID.HASH_SHA1);
 			CertificateID certificateId = new CertificateID(digestCalculator, new JcaX509CertificateHolder(certificate), certificate.getSerialNumber());
 
-			// Generate OCSP request
-			OCSPReq ocspReq = generateOCSPRequest(certificateId);
-
-			// Get OCSP response from server
-			OCSPResp ocspResp = requestOCSPResponse(ocspUrl, ocspReq);
+			// Get OCSP response from cache or from server
+			OCSPResp ocspResp = getOCSPResponse(ocspUrl, certificateId);
 			if (ocspResp.getStatus() != OCSPRespBuilder.SUCCESSFUL) {
 				log.error("OCSP response is invalid!");
 				status.setValidity(CertificateValidity.INVALID);
@@ -142,6 +174,103 @@ public class OCSPCertificateVerifier implements CertificateVerifier {
 		return status;
 	}
 
+	/**
+	 * Returns OCSP response for certificate. Successful response is reused until nextUpdate of the certificate status,
+	 * concurrent requests for the same certificate share one call to responder.
+	 */
+	private OCSPResp getOCSPResponse(final String ocspUrl, final CertificateID certificateId) throws Exception {
+		final String cacheKey = getCacheKey(ocspUrl, certificateId);
+		final long now = System.currentTimeMillis();
+
+		CachedResponse cachedResponse = responseCache.getIfPresent(cacheKey);
+		if ((cachedResponse != null) && cachedResponse.isFresh(now)) {
+			log.debug("Using cached OCSP response, thisUpdate: " + cachedResponse.getThisUpdate());
+			if ((cachedResponse.hit() >= POPULAR_RESPONSE_HITS) && cachedResponse.isRefreshDue(now)) {
+				refreshInBackground(cacheKey, ocspUrl, certificateId, cachedResponse);
+			}
+
+			return cachedResponse.getResponse();
+		}
+
+		return fetchOCSPResponse(cacheKey, ocspUrl, certificateId).getResponse();
+	}
+
+	private void refreshInBackground(final String cacheKey, final String ocspUrl, final CertificateID certificateId, final CachedResponse cachedResponse) {
+		// Only one refresh per cached response is queued
+		if (!cachedResponse.startRefresh()) {
+			return;
+		}
+
+		try {
+			refresher.execute(new Runnable() {
+				@Override
+				public void run() {
+					// Response could be already replaced or evicted while task was queued
+					if ((responseCache.getIfPresent(cacheKey) != cachedResponse) || !cachedResponse.isRefreshDue(System.currentTimeMillis())) {
+						return;
+					}
+
+					try {
+						fetchOCSPResponse(cacheKey, ocspUrl, certificateId);
+					} catch (Exception ex) {
+						cachedResponse.cancelRefresh();
+						log.warn("Failed to refresh OCSP response from '" + ocspUrl + "'", ex);
+					}
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			cachedResponse.cancelRefresh();
+			log.trace("OCSP response refresh is rejected", ex);
+		}
+	}
+
+	private CachedResponse fetchOCSPResponse(final String cacheKey, final String ocspUrl, final CertificateID certificateId) throws Exception {
+		FutureTask<CachedResponse> task = new FutureTask<CachedResponse>(new Callable<CachedResponse>() {
+			@Override
+			public CachedResponse call() throws Exception {
+				// Generate OCSP request
+				OCSPReq ocspReq = generateOCSPRequest(certificateId);
+
+				// Get OCSP response from server
+				OCSPResp ocspResp = requestOCSPResponse(ocspUrl, ocspReq);
+
+				CachedResponse cachedResponse = new CachedResponse(ocspResp, certificateId);
+				if (cachedResponse.isCacheable()) {
+					responseCache.put(cacheKey, cachedResponse);
+				} else {
+					responseCache.invalidate(cacheKey);
+				}
+
+				return cachedResponse;
+			}
+		});
+
+		FutureTask<CachedResponse> pendingTask = pendingRequests.putIfAbsent(cacheKey, task);
+		if (pendingTask == null) {
+			try {
+				task.run();
+			} finally {
+				pendingRequests.remove(cacheKey, task);
+			}
+		} else {
+			task = pendingTask;
+		}
+
+		try {
+			return task.get();
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof Exception) {
+				throw (Exception) ex.getCause();
+			}
+			throw ex;
+		}
+	}
+
+	private String getCacheKey(String ocspUrl, CertificateID certificateId) {
+		return Hex.toHexString(certificateId.getIssuerNameHash()) + "_" + Hex.toHexString(certificateId.getIssuerKeyHash()) + "_"
+				+ certificateId.getSerialNumber() + "_" + ocspUrl;
+	}
+
 	private OCSPReq generateOCSPRequest(CertificateID certificateId) throws OCSPException, OperatorCreationException, CertificateEncodingException {
 		OCSPReqBuilder ocspReqGenerator = new OCSPReqBuilder();
 
@@ -239,6 +368,76 @@ public class OCSPCertificateVerifier implements CertificateVerifier {
 
 	@Override
 	public void destroy() {
+		refresher.shutdownNow();
+		responseCache.invalidateAll();
+	}
+
+	private static class CachedResponse {
+
+		private final OCSPResp response;
+		private final long fetchedAt;
+		private final long expiresAt;
+		private final Date thisUpdate;
+		private final AtomicInteger hits = new AtomicInteger();
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		public CachedResponse(OCSPResp response, CertificateID certificateId) throws OCSPException {
+			this.response = response;
+			this.fetchedAt = System.currentTimeMillis();
+
+			SingleResp singleResp = null;
+			if (response.getStatus() == OCSPRespBuilder.SUCCESSFUL) {
+				BasicOCSPResp basicOCSPResp = (BasicOCSPResp) response.getResponseObject();
+				for (SingleResp resp : basicOCSPResp.getResponses()) {
+					if (certificateId.equals(resp.getCertID())) {
+						singleResp = resp;
+						break;
+					}
+				}
+			}
+
+			if (singleResp == null) {
+				this.thisUpdate = null;
+				this.expiresAt = fetchedAt;
+			} else {
+				this.thisUpdate = singleResp.getThisUpdate();
+				Date nextUpdate = singleResp.getNextUpdate();
+				long lifetime = (nextUpdate == null) ? DEFAULT_RESPONSE_LIFETIME : Math.min(nextUpdate.getTime() - fetchedAt, MAX_RESPONSE_LIFETIME);
+				this.expiresAt = fetchedAt + lifetime;
+			}
+		}
+
+		public OCSPResp getResponse() {
+			return response;
+		}
+
+		public Date getThisUpdate() {
+			return thisUpdate;
+		}
+
+		public boolean isCacheable() {
+			return expiresAt > fetchedAt;
+		}
+
+		public boolean isFresh(long now) {
+			return now < expiresAt;
+		}
+
+		public boolean isRefreshDue(long now) {
+			return now > expiresAt - (expiresAt - fetchedAt) / 5;
+		}
+
+		public int hit() {
+			return hits.incrementAndGet();
+		}
+
+		public boolean startRefresh() {
+			return refreshing.compareAndSet(false, true);
+		}
+
+		public void cancelRefresh() {
+			refreshing.set(false);
+		}
 	}
 
 }
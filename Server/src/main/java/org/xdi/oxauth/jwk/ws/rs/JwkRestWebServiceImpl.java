@@ -8,11 +8,14 @@ package org.xdi.oxauth.jwk.ws.rs;
 
 import javax.inject.Inject;
 import javax.ws.rs.Path;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
 import org.slf4j.Logger;
-import org.xdi.oxauth.model.config.WebKeysConfiguration;
+import org.xdi.oxauth.service.DiscoveryCache;
 
 /**
  * Provides interface for JWK REST web services
@@ -27,15 +30,29 @@ public class JwkRestWebServiceImpl implements JwkRestWebService {
     private Logger log;
 
     @Inject
-    private WebKeysConfiguration webKeysConfiguration;
+    private DiscoveryCache discoveryCache;
 
     @Override
-    public Response requestJwk(SecurityContext sec) {
+    public Response requestJwk(SecurityContext sec, HttpHeaders httpHeaders) {
         log.debug("Attempting to request JWK, Is Secure = {}", sec.isSecure());
-        Response.ResponseBuilder builder = Response.ok();
+        Response.ResponseBuilder builder;
 
         try {
-            builder.entity(webKeysConfiguration.toString());
+            DiscoveryCache.Document jwks = discoveryCache.getJwks();
+            final boolean gzipped = jwks.hasGzippedContent() && DiscoveryCache.acceptsGzip(httpHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+            EntityTag entityTag = new EntityTag(jwks.getEtag(gzipped));
+
+            if (jwks.matches(httpHeaders.getHeaderString(HttpHeaders.IF_NONE_MATCH), gzipped)) {
+                builder = Response.notModified(); // 304
+            } else if (gzipped) {
+                builder = Response.ok(jwks.getGzippedContent()).header("Content-Encoding", "gzip");
+            } else {
+                builder = Response.ok(jwks.getContent());
+            }
+
+            CacheControl cacheControl = new CacheControl();
+            cacheControl.setMaxAge(discoveryCache.getMaxAge());
+            builder.tag(entityTag).cacheControl(cacheControl).header("Vary", HttpHeaders.ACCEPT_ENCODING);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             builder = Response.status(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()); // 500
@@ -43,4 +60,4 @@ public class JwkRestWebServiceImpl implements JwkRestWebService {
 
         return builder.build();
     }
-}
\ No newline at end of file
+}
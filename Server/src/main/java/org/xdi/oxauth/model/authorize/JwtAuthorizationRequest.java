@@ -33,9 +33,9 @@ import org.xdi.oxauth.model.jwt.JwtHeader;
 import org.xdi.oxauth.model.jwt.JwtHeaderName;
 import org.xdi.oxauth.model.registration.Client;
 import org.xdi.oxauth.model.util.Base64Util;
-import org.xdi.oxauth.model.util.JwtUtil;
 import org.xdi.oxauth.model.util.Util;
 import org.xdi.oxauth.service.ClientService;
+import org.xdi.oxauth.service.JwksCache;
 import org.xdi.oxauth.util.ServerUtil;
 import org.xdi.service.cdi.util.CdiUtil;
 import org.xdi.util.security.StringEncrypter;
@@ -98,8 +98,7 @@ public class JwtAuthorizationRequest {
 
                     JweDecrypterImpl jweDecrypter = null;
                     if ("RSA".equals(keyEncryptionAlgorithm.getFamily())) {
-                        OxAuthCryptoProvider cryptoProvider = new OxAuthCryptoProvider(appConfiguration.getKeyStoreFile(),
-                        		appConfiguration.getKeyStoreSecret(), appConfiguration.getDnName());
+                        OxAuthCryptoProvider cryptoProvider = CryptoProviderFactory.getOxAuthCryptoProvider(appConfiguration);
                         PrivateKey privateKey = cryptoProvider.getPrivateKey(keyId);
                         jweDecrypter = new JweDecrypterImpl(privateKey);
                     } else {
@@ -325,7 +324,7 @@ public class JwtAuthorizationRequest {
         ClientService clientService = CdiUtil.bean(ClientService.class); 
         String sharedSecret = clientService.decryptSecret(client.getClientSecret());
         JSONObject jwks = Strings.isNullOrEmpty(client.getJwks()) ?
-                JwtUtil.getJSONWebKeys(client.getJwksUri()) :
+                CdiUtil.bean(JwksCache.class).getJwks(client.getJwksUri(), keyId) :
                 new JSONObject(client.getJwks());
         AbstractCryptoProvider cryptoProvider = CryptoProviderFactory.getCryptoProvider(
         		appConfiguration);
@@ -19,12 +19,14 @@ import org.xdi.oxauth.model.registration.Client;
 import org.xdi.oxauth.model.token.IdTokenFactory;
 import org.xdi.oxauth.model.token.JsonWebResponse;
 import org.xdi.oxauth.service.GrantService;
+import org.xdi.oxauth.service.token.SelfContainedAccessTokenService;
 import org.xdi.oxauth.util.TokenHashUtil;
 import org.xdi.service.CacheService;
 import org.xdi.util.security.StringEncrypter;
 
 import javax.inject.Inject;
 import java.security.SignatureException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -49,10 +51,15 @@ public class AuthorizationGrant extends AbstractAuthorizationGrant {
     @Inject
     private IdTokenFactory idTokenFactory;
 
+    @Inject
+    private SelfContainedAccessTokenService selfContainedAccessTokenService;
+
     private boolean isCachedWithNoPersistence = false;
 
     private boolean isImplicitFlow = false;
 
+    private Issuance issuance;
+
     public AuthorizationGrant() {
     }
 
@@ -80,8 +87,44 @@ public class AuthorizationGrant extends AbstractAuthorizationGrant {
         return result;
     }
 
+    /**
+     * Starts collecting token writes and grant updates of one token request until {@link #commitIssuance()}.
+     * Grant must not be shared with other threads meanwhile.
+     */
+    public void beginIssuance() {
+        issuance = new Issuance();
+    }
+
+    /**
+     * Writes everything collected since {@link #beginIssuance()}: grant attributes are saved once, new tokens get
+     * them before they are persisted in one batch.
+     */
+    public void commitIssuance() {
+        final Issuance current = issuance;
+        if (current == null) {
+            return;
+        }
+        issuance = null;
+
+        if (current.saveRequested) {
+            if (!isSavedInCache()) {
+                for (TokenLdap t : current.tokens) {
+                    applyGrantAttributes(t);
+                }
+            }
+            // tokens of this request are not persisted yet, so only tokens stored before are merged
+            save();
+        }
+        grantService.persist(current.tokens);
+    }
+
     @Override
     public void save() {
+        if (issuance != null) {
+            issuance.saveRequested = true;
+            return;
+        }
+
         if (isCachedWithNoPersistence) {
             if (getAuthorizationGrantType() == AuthorizationGrantType.AUTHORIZATION_CODE) {
                 saveInCache();
@@ -98,6 +141,11 @@ public class AuthorizationGrant extends AbstractAuthorizationGrant {
         }
     }
 
+    private boolean isSavedInCache() {
+        return isCachedWithNoPersistence
+                || (BooleanUtils.isTrue(appConfiguration.getUseCacheForAllImplicitFlowObjects()) && isImplicitFlow());
+    }
+
     private void saveInCache() {
         CacheGrant cachedGrant = new CacheGrant(this, appConfiguration);
         cacheService.put(Integer.toString(cachedGrant.getExpiresIn()), cachedGrant.cacheKey(), cachedGrant);
@@ -112,22 +160,8 @@ public class AuthorizationGrant extends AbstractAuthorizationGrant {
         if (grantId != null && StringUtils.isNotBlank(grantId)) {
             final List<TokenLdap> grants = grantService.getGrantsByGrantId(grantId);
             if (grants != null && !grants.isEmpty()) {
-                final String nonce = getNonce();
-                final String scopes = getScopesAsString();
                 for (TokenLdap t : grants) {
-                    t.setNonce(nonce);
-                    t.setScope(scopes);
-                    t.setAuthMode(getAcrValues());
-                    t.setSessionDn(getSessionDn());
-                    t.setAuthenticationTime(getAuthenticationTime());
-                    t.setCodeChallenge(getCodeChallenge());
-                    t.setCodeChallengeMethod(getCodeChallengeMethod());
-                    t.setClaims(getClaims());
-
-                    final JwtAuthorizationRequest jwtRequest = getJwtAuthorizationRequest();
-                    if (jwtRequest != null && StringUtils.isNotBlank(jwtRequest.getEncodedJwt())) {
-                        t.setJwtRequest(jwtRequest.getEncodedJwt());
-                    }
+                    applyGrantAttributes(t);
                     log.debug("Saving grant: " + grantId + ", code_challenge: " + getCodeChallenge());
                     grantService.mergeSilently(t);
                 }
@@ -135,10 +169,31 @@ public class AuthorizationGrant extends AbstractAuthorizationGrant {
         }
     }
 
+    private void applyGrantAttributes(TokenLdap t) {
+        t.setNonce(getNonce());
+        t.setScope(getScopesAsString());
+        t.setAuthMode(getAcrValues());
+        t.setSessionDn(getSessionDn());
+        t.setAuthenticationTime(getAuthenticationTime());
+        t.setCodeChallenge(getCodeChallenge());
+        t.setCodeChallengeMethod(getCodeChallengeMethod());
+        t.setClaims(getClaims());
+
+        final JwtAuthorizationRequest jwtRequest = getJwtAuthorizationRequest();
+        if (jwtRequest != null && StringUtils.isNotBlank(jwtRequest.getEncodedJwt())) {
+            t.setJwtRequest(jwtRequest.getEncodedJwt());
+        }
+    }
+
     @Override
     public AccessToken createAccessToken() {
         try {
             final AccessToken accessToken = super.createAccessToken();
+            if (selfContainedAccessTokenService.isSelfContained(this)) {
+                // token carries the grant, nothing to persist
+                accessToken.setCode(selfContainedAccessTokenService.createCode(this, accessToken));
+                return accessToken;
+            }
             if (accessToken.getExpiresIn() > 0) {
                 persist(asToken(accessToken));
             }
@@ -190,6 +245,10 @@ public class AuthorizationGrant extends AbstractAuthorizationGrant {
     }
 
     public void persist(TokenLdap p_token) {
+        if (issuance != null) {
+            issuance.tokens.add(p_token);
+            return;
+        }
         grantService.persist(p_token);
     }
 
@@ -301,4 +360,10 @@ public class AuthorizationGrant extends AbstractAuthorizationGrant {
     public void setIsCachedWithNoPersistence(boolean isCachedWithNoPersistence) {
         this.isCachedWithNoPersistence = isCachedWithNoPersistence;
     }
+
+    private static class Issuance {
+
+        private final List<TokenLdap> tokens = new ArrayList<TokenLdap>();
+        private boolean saveRequested;
+    }
 }
\ No newline at end of file
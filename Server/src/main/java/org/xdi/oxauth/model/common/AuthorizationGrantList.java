@@ -21,12 +21,15 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.xdi.oxauth.model.authorize.JwtAuthorizationRequest;
 import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.jwt.Jwt;
 import org.xdi.oxauth.model.ldap.TokenLdap;
 import org.xdi.oxauth.model.registration.Client;
 import org.xdi.oxauth.model.util.Util;
+import org.xdi.oxauth.service.AuthorizationGrantCache;
 import org.xdi.oxauth.service.ClientService;
 import org.xdi.oxauth.service.GrantService;
 import org.xdi.oxauth.service.UserService;
+import org.xdi.oxauth.service.token.SelfContainedAccessTokenService;
 import org.xdi.oxauth.util.ServerUtil;
 import org.xdi.oxauth.util.TokenHashUtil;
 import org.xdi.service.CacheService;
@@ -61,6 +64,12 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
     @Inject
     private CacheService cacheService;
 
+    @Inject
+    private AuthorizationGrantCache authorizationGrantCache;
+
+    @Inject
+    private SelfContainedAccessTokenService selfContainedAccessTokenService;
+
     private final Pattern clientInumPattern = Pattern.compile(".+inum=([\\w\\!\\@\\.]+).+");
 
     @Override
@@ -160,22 +169,62 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
     }
 
     public AuthorizationGrant getAuthorizationGrantByAccessToken(String accessToken, boolean onlyFromCache) {
+        final String hashedToken = TokenHashUtil.getHashedToken(accessToken);
+        final Jwt selfContainedToken = selfContainedAccessTokenService.parse(accessToken);
+        if (selfContainedToken != null) {
+            return getAuthorizationGrantBySelfContainedAccessToken(hashedToken, selfContainedToken);
+        }
+
+        final AuthorizationGrantCache.CachedGrant cachedGrant = authorizationGrantCache.getGrant(hashedToken);
+        if (cachedGrant != null && cachedGrant.getTokenLdap().getTokenTypeEnum() != org.xdi.oxauth.model.ldap.TokenType.ID_TOKEN) {
+            return asGrant(cachedGrant);
+        }
+
         final TokenLdap tokenLdap = grantService.getGrantsByCode(accessToken, onlyFromCache);
         if (tokenLdap != null && (tokenLdap.getTokenTypeEnum() == org.xdi.oxauth.model.ldap.TokenType.ACCESS_TOKEN || tokenLdap.getTokenTypeEnum() == org.xdi.oxauth.model.ldap.TokenType.LONG_LIVED_ACCESS_TOKEN)) {
-            return asGrant(tokenLdap);
+            return asCachedGrant(hashedToken, tokenLdap);
         }
         return null;
     }
 
+    private AuthorizationGrant getAuthorizationGrantBySelfContainedAccessToken(String hashedToken, Jwt jwt) {
+        final AuthorizationGrantCache.CachedGrant cachedGrant = authorizationGrantCache.getGrant(hashedToken);
+        if (cachedGrant != null) {
+            // signature was verified when token was cached, revocation may be newer
+            return selfContainedAccessTokenService.isRevoked(cachedGrant.getTokenLdap()) ? null : asGrant(cachedGrant);
+        }
+
+        final TokenLdap tokenLdap = selfContainedAccessTokenService.validate(jwt);
+        return tokenLdap != null ? asCachedGrant(hashedToken, tokenLdap) : null;
+    }
+
     @Override
     public AuthorizationGrant getAuthorizationGrantByIdToken(String idToken) {
+        final String hashedToken = TokenHashUtil.getHashedToken(idToken);
+        final AuthorizationGrantCache.CachedGrant cachedGrant = authorizationGrantCache.getGrant(hashedToken);
+        if (cachedGrant != null && cachedGrant.getTokenLdap().getTokenTypeEnum() == org.xdi.oxauth.model.ldap.TokenType.ID_TOKEN) {
+            return asGrant(cachedGrant);
+        }
+
         final TokenLdap tokenLdap = grantService.getGrantsByCode(idToken);
         if (tokenLdap != null && (tokenLdap.getTokenTypeEnum() == org.xdi.oxauth.model.ldap.TokenType.ID_TOKEN)) {
-            return asGrant(tokenLdap);
+            return asCachedGrant(hashedToken, tokenLdap);
         }
         return null;
     }
 
+    private AuthorizationGrant asCachedGrant(String hashedToken, TokenLdap tokenLdap) {
+        final AuthorizationGrant grant = asGrant(tokenLdap);
+        if (grant != null) {
+            authorizationGrantCache.putGrant(hashedToken, tokenLdap, grant.getUser(), grant.getClient(), grant.getJwtAuthorizationRequest());
+        }
+        return grant;
+    }
+
+    private AuthorizationGrant asGrant(AuthorizationGrantCache.CachedGrant cachedGrant) {
+        return asGrant(cachedGrant.getTokenLdap(), cachedGrant.getUser(), cachedGrant.getClient(), cachedGrant.getJwtAuthorizationRequest());
+    }
+
     public AuthorizationGrant load(String clientId, String p_code) {
         return asGrant(grantService.getGrantsByCodeAndClient(p_code, clientId));
     }
@@ -190,11 +239,28 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
     }
 
     public AuthorizationGrant asGrant(TokenLdap tokenLdap) {
+        if (tokenLdap != null && AuthorizationGrantType.fromString(tokenLdap.getGrantType()) != null) {
+            final User user = userService.getUser(tokenLdap.getUserId());
+            final Client client = clientService.getClient(extractClientIdFromTokenDn(tokenLdap.getDn()));
+
+            JwtAuthorizationRequest jwtAuthorizationRequest = null;
+            if (StringUtils.isNotBlank(tokenLdap.getJwtRequest())) {
+                try {
+                    jwtAuthorizationRequest = new JwtAuthorizationRequest(appConfiguration, tokenLdap.getJwtRequest(), client);
+                } catch (Exception e) {
+                    log.trace(e.getMessage(), e);
+                }
+            }
+            return asGrant(tokenLdap, user, client, jwtAuthorizationRequest);
+        }
+
+        return null;
+    }
+
+    private AuthorizationGrant asGrant(TokenLdap tokenLdap, User user, Client client, JwtAuthorizationRequest jwtAuthorizationRequest) {
         if (tokenLdap != null) {
             final AuthorizationGrantType grantType = AuthorizationGrantType.fromString(tokenLdap.getGrantType());
             if (grantType != null) {
-                final User user = userService.getUser(tokenLdap.getUserId());
-                final Client client = clientService.getClient(extractClientIdFromTokenDn(tokenLdap.getDn()));
                 final Date authenticationTime = tokenLdap.getAuthenticationTime();
                 final String nonce = tokenLdap.getNonce();
 
@@ -229,7 +295,6 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
                 }
 
                 final String grantId = tokenLdap.getGrantId();
-                final String jwtRequest = tokenLdap.getJwtRequest();
                 final String authMode = tokenLdap.getAuthMode();
                 final String sessionDn = tokenLdap.getSessionDn();
                 final String claims = tokenLdap.getClaims();
@@ -244,13 +309,7 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
                 result.setCodeChallenge(tokenLdap.getCodeChallenge());
                 result.setCodeChallengeMethod(tokenLdap.getCodeChallengeMethod());
 
-                if (StringUtils.isNotBlank(jwtRequest)) {
-                    try {
-                        result.setJwtAuthorizationRequest(new JwtAuthorizationRequest(appConfiguration, jwtRequest, client));
-                    } catch (Exception e) {
-                        log.trace(e.getMessage(), e);
-                    }
-                }
+                result.setJwtAuthorizationRequest(jwtAuthorizationRequest);
 
                 result.setAcrValues(authMode);
                 result.setSessionDn(sessionDn);
@@ -197,6 +197,13 @@ public class CacheGrant implements Serializable {
         return clientId + "_" + code;
     }
 
+    /**
+     * Key of grant id remembered after authorization code is redeemed, so replay of code can revoke grant.
+     */
+    public static String usedCodeCacheKey(String clientId, String code) {
+        return "used_" + clientId + "_" + code;
+    }
+
     @Override
     public String toString() {
         return "MemcachedGrant{" +
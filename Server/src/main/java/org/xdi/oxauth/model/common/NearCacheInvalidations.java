@@ -0,0 +1,59 @@
+package org.xdi.oxauth.model.common;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * Near cache invalidations shared between cluster nodes through the CacheService.
+ * <p>
+ * Each invalidated key gets its own shared entry holding a new version (publish time and random part), so
+ * invalidations published by different nodes at the same moment never overwrite each other and bursts don't push
+ * older ones out. On first check of entry node drops it if version was published after entry was cached, then
+ * remembers the version and drops entry once the published version differs. Version entries must live at least as
+ * long as near cache entries.
+ */
+public final class NearCacheInvalidations {
+
+    private NearCacheInvalidations() {
+    }
+
+    public static String cacheKey(String region, String key) {
+        Preconditions.checkState(StringUtils.isNotBlank(region));
+        return region + "_inv_" + DigestUtils.sha256Hex(key);
+    }
+
+    public static String newVersion() {
+        return System.currentTimeMillis() + "_" + UUID.randomUUID().toString();
+    }
+
+    /**
+     * @param publishedVersion value of shared version entry, <code>null</code> if there is none
+     * @param time             time in millis
+     * @return <code>true</code> if version was published at or after given time
+     */
+    public static boolean isPublishedAfter(String publishedVersion, long time) {
+        if (publishedVersion == null) {
+            return false;
+        }
+
+        try {
+            return Long.parseLong(StringUtils.substringBefore(publishedVersion, "_")) >= time;
+        } catch (NumberFormatException e) {
+            // Unknown format, treat as new
+            return true;
+        }
+    }
+
+    /**
+     * @param cachedVersion    version published when entry was cached, <code>null</code> if there was none
+     * @param publishedVersion value of shared version entry now, <code>null</code> if there is none
+     * @return <code>true</code> if no invalidation was published since entry was cached
+     */
+    public static boolean isCurrent(String cachedVersion, String publishedVersion) {
+        return cachedVersion == null ? publishedVersion == null : cachedVersion.equals(publishedVersion);
+    }
+
+}
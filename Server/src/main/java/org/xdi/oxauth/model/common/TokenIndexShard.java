@@ -0,0 +1,50 @@
+package org.xdi.oxauth.model.common;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * One shard of token index (e.g. of {@link ClientTokens} or {@link SessionTokens}) kept in cache.
+ * Maps token hash to expiration time of the token in milliseconds.
+ */
+public class TokenIndexShard implements Serializable {
+
+    private Map<String, Long> members = new HashMap<String, Long>();
+
+    public Map<String, Long> getMembers() {
+        return members;
+    }
+
+    public void setMembers(Map<String, Long> members) {
+        this.members = members;
+    }
+
+    public void removeExpired(long now) {
+        for (Iterator<Long> it = members.values().iterator(); it.hasNext(); ) {
+            if (it.next() <= now) {
+                it.remove();
+            }
+        }
+    }
+
+    public long getMaxExpiration() {
+        long max = 0;
+        for (Long expiration : members.values()) {
+            max = Math.max(max, expiration);
+        }
+        return max;
+    }
+
+    public static String cacheKey(String indexKey, int shard) {
+        return indexKey + "_" + shard;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenIndexShard{" +
+                "members=" + members +
+                '}';
+    }
+}
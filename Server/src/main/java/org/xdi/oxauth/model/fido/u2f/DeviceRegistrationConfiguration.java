@@ -1,5 +1,6 @@
 package org.xdi.oxauth.model.fido.u2f;
 
+import java.io.Serializable;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 
@@ -13,7 +14,9 @@ import org.xdi.oxauth.model.util.Base64Util;
  *
  * @author Yuriy Movchan Date: 05/29/2015
  */
-public class DeviceRegistrationConfiguration {
+public class DeviceRegistrationConfiguration implements Serializable {
+
+	private static final long serialVersionUID = 2135546216592402361L;
 
 	@JsonProperty
 	public final String publicKey;
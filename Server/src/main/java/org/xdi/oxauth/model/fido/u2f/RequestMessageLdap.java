@@ -5,6 +5,7 @@ import org.gluu.site.ldap.persistence.annotation.LdapAttribute;
 import org.gluu.site.ldap.persistence.annotation.LdapEntry;
 import org.gluu.site.ldap.persistence.annotation.LdapObjectClass;
 
+import java.io.Serializable;
 import java.util.Date;
 
 /**
@@ -15,7 +16,9 @@ import java.util.Date;
  */
 @LdapEntry(sortBy = "creationDate")
 @LdapObjectClass(values = {"top", "oxU2fRequest"})
-public class RequestMessageLdap extends BaseEntry {
+public class RequestMessageLdap extends BaseEntry implements Serializable {
+
+    private static final long serialVersionUID = -2270617330355237744L;
 
     @LdapAttribute(ignoreDuringUpdate = true, name = "oxId")
     protected String id;
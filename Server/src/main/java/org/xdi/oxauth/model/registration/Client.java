@@ -48,6 +48,9 @@ public class Client implements Serializable {
     @LdapAttribute(name = "oxAuthLogoutSessionRequired")
     private Boolean frontChannelLogoutSessionRequired;
 
+    @LdapAttribute(name = "oxAuthBackchannelLogoutURI")
+    private String[] backchannelLogoutUri;
+
     @LdapAttribute(name = "oxAuthRegistrationAccessToken")
     private String registrationAccessToken;
 
@@ -234,6 +237,24 @@ public class Client implements Serializable {
         this.frontChannelLogoutUri = frontChannelLogoutUri;
     }
 
+    /**
+     * Gets backchannel logout uri, server posts logout token to it when session ends.
+     *
+     * @return backchannel logout uri
+     */
+    public String[] getBackchannelLogoutUri() {
+        return backchannelLogoutUri;
+    }
+
+    /**
+     * Sets backchannel logout uri.
+     *
+     * @param backchannelLogoutUri backchannel logout uri
+     */
+    public void setBackchannelLogoutUri(String[] backchannelLogoutUri) {
+        this.backchannelLogoutUri = backchannelLogoutUri;
+    }
+
     /**
      * Returns the Unique Client identifier.
      *
@@ -7,9 +7,6 @@
 package org.xdi.oxauth.model.registration;
 
 import org.apache.commons.lang.StringUtils;
-import org.codehaus.jettison.json.JSONArray;
-import org.jboss.resteasy.client.ClientRequest;
-import org.jboss.resteasy.client.ClientResponse;
 import org.slf4j.Logger;
 import org.xdi.oxauth.model.common.SubjectType;
 import org.xdi.oxauth.model.configuration.AppConfiguration;
@@ -18,12 +15,13 @@ import org.xdi.oxauth.model.register.ApplicationType;
 import org.xdi.oxauth.model.register.RegisterErrorResponseType;
 import org.xdi.oxauth.model.util.URLPatternList;
 import org.xdi.oxauth.model.util.Util;
+import org.xdi.oxauth.service.RedirectUriMatcher;
+import org.xdi.oxauth.service.SectorIdentifierCache;
 import org.xdi.oxauth.util.ServerUtil;
 
 import javax.ejb.Stateless;
 import javax.inject.Inject;
 import javax.inject.Named;
-import javax.ws.rs.HttpMethod;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import java.net.URI;
@@ -48,6 +46,9 @@ public class RegisterParamsValidator {
     @Inject
     private AppConfiguration appConfiguration;
 
+    @Inject
+    private SectorIdentifierCache sectorIdentifierCache;
+
     private static final String HTTP = "http";
     private static final String HTTPS = "https";
     private static final String LOCALHOST = "localhost";
@@ -162,17 +163,9 @@ public class RegisterParamsValidator {
                     valid = false;
                 }
 
-                ClientRequest clientRequest = new ClientRequest(sectorIdentifierUrl);
-                clientRequest.setHttpMethod(HttpMethod.GET);
-
-                ClientResponse<String> clientResponse = clientRequest.get(String.class);
-                int status = clientResponse.getStatus();
-
-                if (status == 200) {
-                    String entity = clientResponse.getEntity(String.class);
-
-                    JSONArray sectorIdentifierJsonArray = new JSONArray(entity);
-                    valid = Util.asList(sectorIdentifierJsonArray).containsAll(redirectUris);
+                RedirectUriMatcher sectorRedirectUris = sectorIdentifierCache.fetchCurrent(sectorIdentifierUrl);
+                if (sectorRedirectUris != null) {
+                    valid = sectorRedirectUris.getRedirectUris().containsAll(redirectUris);
                 }
             } catch (Exception e) {
                 log.trace(e.getMessage(), e);
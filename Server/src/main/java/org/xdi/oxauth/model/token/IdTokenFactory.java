@@ -34,10 +34,10 @@ import org.xdi.oxauth.model.jwt.JwtSubClaimObject;
 import org.xdi.oxauth.model.jwt.JwtType;
 import org.xdi.oxauth.model.ldap.PairwiseIdentifier;
 import org.xdi.oxauth.model.registration.Client;
-import org.xdi.oxauth.model.util.JwtUtil;
 import org.xdi.oxauth.model.util.Util;
 import org.xdi.oxauth.service.AttributeService;
 import org.xdi.oxauth.service.ClientService;
+import org.xdi.oxauth.service.JwksCache;
 import org.xdi.oxauth.service.PairwiseIdentifierService;
 import org.xdi.oxauth.service.ScopeService;
 import org.xdi.oxauth.service.external.ExternalAuthenticationService;
@@ -77,6 +77,9 @@ public class IdTokenFactory {
     @Inject
     private ClientService clientService;
 
+    @Inject
+    private JwksCache jwksCache;
+
     @Inject
     private ScopeService scopeService;
 
@@ -243,36 +246,10 @@ public class IdTokenFactory {
             }
         }
 
-        // Check for Subject Identifier Type
-        if (authorizationGrant.getClient().getSubjectType() != null &&
-                SubjectType.fromString(authorizationGrant.getClient().getSubjectType()).equals(SubjectType.PAIRWISE)) {
-            String sectorIdentifierUri = null;
-            if (StringUtils.isNotBlank(authorizationGrant.getClient().getSectorIdentifierUri())) {
-                sectorIdentifierUri = authorizationGrant.getClient().getSectorIdentifierUri();
-            } else {
-                sectorIdentifierUri = authorizationGrant.getClient().getRedirectUris()[0];
-            }
-
-            String userInum = authorizationGrant.getUser().getAttribute("inum");
-            PairwiseIdentifier pairwiseIdentifier = pairwiseIdentifierService.findPairWiseIdentifier(
-                    userInum, sectorIdentifierUri);
-            if (pairwiseIdentifier == null) {
-                pairwiseIdentifier = new PairwiseIdentifier(sectorIdentifierUri);
-                pairwiseIdentifier.setId(UUID.randomUUID().toString());
-                pairwiseIdentifier.setDn(pairwiseIdentifierService.getDnForPairwiseIdentifier(
-                        pairwiseIdentifier.getId(),
-                        userInum));
-                pairwiseIdentifierService.addPairwiseIdentifier(userInum, pairwiseIdentifier);
-            }
-            jwt.getClaims().setSubjectIdentifier(pairwiseIdentifier.getId());
-        } else {
-            String openidSubAttribute = appConfiguration.getOpenidSubAttribute();
-
-            if (openidSubAttribute.equals("uid")) {
-                jwt.getClaims().setSubjectIdentifier(authorizationGrant.getUser().getUserId());
-            } else {
-                jwt.getClaims().setSubjectIdentifier(authorizationGrant.getUser().getAttribute(openidSubAttribute));
-            }
+        jwt.getClaims().setSubjectIdentifier(getSubjectIdentifier(authorizationGrant.getClient(), authorizationGrant.getUser()));
+        String sid = getSessionId(authorizationGrant.getSessionDn());
+        if (sid != null) {
+            jwt.getClaims().setClaim(JwtClaimName.SESSION_ID, sid);
         }
 
         if ((dynamicScopes.size() > 0) && externalDynamicScopeService.isEnabled()) {
@@ -427,36 +404,10 @@ public class IdTokenFactory {
             }
         }
 
-        // Check for Subject Identifier Type
-        if (authorizationGrant.getClient().getSubjectType() != null &&
-                SubjectType.fromString(authorizationGrant.getClient().getSubjectType()).equals(SubjectType.PAIRWISE)) {
-            String sectorIdentifierUri;
-            if (StringUtils.isNotBlank(authorizationGrant.getClient().getSectorIdentifierUri())) {
-                sectorIdentifierUri = authorizationGrant.getClient().getSectorIdentifierUri();
-            } else {
-                sectorIdentifierUri = authorizationGrant.getClient().getRedirectUris()[0];
-            }
-
-            String userInum = authorizationGrant.getUser().getAttribute("inum");
-            PairwiseIdentifier pairwiseIdentifier = pairwiseIdentifierService.findPairWiseIdentifier(
-                    userInum, sectorIdentifierUri);
-            if (pairwiseIdentifier == null) {
-                pairwiseIdentifier = new PairwiseIdentifier(sectorIdentifierUri);
-                pairwiseIdentifier.setId(UUID.randomUUID().toString());
-                pairwiseIdentifier.setDn(pairwiseIdentifierService.getDnForPairwiseIdentifier(
-                        pairwiseIdentifier.getId(),
-                        userInum));
-                pairwiseIdentifierService.addPairwiseIdentifier(userInum, pairwiseIdentifier);
-            }
-            jwe.getClaims().setSubjectIdentifier(pairwiseIdentifier.getId());
-        } else {
-            String openidSubAttribute = appConfiguration.getOpenidSubAttribute();
-
-            if (openidSubAttribute.equals("uid")) {
-                jwe.getClaims().setSubjectIdentifier(authorizationGrant.getUser().getUserId());
-            } else {
-                jwe.getClaims().setSubjectIdentifier(authorizationGrant.getUser().getAttribute(openidSubAttribute));
-            }
+        jwe.getClaims().setSubjectIdentifier(getSubjectIdentifier(authorizationGrant.getClient(), authorizationGrant.getUser()));
+        String sid = getSessionId(authorizationGrant.getSessionDn());
+        if (sid != null) {
+            jwe.getClaims().setClaim(JwtClaimName.SESSION_ID, sid);
         }
 
         if ((dynamicScopes.size() > 0) && externalDynamicScopeService.isEnabled()) {
@@ -468,7 +419,7 @@ public class IdTokenFactory {
         // Encryption
         if (keyEncryptionAlgorithm == KeyEncryptionAlgorithm.RSA_OAEP
                 || keyEncryptionAlgorithm == KeyEncryptionAlgorithm.RSA1_5) {
-            JSONObject jsonWebKeys = JwtUtil.getJSONWebKeys(authorizationGrant.getClient().getJwksUri());
+            JSONObject jsonWebKeys = jwksCache.getJwks(authorizationGrant.getClient().getJwksUri());
             AbstractCryptoProvider cryptoProvider = CryptoProviderFactory.getCryptoProvider(appConfiguration);
             String keyId = cryptoProvider.getKeyId(JSONWebKeySet.fromJSONObject(jsonWebKeys), SignatureAlgorithm.RS256, Use.ENCRYPTION);
             PublicKey publicKey = cryptoProvider.getPublicKey(keyId, jsonWebKeys);
@@ -498,6 +449,54 @@ public class IdTokenFactory {
         return jwe;
     }
 
+    /**
+     * Subject identifier of user for client, pairwise identifier is created on first use.
+     */
+    public String getSubjectIdentifier(Client client, User user) {
+        if (client.getSubjectType() != null &&
+                SubjectType.fromString(client.getSubjectType()).equals(SubjectType.PAIRWISE)) {
+            String sectorIdentifierUri;
+            if (StringUtils.isNotBlank(client.getSectorIdentifierUri())) {
+                sectorIdentifierUri = client.getSectorIdentifierUri();
+            } else {
+                sectorIdentifierUri = client.getRedirectUris()[0];
+            }
+
+            String userInum = user.getAttribute("inum");
+            PairwiseIdentifier pairwiseIdentifier = pairwiseIdentifierService.findPairWiseIdentifier(
+                    userInum, sectorIdentifierUri);
+            if (pairwiseIdentifier == null) {
+                pairwiseIdentifier = new PairwiseIdentifier(sectorIdentifierUri);
+                pairwiseIdentifier.setId(UUID.randomUUID().toString());
+                pairwiseIdentifier.setDn(pairwiseIdentifierService.getDnForPairwiseIdentifier(
+                        pairwiseIdentifier.getId(),
+                        userInum));
+                pairwiseIdentifierService.addPairwiseIdentifier(userInum, pairwiseIdentifier);
+            }
+            return pairwiseIdentifier.getId();
+        }
+
+        String openidSubAttribute = appConfiguration.getOpenidSubAttribute();
+        if (openidSubAttribute.equals("uid")) {
+            return user.getUserId();
+        }
+        return user.getAttribute(openidSubAttribute);
+    }
+
+    /**
+     * @return id of session from "oxAuthSessionId=id,..." session DN, it's sent as sid in front-channel and
+     * back-channel logout too
+     */
+    private static String getSessionId(String sessionDn) {
+        if (StringUtils.isBlank(sessionDn)) {
+            return null;
+        }
+
+        String rdn = StringUtils.substringBefore(sessionDn, ",");
+        String id = StringUtils.substringAfter(rdn, "=");
+        return StringUtils.isNotBlank(id) ? id : null;
+    }
+
     public JsonWebResponse createJwr(
             IAuthorizationGrant grant, String nonce, AuthorizationCode authorizationCode, AccessToken accessToken,
             Set<String> scopes, boolean includeIdTokenClaims)
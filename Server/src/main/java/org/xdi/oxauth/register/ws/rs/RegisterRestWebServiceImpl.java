@@ -150,6 +150,7 @@ public class RegisterRestWebServiceImpl implements RegisterRestWebService {
                         builder.entity(errorResponseFactory.getErrorAsJson(RegisterErrorResponseType.INVALID_REDIRECT_URI));
                     } else {
                         registerParamsValidator.validateLogoutUri(r.getFrontChannelLogoutUris(), r.getRedirectUris(), errorResponseFactory);
+                        registerParamsValidator.validateLogoutUri(r.getBackchannelLogoutUris(), r.getRedirectUris(), errorResponseFactory);
 
                         String clientsBaseDN = staticConfiguration.getBaseDn().getClients();
 
@@ -397,6 +398,10 @@ public class RegisterRestWebServiceImpl implements RegisterRestWebService {
         }
         p_client.setFrontChannelLogoutSessionRequired(requestObject.getFrontChannelLogoutSessionRequired());
 
+        if (requestObject.getBackchannelLogoutUris() != null && !requestObject.getBackchannelLogoutUris().isEmpty()) {
+            p_client.setBackchannelLogoutUri(requestObject.getBackchannelLogoutUris().toArray(new String[requestObject.getBackchannelLogoutUris().size()]));
+        }
+
         List<String> requestUris = requestObject.getRequestUris();
         if (requestUris != null && !requestUris.isEmpty()) {
             requestUris = new ArrayList<String>(new HashSet<String>(requestUris)); // Remove repeated elements
@@ -605,6 +610,7 @@ public class RegisterRestWebServiceImpl implements RegisterRestWebService {
         // Logout params
         Util.addToJSONObjectIfNotNull(responseJsonObject, FRONT_CHANNEL_LOGOUT_URI.toString(), client.getFrontChannelLogoutUri());
         Util.addToJSONObjectIfNotNull(responseJsonObject, FRONT_CHANNEL_LOGOUT_SESSION_REQUIRED.toString(), client.getFrontChannelLogoutSessionRequired());
+        Util.addToJSONObjectIfNotNull(responseJsonObject, BACKCHANNEL_LOGOUT_URI.toString(), client.getBackchannelLogoutUri());
 
         // Custom Params
         String[] scopeNames = null;
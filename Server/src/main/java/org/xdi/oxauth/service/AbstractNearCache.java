@@ -0,0 +1,170 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.common.NearCacheInvalidations;
+import org.xdi.oxauth.service.cdi.event.NearCacheEvent;
+import org.xdi.service.CacheService;
+import org.xdi.service.cdi.async.Asynchronous;
+import org.xdi.service.cdi.event.Scheduled;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process, size bounded cache which sits in front of the shared CacheService or LDAP.
+ * <p>
+ * Entries are evicted locally on change and a new version of the key is published through the shared cache,
+ * see {@link NearCacheInvalidations}. Reads never touch the shared cache. On each {@link NearCacheEvent} node
+ * compares versions of cached entries to the published ones in background and drops entries invalidated by other
+ * nodes, so they see invalidation within timer interval. Entry lifetime bounds staleness if version check fails or if
+ * value was loaded before and cached after concurrent invalidation.
+ */
+public abstract class AbstractNearCache<V> {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private CacheService cacheService;
+
+    private Cache<String, Entry<V>> cache;
+
+    private final AtomicBoolean isActive = new AtomicBoolean(false);
+
+    protected abstract String getRegion();
+
+    protected abstract boolean isEnabled();
+
+    protected abstract int getSize();
+
+    /**
+     * @return entry lifetime in seconds
+     */
+    protected abstract int getLifetime();
+
+    @PostConstruct
+    public void init() {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(getSize())
+                .expireAfterWrite(getLifetime(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Asynchronous
+    public void verifyEntries(@Observes @Scheduled NearCacheEvent nearCacheEvent) {
+        if (!isEnabled() || cache.size() == 0) {
+            return;
+        }
+
+        if (!this.isActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            verify();
+        } catch (Exception e) {
+            log.error("Failed to verify " + getRegion() + " near cache entries", e);
+        } finally {
+            this.isActive.set(false);
+        }
+    }
+
+    public V get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        final Entry<V> entry = cache.getIfPresent(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public void put(String key, V value) {
+        if (!isEnabled() || value == null) {
+            return;
+        }
+
+        cache.put(key, new Entry<V>(value));
+    }
+
+    /**
+     * Evicts entry on this node only.
+     */
+    public void invalidateLocally(String key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Evicts entry locally and publishes new version of key for other nodes.
+     */
+    public void invalidate(String key) {
+        cache.invalidate(key);
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            // Version must outlive every entry cached before it
+            cacheService.put(Integer.toString(getLifetime() * 2), NearCacheInvalidations.cacheKey(getRegion(), key),
+                    NearCacheInvalidations.newVersion());
+        } catch (Exception e) {
+            log.error("Failed to publish " + getRegion() + " near cache invalidation, key: " + key, e);
+        }
+    }
+
+    private void verify() {
+        int invalidated = 0;
+        for (Map.Entry<String, Entry<V>> cached : cache.asMap().entrySet()) {
+            final String key = cached.getKey();
+            final Entry<V> entry = cached.getValue();
+
+            final Object version = cacheService.get(null, NearCacheInvalidations.cacheKey(getRegion(), key));
+            final String publishedVersion = version instanceof String ? (String) version : null;
+
+            final boolean isCurrent;
+            if (entry.isVerified) {
+                isCurrent = NearCacheInvalidations.isCurrent(entry.version, publishedVersion);
+            } else {
+                // First check, version seen before entry was cached is the one it was loaded with
+                isCurrent = !NearCacheInvalidations.isPublishedAfter(publishedVersion, entry.cachedAt);
+                entry.version = publishedVersion;
+                entry.isVerified = true;
+            }
+
+            if (!isCurrent) {
+                cache.asMap().remove(key, entry);
+                invalidated++;
+            }
+        }
+
+        if (invalidated > 0) {
+            log.trace("Invalidated {} {} near cache entries", invalidated, getRegion());
+        }
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long cachedAt = System.currentTimeMillis();
+
+        // Written by verifying thread only, one verification runs at a time
+        private volatile String version;
+        private volatile boolean isVerified;
+
+        Entry(V value) {
+            this.value = value;
+        }
+    }
+
+}
@@ -127,6 +127,12 @@ public class AppInitializer {
 	@Inject
 	private KeyGeneratorTimer keyGeneratorTimer;
 
+	@Inject
+	private NearCacheTimer nearCacheTimer;
+
+	@Inject
+	private ClientAccessTimeUpdater clientAccessTimeUpdater;
+
 	@Inject
 	private CustomLibrariesLoader customLibrariesLoader;
 
@@ -186,6 +192,8 @@ public class AppInitializer {
         cleanerTimer.initTimer();
         customScriptManager.initTimer(supportedCustomScriptTypes);
         keyGeneratorTimer.initTimer();
+        nearCacheTimer.initTimer();
+        clientAccessTimeUpdater.initTimer();
         initTimer();
 	}
 
@@ -391,6 +391,8 @@ public class AuthenticationService {
             ldapEntryManager.merge(customEntry);
         } catch (EntryPersistenceException epe) {
             log.error("Failed to update oxLastLogonTime of user '{}'", user.getUserId());
+        } finally {
+            userService.invalidateUser(user);
         }
     }
 
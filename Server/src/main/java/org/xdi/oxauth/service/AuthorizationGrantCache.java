@@ -0,0 +1,128 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.xdi.oxauth.model.authorize.JwtAuthorizationRequest;
+import org.xdi.oxauth.model.common.User;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.ldap.TokenLdap;
+import org.xdi.oxauth.model.ldap.TokenType;
+import org.xdi.oxauth.model.registration.Client;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * In-process cache of materialized grants which back access and id token lookups, keyed by hashed token code.
+ * <p>
+ * Entry keeps private snapshot of token entry together with user, client and parsed authorization request which were
+ * resolved for it, so cache hit builds grant without any lookup or parsing. Callers get their own copies of token, user
+ * and client, so grant objects are never shared between requests. User and client changes are seen by cached grant
+ * within entry lifetime. Lookups of codes and refresh tokens mutate the grant and always go to the store.
+ */
+@ApplicationScoped
+@Named
+public class AuthorizationGrantCache extends AbstractNearCache<AuthorizationGrantCache.CachedGrant> {
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    public static boolean isCacheable(TokenType tokenType) {
+        return tokenType == TokenType.ACCESS_TOKEN || tokenType == TokenType.LONG_LIVED_ACCESS_TOKEN || tokenType == TokenType.ID_TOKEN;
+    }
+
+    /**
+     * Returns copy of grant by hashed token code if it is cached and token is not expired yet.
+     */
+    public CachedGrant getGrant(String hashedCode) {
+        CachedGrant cachedGrant = get(hashedCode);
+        if (cachedGrant == null) {
+            return null;
+        }
+
+        Date expirationDate = cachedGrant.getTokenLdap().getExpirationDate();
+        if (expirationDate == null || expirationDate.before(new Date())) {
+            invalidateLocally(hashedCode);
+            return null;
+        }
+        return cachedGrant.copy();
+    }
+
+    public void putGrant(String hashedCode, TokenLdap tokenLdap, User user, Client client, JwtAuthorizationRequest jwtAuthorizationRequest) {
+        if (tokenLdap != null && isCacheable(tokenLdap.getTokenTypeEnum())) {
+            put(hashedCode, new CachedGrant(tokenLdap, user, client, jwtAuthorizationRequest).copy());
+        }
+    }
+
+    @Override
+    protected String getRegion() {
+        return "grant";
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return appConfiguration.getAuthorizationGrantCacheEnabled();
+    }
+
+    @Override
+    protected int getSize() {
+        return appConfiguration.getAuthorizationGrantCacheSize();
+    }
+
+    @Override
+    protected int getLifetime() {
+        return appConfiguration.getAuthorizationGrantCacheLifetime();
+    }
+
+    /**
+     * Materialized grant. Authorization request is parsed once and shared, it's never modified after parsing.
+     */
+    public static class CachedGrant {
+
+        private final TokenLdap tokenLdap;
+        private final User user;
+        private final Client client;
+        private final JwtAuthorizationRequest jwtAuthorizationRequest;
+
+        CachedGrant(TokenLdap tokenLdap, User user, Client client, JwtAuthorizationRequest jwtAuthorizationRequest) {
+            this.tokenLdap = tokenLdap;
+            this.user = user;
+            this.client = client;
+            this.jwtAuthorizationRequest = jwtAuthorizationRequest;
+        }
+
+        public TokenLdap getTokenLdap() {
+            return tokenLdap;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public Client getClient() {
+            return client;
+        }
+
+        public JwtAuthorizationRequest getJwtAuthorizationRequest() {
+            return jwtAuthorizationRequest;
+        }
+
+        CachedGrant copy() {
+            return new CachedGrant(copy(tokenLdap), copy(user), copy(client), jwtAuthorizationRequest);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T extends Serializable> T copy(T object) {
+            return object != null ? (T) SerializationUtils.clone(object) : null;
+        }
+    }
+
+}
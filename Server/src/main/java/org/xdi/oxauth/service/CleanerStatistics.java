@@ -0,0 +1,104 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and backlog of one cleaner. Counters of current run are updated concurrently by cleaner workers and
+ * published as last run values when run finishes.
+ */
+public class CleanerStatistics {
+
+    private final String name;
+
+    private final AtomicLong found = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long startedAt;
+
+    private volatile long lastDuration;
+    private volatile long lastFound;
+    private volatile long lastRemoved;
+    private volatile long lastFailed;
+    private final AtomicLong totalRemoved = new AtomicLong();
+
+    public CleanerStatistics(String name) {
+        this.name = name;
+    }
+
+    public void start() {
+        found.set(0);
+        removed.set(0);
+        failed.set(0);
+        startedAt = System.currentTimeMillis();
+    }
+
+    public void finish() {
+        lastDuration = System.currentTimeMillis() - startedAt;
+        lastFound = found.get();
+        lastRemoved = removed.get();
+        lastFailed = failed.get();
+        totalRemoved.addAndGet(lastRemoved);
+    }
+
+    public void found(int count) {
+        found.addAndGet(count);
+    }
+
+    public void removed(int count) {
+        removed.addAndGet(count);
+    }
+
+    public void failed(int count) {
+        failed.addAndGet(count);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
+    public long getLastFound() {
+        return lastFound;
+    }
+
+    public long getLastRemoved() {
+        return lastRemoved;
+    }
+
+    public long getLastFailed() {
+        return lastFailed;
+    }
+
+    public long getTotalRemoved() {
+        return totalRemoved.get();
+    }
+
+    /**
+     * @return entries which were found expired during last run but are not removed
+     */
+    public long getLastBacklog() {
+        return Math.max(lastFound - lastRemoved, 0);
+    }
+
+    /**
+     * @return removed entries per second during last run
+     */
+    public double getLastThroughput() {
+        return lastDuration > 0 ? lastRemoved * 1000.0 / lastDuration : lastRemoved;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CleanerStatistics{name='%s', duration=%dms, found=%d, removed=%d, failed=%d, backlog=%d, throughput=%.1f/s, totalRemoved=%d}",
+                name, lastDuration, lastFound, lastRemoved, lastFailed, getLastBacklog(), getLastThroughput(), getTotalRemoved());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Limits pace of cleaner removals shared by all cleaner workers of one run.
+ * <p>
+ * Removals are capped by rate (entries per second) if it's set. Additionally if LDAP becomes slow, i.e. average
+ * removal of batch takes longer than latency threshold, worker pauses for the time the batch took, so cleaner
+ * doesn't take more than about half of LDAP capacity until latency recovers.
+ */
+public class CleanerThrottle {
+
+    private final RateLimiter rateLimiter;
+    private final int latencyThreshold;
+
+    /**
+     * @param rate             max removed entries per second, 0 or less for unlimited
+     * @param latencyThreshold max average removal latency in milliseconds, 0 or less to disable latency back off
+     */
+    public CleanerThrottle(int rate, int latencyThreshold) {
+        this.rateLimiter = rate > 0 ? RateLimiter.create(rate) : null;
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public void acquire(int count) {
+        if (rateLimiter != null && count > 0) {
+            rateLimiter.acquire(count);
+        }
+    }
+
+    public void completed(int count, long elapsedMillis) {
+        if (latencyThreshold > 0 && count > 0 && elapsedMillis / count > latencyThreshold) {
+            try {
+                Thread.sleep(elapsedMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
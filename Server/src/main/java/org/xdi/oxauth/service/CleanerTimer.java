@@ -24,11 +24,13 @@ import org.xdi.oxauth.uma.service.UmaPctService;
 import org.xdi.oxauth.uma.service.UmaPermissionService;
 import org.xdi.oxauth.uma.service.UmaResourceService;
 import org.xdi.oxauth.uma.service.UmaRptService;
+import org.xdi.oxauth.util.ServerUtil;
 import org.xdi.service.cdi.async.Asynchronous;
 import org.xdi.service.cdi.event.Scheduled;
 import org.xdi.service.timer.event.TimerEvent;
 import org.xdi.service.timer.schedule.TimerSchedule;
 
+import javax.annotation.PreDestroy;
 import javax.ejb.DependsOn;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -36,6 +38,9 @@ import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -99,10 +104,19 @@ public class CleanerTimer {
 
     private AtomicBoolean isActive;
 
+    private ExecutorService cleanerExecutor;
+
+    private ExecutorService tokenCleanerExecutor;
+
+    private final Map<String, CleanerStatistics> statistics = new ConcurrentHashMap<String, CleanerStatistics>();
+
     public void initTimer() {
         log.debug("Initializing Cleaner Timer");
         this.isActive = new AtomicBoolean(false);
 
+        this.cleanerExecutor = ServerUtil.createFixedExecutor(appConfiguration.getCleanServiceThreads(), "oxauth-cleaner");
+        this.tokenCleanerExecutor = ServerUtil.createFixedExecutor(appConfiguration.getCleanServiceTokenThreads(), "oxauth-token-cleaner");
+
         int interval = appConfiguration.getCleanServiceInterval();
         if (interval <= 0) {
             interval = DEFAULT_INTERVAL;
@@ -122,32 +136,135 @@ public class CleanerTimer {
         }
 
         try {
-            processAuthorizationGrantList();
-            processRegisteredClients();
+            processImpl();
+        } finally {
+            this.isActive.set(false);
+        }
+    }
 
-            Date now = new Date();
-            this.umaRptService.cleanup(now);
-            this.umaPermissionService.cleanup(now);
-            this.umaPctService.cleanup(now);
-            this.umaResourceService.cleanup(now);
+    @PreDestroy
+    public void destroy() {
+        if (cleanerExecutor != null) {
+            cleanerExecutor.shutdownNow();
+        }
+        if (tokenCleanerExecutor != null) {
+            tokenCleanerExecutor.shutdownNow();
+        }
+    }
 
-            processU2fRequests();
-            processU2fDeviceRegistrations();
+    /**
+     * Runs independent cleaners concurrently and waits until all of them finish.
+     */
+    private void processImpl() {
+        final Date now = new Date();
+        final CleanerThrottle throttle = new CleanerThrottle(appConfiguration.getCleanServiceRateLimit(), appConfiguration.getCleanServiceLatencyThreshold());
 
-            processMetricEntries();
-        } finally {
-            this.isActive.set(false);
+        List<Cleaner> cleaners = new ArrayList<Cleaner>();
+        cleaners.add(new Cleaner("token") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                grantService.cleanUp(tokenCleanerExecutor, throttle, statistics);
+            }
+        });
+        cleaners.add(new Cleaner("client") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                processRegisteredClients(statistics);
+            }
+        });
+        cleaners.add(new Cleaner("uma_rpt") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                umaRptService.cleanup(now, statistics);
+            }
+        });
+        cleaners.add(new Cleaner("uma_permission") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                umaPermissionService.cleanup(now, statistics);
+            }
+        });
+        cleaners.add(new Cleaner("uma_pct") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                umaPctService.cleanup(now, statistics);
+            }
+        });
+        cleaners.add(new Cleaner("uma_resource") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                umaResourceService.cleanup(now, statistics);
+            }
+        });
+        cleaners.add(new Cleaner("u2f_request") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                processU2fRequests(statistics);
+            }
+        });
+        cleaners.add(new Cleaner("u2f_device_registration") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                processU2fDeviceRegistrations(statistics);
+            }
+        });
+        cleaners.add(new Cleaner("metric") {
+            @Override
+            protected void clean(CleanerStatistics statistics) {
+                // Metric service doesn't report removed entries, only failed run is counted
+                processMetricEntries();
+            }
+        });
+
+        try {
+            cleanerExecutor.invokeAll(cleaners);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for cleaners", e);
         }
     }
 
-    private void processAuthorizationGrantList() {
-        log.debug("Start AuthorizationGrant clean up");
-        grantService.cleanUp();
-        log.debug("End AuthorizationGrant clean up");
+    /**
+     * @return statistics of last run of each cleaner by cleaner name
+     */
+    public Map<String, CleanerStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private abstract class Cleaner implements Callable<Void> {
+
+        private final String name;
+
+        Cleaner(String name) {
+            this.name = name;
+        }
+
+        protected abstract void clean(CleanerStatistics statistics);
+
+        @Override
+        public Void call() {
+            CleanerStatistics cleanerStatistics = statistics.get(name);
+            if (cleanerStatistics == null) {
+                cleanerStatistics = new CleanerStatistics(name);
+                statistics.put(name, cleanerStatistics);
+            }
+
+            log.debug("Start {} clean up", name);
+            cleanerStatistics.start();
+            try {
+                clean(cleanerStatistics);
+            } catch (Exception e) {
+                cleanerStatistics.failed(1);
+                log.error("Failed to clean up " + name, e);
+            } finally {
+                cleanerStatistics.finish();
+            }
+            log.debug("End {} clean up, {}", name, cleanerStatistics);
+            return null;
+        }
     }
 
-    private void processRegisteredClients() {
-        log.debug("Start Client clean up");
+    private void processRegisteredClients(final CleanerStatistics statistics) {
 
         BatchOperation<Client> clientBatchService = new ProcessBatchOperation<Client>() {
             @Override
@@ -158,6 +275,7 @@ public class CleanerTimer {
                         GregorianCalendar expirationDate = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
                         expirationDate.setTime(client.getClientSecretExpiresAt());
                         if (expirationDate.before(now)) {
+                            statistics.found(1);
                             List<AuthorizationGrant> toRemove = authorizationGrantList.getAuthorizationGrant(client.getClientId());
                             authorizationGrantList.removeAuthorizationGrants(toRemove);
 
@@ -165,8 +283,10 @@ public class CleanerTimer {
                                     client.getClientId(),
                                     client.getClientSecretExpiresAt());
                             clientService.remove(client);
+                            statistics.removed(1);
                         }
                     } catch (Exception e) {
+                        statistics.failed(1);
                         log.error("Failed to remove entry", e);
                     }
                 }
@@ -174,27 +294,27 @@ public class CleanerTimer {
         };
 
         clientService.getClientsWithExpirationDate(clientBatchService, new String[] {"inum", "oxAuthClientSecretExpiresAt"}, 0, BATCH_SIZE);
-
-        log.debug("End Client clean up");
     }
 
-    private void processU2fRequests() {
-        log.debug("Start U2F request clean up");
+    private void processU2fRequests(final CleanerStatistics statistics) {
 
         Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
-        calendar.add(Calendar.SECOND, -90);
+        calendar.add(Calendar.SECOND, -RequestService.REQUEST_MESSAGE_LIFETIME);
         final Date expirationDate = calendar.getTime();
 
         BatchOperation<RequestMessageLdap> requestMessageLdapBatchService = new ProcessBatchOperation<RequestMessageLdap>() {
             @Override
             public void performAction(List<RequestMessageLdap> entries) {
+                statistics.found(entries.size());
                 for (RequestMessageLdap requestMessageLdap : entries) {
                     try {
                         log.debug("Removing RequestMessageLdap: {}, Creation date: {}",
                                 requestMessageLdap.getRequestId(),
                                 requestMessageLdap.getCreationDate());
-                        u2fRequestService.removeRequestMessage(requestMessageLdap);
+                        u2fRequestService.removeExpiredRequestMessage(requestMessageLdap);
+                        statistics.removed(1);
                     } catch (Exception e) {
+                        statistics.failed(1);
                         log.error("Failed to remove entry", e);
                     }
                 }
@@ -202,11 +322,9 @@ public class CleanerTimer {
         };
 
         u2fRequestService.getExpiredRequestMessages(requestMessageLdapBatchService, expirationDate, new String[] {"oxRequestId", "creationDate"}, 0, BATCH_SIZE);
-        log.debug("End U2F request clean up");
     }
 
-    private void processU2fDeviceRegistrations() {
-        log.debug("Start U2F request clean up");
+    private void processU2fDeviceRegistrations(final CleanerStatistics statistics) {
 
         Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
         calendar.add(Calendar.SECOND, -90);
@@ -215,25 +333,25 @@ public class CleanerTimer {
         BatchOperation<DeviceRegistration> deviceRegistrationBatchService = new ProcessBatchOperation<DeviceRegistration>() {
             @Override
             public void performAction(List<DeviceRegistration> entries) {
+                statistics.found(entries.size());
                 for (DeviceRegistration deviceRegistration : entries) {
                     try {
                         log.debug("Removing DeviceRegistration: {}, Creation date: {}",
                                 deviceRegistration.getId(),
                                 deviceRegistration.getCreationDate());
                         deviceRegistrationService.removeUserDeviceRegistration(deviceRegistration);
+                        statistics.removed(1);
                     } catch (Exception e) {
+                        statistics.failed(1);
                         log.error("Failed to remove entry", e);
                     }
                 }
             }
         };
         deviceRegistrationService.getExpiredDeviceRegistrations(deviceRegistrationBatchService, expirationDate, new String[] {"oxId", "creationDate"}, 0, BATCH_SIZE);
-
-        log.debug("End U2F request clean up");
     }
 
     private void processMetricEntries() {
-        log.debug("Start metric entries clean up");
 
         int keepDataDays = appConfiguration.getMetricReporterKeepDataDays();
 
@@ -242,8 +360,6 @@ public class CleanerTimer {
         Date expirationDate = calendar.getTime();
 
         metricService.removeExpiredMetricEntries(expirationDate, ApplicationType.OX_AUTH, metricService.applianceInum(), 0, BATCH_SIZE);
-
-        log.debug("End metric entries clean up");
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.service.cdi.event.ClientAccessTimeEvent;
+import org.xdi.service.cdi.async.Asynchronous;
+import org.xdi.service.cdi.event.Scheduled;
+import org.xdi.service.timer.event.TimerEvent;
+import org.xdi.service.timer.schedule.TimerSchedule;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces client access time updates in memory and writes them to LDAP periodically.
+ * Only the latest access/logon time of each client is kept, so LDAP sees at most one write per client per flush.
+ */
+@ApplicationScoped
+@Named
+public class ClientAccessTimeUpdater {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private ClientService clientService;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private Event<TimerEvent> timerEvent;
+
+    private final PendingUpdates pending = new PendingUpdates();
+
+    private AtomicBoolean isActive;
+
+    public void initTimer() {
+        log.debug("Initializing Client Access Time Timer");
+        this.isActive = new AtomicBoolean(false);
+
+        int interval = appConfiguration.getClientAccessTimeFlushInterval();
+        if (interval <= 0) {
+            log.debug("Client access time write-behind is disabled, updates are written synchronously");
+            return;
+        }
+
+        timerEvent.fire(new TimerEvent(new TimerSchedule(interval, interval), new ClientAccessTimeEvent(), Scheduled.Literal.INSTANCE));
+    }
+
+    @Asynchronous
+    public void process(@Observes @Scheduled ClientAccessTimeEvent clientAccessTimeEvent) {
+        if (!this.isActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            flush();
+        } finally {
+            this.isActive.set(false);
+        }
+    }
+
+    public boolean isEnabled() {
+        return appConfiguration.getClientAccessTimeFlushInterval() > 0;
+    }
+
+    /**
+     * Queues access time update.
+     *
+     * @return <code>false</code> if queue is full and update has to be written by caller, otherwise <code>true</code>.
+     */
+    public boolean enqueue(String clientDn, Date accessTime, boolean isUpdateLogonTime) {
+        final Date logonTime = isUpdateLogonTime ? accessTime : null;
+        if (!pending.add(clientDn, accessTime, logonTime, appConfiguration.getClientAccessTimeMaxPendingUpdates())) {
+            log.trace("Client access time queue is full, client: '{}'", clientDn);
+            return false;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<String> clientDns = pending.getClientDns();
+        log.debug("Flushing access time of {} clients", clientDns.size());
+
+        for (String clientDn : clientDns) {
+            AccessTime accessTime = pending.take(clientDn);
+            if (accessTime == null) {
+                continue;
+            }
+
+            try {
+                clientService.updateAccessTime(clientDn, accessTime.getAccessTime(), accessTime.getLogonTime());
+            } catch (Exception e) {
+                log.error("Failed to flush access time of client '" + clientDn + "'", e);
+            }
+        }
+    }
+
+    /**
+     * Latest access time of each client waiting for flush. Entry taken by flush is detached, so update which raced
+     * with flush is not applied to it but queued again in a new entry.
+     */
+    static class PendingUpdates {
+
+        private final ConcurrentMap<String, AccessTime> updates = new ConcurrentHashMap<String, AccessTime>();
+
+        /**
+         * @return <code>false</code> if there are already <code>maxPending</code> clients waiting for flush
+         */
+        boolean add(String clientDn, Date accessTime, Date logonTime, int maxPending) {
+            while (true) {
+                AccessTime existing = updates.get(clientDn);
+                if (existing == null) {
+                    if (updates.size() >= maxPending) {
+                        return false;
+                    }
+                    existing = updates.putIfAbsent(clientDn, new AccessTime(accessTime, logonTime));
+                    if (existing == null) {
+                        return true;
+                    }
+                }
+
+                if (existing.update(accessTime, logonTime)) {
+                    return true;
+                }
+
+                // Entry is being flushed, make room for the new one
+                updates.remove(clientDn, existing);
+            }
+        }
+
+        /**
+         * Removes entry of client and detaches it, values of returned entry don't change anymore.
+         */
+        AccessTime take(String clientDn) {
+            AccessTime accessTime = updates.get(clientDn);
+            if (accessTime == null || !updates.remove(clientDn, accessTime)) {
+                return null;
+            }
+
+            accessTime.detach();
+            return accessTime;
+        }
+
+        List<String> getClientDns() {
+            return new ArrayList<String>(updates.keySet());
+        }
+
+        boolean isEmpty() {
+            return updates.isEmpty();
+        }
+    }
+
+    static class AccessTime {
+
+        private Date accessTime;
+        private Date logonTime;
+        private boolean detached;
+
+        AccessTime(Date accessTime, Date logonTime) {
+            this.accessTime = accessTime;
+            this.logonTime = logonTime;
+        }
+
+        /**
+         * @return <code>false</code> if entry is already taken by flush and update is not applied
+         */
+        synchronized boolean update(Date accessTime, Date logonTime) {
+            if (detached) {
+                return false;
+            }
+
+            if (this.accessTime == null || accessTime.after(this.accessTime)) {
+                this.accessTime = accessTime;
+            }
+            if (logonTime != null && (this.logonTime == null || logonTime.after(this.logonTime))) {
+                this.logonTime = logonTime;
+            }
+            return true;
+        }
+
+        synchronized void detach() {
+            this.detached = true;
+        }
+
+        synchronized Date getAccessTime() {
+            return accessTime;
+        }
+
+        synchronized Date getLogonTime() {
+            return logonTime;
+        }
+    }
+
+}
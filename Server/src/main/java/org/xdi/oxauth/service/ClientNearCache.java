@@ -0,0 +1,63 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.registration.Client;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * In-process cache of clients which sits in front of the shared CacheService.
+ * <p>
+ * Entry keeps private copy of client and each caller gets its own copy, so callers may modify returned client.
+ */
+@ApplicationScoped
+@Named
+public class ClientNearCache extends AbstractNearCache<Client> {
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Override
+    public Client get(String key) {
+        return copy(super.get(key));
+    }
+
+    @Override
+    public void put(String key, Client client) {
+        super.put(key, copy(client));
+    }
+
+    private static Client copy(Client client) {
+        return client != null ? (Client) SerializationUtils.clone(client) : null;
+    }
+
+    @Override
+    protected String getRegion() {
+        return "client";
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return appConfiguration.getClientNearCacheEnabled();
+    }
+
+    @Override
+    protected int getSize() {
+        return appConfiguration.getClientNearCacheSize();
+    }
+
+    @Override
+    protected int getLifetime() {
+        return appConfiguration.getClientNearCacheLifetime();
+    }
+
+}
@@ -59,6 +59,12 @@ public class ClientService {
     @Inject
     private CacheService cacheService;
 
+    @Inject
+    private ClientNearCache clientNearCache;
+
+    @Inject
+    private ClientAccessTimeUpdater clientAccessTimeUpdater;
+
     @Inject
     private ScopeService scopeService;
 
@@ -206,8 +212,10 @@ public class ClientService {
     	}
 
         try {
+            String key = getClientDnCacheKey(client.getDn());
             cacheService.put(CACHE_CLIENT_FILTER_NAME, getClientIdCacheKey(client.getClientId()), client);
-            cacheService.put(CACHE_CLIENT_NAME, getClientDnCacheKey(client.getDn()), client);
+            cacheService.put(CACHE_CLIENT_NAME, key, client);
+            clientNearCache.put(key, client);
         } catch (Exception e) {
             log.error("Failed to put client in cache, client:" + client, e);
         }
@@ -216,7 +224,14 @@ public class ClientService {
     private Client fromCache(String dn) {
         try {
             String key = getClientDnCacheKey(dn);
-            return (Client) cacheService.get(CACHE_CLIENT_NAME, key);
+            Client client = clientNearCache.get(key);
+            if (client != null) {
+                return client;
+            }
+
+            client = (Client) cacheService.get(CACHE_CLIENT_NAME, key);
+            clientNearCache.put(key, client);
+            return client;
         } catch (Exception e) {
             log.error("Failed to fetch client from cache, dn: " + dn, e);
             return null;
@@ -289,6 +304,7 @@ public class ClientService {
 
             cacheService.remove(CACHE_CLIENT_FILTER_NAME, getClientIdCacheKey(clientId));
             cacheService.remove(CACHE_CLIENT_NAME, getClientDnCacheKey(clientDn));
+            clientNearCache.invalidate(getClientDnCacheKey(clientDn));
         } catch (Exception e) {
             log.error("Failed to remove client from cache.", e);
         }
@@ -300,19 +316,33 @@ public class ClientService {
 		}
 
 		String clientDn = client.getDn();
+        Date now = new GregorianCalendar(TimeZone.getTimeZone("UTC")).getTime();
+
+        if (clientAccessTimeUpdater.isEnabled() && clientAccessTimeUpdater.enqueue(clientDn, now, isUpdateLogonTime)) {
+            return;
+        }
 
+        updateAccessTime(clientDn, now, isUpdateLogonTime ? now : null);
+    }
+
+    /**
+     * Writes client access times to LDAP. Cached client is not invalidated because these attributes are
+     * informational only.
+     *
+     * @param clientDn       client dn
+     * @param lastAccessTime last access time
+     * @param lastLogonTime  last logon time, skipped if <code>null</code>
+     */
+    public void updateAccessTime(String clientDn, Date lastAccessTime, Date lastLogonTime) {
         CustomEntry customEntry = new CustomEntry();
         customEntry.setDn(clientDn);
 		customEntry.setCustomObjectClasses(CLIENT_OBJECT_CLASSES);
 
-        Date now = new GregorianCalendar(TimeZone.getTimeZone("UTC")).getTime();
-        String nowDateString = ldapEntryManager.encodeGeneralizedTime(now);
-
-        CustomAttribute customAttributeLastAccessTime = new CustomAttribute("oxLastAccessTime", nowDateString);
+        CustomAttribute customAttributeLastAccessTime = new CustomAttribute("oxLastAccessTime", ldapEntryManager.encodeGeneralizedTime(lastAccessTime));
         customEntry.getCustomAttributes().add(customAttributeLastAccessTime);
 
-        if (isUpdateLogonTime) {
-            CustomAttribute customAttributeLastLogonTime = new CustomAttribute("oxLastLogonTime", nowDateString);
+        if (lastLogonTime != null) {
+            CustomAttribute customAttributeLastLogonTime = new CustomAttribute("oxLastLogonTime", ldapEntryManager.encodeGeneralizedTime(lastLogonTime));
             customEntry.getCustomAttributes().add(customAttributeLastLogonTime);
         }
 
@@ -321,8 +351,6 @@ public class ClientService {
         } catch (EntryPersistenceException epe) {
             log.error("Failed to update oxLastAccessTime and oxLastLogonTime of client '{}'", clientDn);
         }
-
-        removeFromCache(client);
     }
 
     public Object getAttribute(Client client, String clientAttribute) throws InvalidClaimException {
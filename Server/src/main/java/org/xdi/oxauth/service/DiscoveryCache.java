@@ -0,0 +1,165 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.config.WebKeysConfiguration;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.util.Util;
+import org.xdi.service.cdi.event.ConfigurationUpdate;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps JWKS and OpenID discovery documents rendered in memory.
+ * <p>
+ * Documents are dropped on configuration (and key) reload and rebuilt lazily. Each document is stamped with
+ * configuration generation read before it was built, so document built from old keys concurrently with reload is
+ * never served. Discovery document also depends on scopes and custom scripts which are not part of configuration,
+ * so it's additionally rebuilt after {@link AppConfiguration#getDiscoveryCacheLifetime()} seconds.
+ */
+@ApplicationScoped
+@Named
+public class DiscoveryCache {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private WebKeysConfiguration webKeysConfiguration;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Document jwks;
+
+    private volatile Document openIdConfiguration;
+
+    public void updateConfiguration(@Observes @ConfigurationUpdate AppConfiguration appConfiguration) {
+        log.debug("Configuration is updated, dropping cached discovery documents");
+        this.generation.incrementAndGet();
+        this.jwks = null;
+        this.openIdConfiguration = null;
+    }
+
+    public Document getJwks() throws IOException {
+        Document document = jwks;
+        final long currentGeneration = generation.get();
+        if (document == null || document.generation != currentGeneration) {
+            document = new Document(webKeysConfiguration.toString(), appConfiguration.getDiscoveryGzipEnabled(), currentGeneration);
+            jwks = document;
+        }
+        return document;
+    }
+
+    public Document getOpenIdConfiguration(DocumentBuilder builder) throws Exception {
+        Document document = openIdConfiguration;
+        final long currentGeneration = generation.get();
+        if (document == null || document.generation != currentGeneration
+                || document.isOlderThan(appConfiguration.getDiscoveryCacheLifetime())) {
+            document = new Document(builder.build(), appConfiguration.getDiscoveryGzipEnabled(), currentGeneration);
+            openIdConfiguration = document;
+        }
+        return document;
+    }
+
+    public int getMaxAge() {
+        return appConfiguration.getDiscoveryCacheLifetime();
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    public interface DocumentBuilder {
+        String build() throws Exception;
+    }
+
+    /**
+     * Rendered document. Returned arrays are shared between requests and must not be modified.
+     * <p>
+     * Gzipped and identity representations have different strong entity tags.
+     */
+    public static class Document {
+
+        private final byte[] content;
+        private final byte[] gzippedContent;
+        private final String etag;
+        private final long createdAt;
+        private final long generation;
+
+        public Document(String content, boolean gzip, long generation) throws IOException {
+            this.content = content.getBytes(Util.UTF8_STRING_ENCODING);
+            this.gzippedContent = gzip ? gzip(this.content) : null;
+            this.etag = DigestUtils.sha1Hex(this.content);
+            this.createdAt = System.currentTimeMillis();
+            this.generation = generation;
+        }
+
+        private static byte[] gzip(byte[] content) throws IOException {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(content.length);
+            GZIPOutputStream gzip = new GZIPOutputStream(bos);
+            try {
+                gzip.write(content);
+            } finally {
+                gzip.close();
+            }
+            return bos.toByteArray();
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public byte[] getGzippedContent() {
+            return gzippedContent;
+        }
+
+        public boolean hasGzippedContent() {
+            return gzippedContent != null;
+        }
+
+        /**
+         * @return strong entity tag value of representation without quotes
+         */
+        public String getEtag(boolean gzipped) {
+            return gzipped ? etag + "-gzip" : etag;
+        }
+
+        /**
+         * Matches value of If-None-Match header against entity tag of representation.
+         */
+        public boolean matches(String ifNoneMatch, boolean gzipped) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            final String quoted = "\"" + getEtag(gzipped) + "\"";
+            for (String tag : ifNoneMatch.split(",")) {
+                String trimmed = tag.trim();
+                if ("*".equals(trimmed) || quoted.equals(trimmed)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean isOlderThan(int seconds) {
+            return System.currentTimeMillis() - createdAt > seconds * 1000L;
+        }
+    }
+
+}
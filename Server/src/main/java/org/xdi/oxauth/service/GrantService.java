@@ -9,13 +9,13 @@ package org.xdi.oxauth.service;
 import static org.xdi.oxauth.util.ServerUtil.isTrue;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 
 import javax.ejb.Stateless;
 import javax.inject.Inject;
@@ -23,11 +23,6 @@ import javax.inject.Named;
 
 import org.apache.commons.lang.BooleanUtils;
 import org.apache.commons.lang.StringUtils;
-import org.gluu.persist.ldap.impl.LdapEntryManager;
-import org.gluu.persist.model.BatchOperation;
-import org.gluu.persist.model.ProcessBatchOperation;
-import org.gluu.persist.model.SearchScope;
-import org.gluu.search.filter.Filter;
 import org.slf4j.Logger;
 import org.xdi.oxauth.audit.ApplicationAuditLogger;
 import org.xdi.oxauth.model.audit.Action;
@@ -36,11 +31,20 @@ import org.xdi.oxauth.model.common.AuthorizationGrant;
 import org.xdi.oxauth.model.common.CacheGrant;
 import org.xdi.oxauth.model.common.ClientTokens;
 import org.xdi.oxauth.model.common.SessionTokens;
+import org.xdi.oxauth.model.common.TokenIndexType;
+import org.xdi.oxauth.model.common.TokenStoreType;
 import org.xdi.oxauth.model.config.StaticConfiguration;
 import org.xdi.oxauth.model.configuration.AppConfiguration;
 import org.xdi.oxauth.model.ldap.Grant;
 import org.xdi.oxauth.model.ldap.TokenLdap;
 import org.xdi.oxauth.model.ldap.TokenType;
+import org.xdi.oxauth.service.token.CacheTokenIndex;
+import org.xdi.oxauth.service.token.InMemoryTokenIndex;
+import org.xdi.oxauth.service.token.InMemoryTokenStore;
+import org.xdi.oxauth.service.token.LdapTokenStore;
+import org.xdi.oxauth.service.token.RevokedGrantList;
+import org.xdi.oxauth.service.token.TokenIndex;
+import org.xdi.oxauth.service.token.TokenStore;
 import org.xdi.oxauth.util.TokenHashUtil;
 import org.xdi.service.CacheService;
 
@@ -57,7 +61,16 @@ public class GrantService {
     private Logger log;
 
     @Inject
-    private LdapEntryManager ldapEntryManager;
+    private LdapTokenStore ldapTokenStore;
+
+    @Inject
+    private InMemoryTokenStore inMemoryTokenStore;
+
+    @Inject
+    private CacheTokenIndex cacheTokenIndex;
+
+    @Inject
+    private InMemoryTokenIndex inMemoryTokenIndex;
 
     @Inject
     private ApplicationAuditLogger applicationAuditLogger;
@@ -68,6 +81,12 @@ public class GrantService {
     @Inject
     private CacheService cacheService;
 
+    @Inject
+    private AuthorizationGrantCache authorizationGrantCache;
+
+    @Inject
+    private RevokedGrantList revokedGrantList;
+
     @Inject
     private StaticConfiguration staticConfiguration;
 
@@ -89,13 +108,29 @@ public class GrantService {
         return staticConfiguration.getBaseDn().getClients();  // ou=clients,o=@!1111,o=gluu
     }
 
+    private TokenStore getTokenStore() {
+        if (appConfiguration.getTokenStoreType() == TokenStoreType.IN_MEMORY) {
+            if (inMemoryTokenStore.isSupported()) {
+                return inMemoryTokenStore;
+            }
+        }
+        return ldapTokenStore;
+    }
+
+    private TokenIndex getTokenIndex() {
+        if (appConfiguration.getTokenIndexType() == TokenIndexType.IN_MEMORY) {
+            return inMemoryTokenIndex;
+        }
+        return cacheTokenIndex;
+    }
+
     public void merge(TokenLdap p_token) {
-        ldapEntryManager.merge(p_token);
+        getTokenStore().merge(p_token);
     }
 
     public void mergeSilently(TokenLdap p_token) {
         try {
-            ldapEntryManager.merge(p_token);
+            getTokenStore().merge(p_token);
         } catch (Exception e) {
             log.trace(e.getMessage(), e);
         }
@@ -120,13 +155,37 @@ public class GrantService {
     }
 
     public void persist(TokenLdap token) {
+        if (!persistInCache(token)) {
+            getTokenStore().persist(token);
+        }
+    }
+
+    /**
+     * Persists tokens issued by one request. Tokens which go to store are written in one batch.
+     */
+    public void persist(List<TokenLdap> tokens) {
+        final List<TokenLdap> storeTokens = new ArrayList<TokenLdap>(tokens.size());
+        for (TokenLdap token : tokens) {
+            if (!persistInCache(token)) {
+                storeTokens.add(token);
+            }
+        }
+
+        if (!storeTokens.isEmpty()) {
+            getTokenStore().persist(storeTokens);
+        }
+    }
+
+    /**
+     * Hashes token code and puts token in cache if it is not kept in store.
+     *
+     * @return <code>true</code> if token is put in cache, <code>false</code> if it has to be persisted in store
+     */
+    private boolean persistInCache(TokenLdap token) {
         String hashedToken = TokenHashUtil.getHashedToken(token.getTokenCode());
         token.setTokenCode(hashedToken);
 
         if (shouldPutInCache(token.getTokenTypeEnum(), token.isImplicitFlow())) {
-            ClientTokens clientTokens = getCacheClientTokens(token.getClientId());
-            clientTokens.getTokenHashes().add(hashedToken);
-
             String expiration = null;
             switch (token.getTokenTypeEnum()) {
                 case ID_TOKEN:
@@ -142,53 +201,70 @@ public class GrantService {
 
             token.setIsFromCache(true);
             cacheService.put(expiration, hashedToken, token);
-            cacheService.put(expiration, clientTokens.cacheKey(), clientTokens);
+            getTokenIndex().add(new ClientTokens(token.getClientId()).cacheKey(), hashedToken, token.getExpirationDate());
 
             if (StringUtils.isNotBlank(token.getSessionDn())) {
-                SessionTokens sessionTokens = getCacheSessionTokens(token.getSessionDn());
-                sessionTokens.getTokenHashes().add(hashedToken);
-
-                cacheService.put(expiration, sessionTokens.cacheKey(), sessionTokens);
+                getTokenIndex().add(new SessionTokens(token.getSessionDn()).cacheKey(), hashedToken, token.getExpirationDate());
             }
-            return;
+            return true;
         }
 
-        prepareGrantBranch(token.getGrantId(), token.getClientId());
-        ldapEntryManager.persist(token);
+        return false;
     }
 
     public ClientTokens getCacheClientTokens(String clientId) {
         ClientTokens clientTokens = new ClientTokens(clientId);
-        Object o = cacheService.get(null, clientTokens.cacheKey());
-        if (o instanceof ClientTokens) {
-            return (ClientTokens) o;
-        } else {
-            return clientTokens;
-        }
+        clientTokens.setTokenHashes(getTokenIndex().get(clientTokens.cacheKey()));
+        return clientTokens;
     }
 
     public SessionTokens getCacheSessionTokens(String sessionDn) {
         SessionTokens sessionTokens = new SessionTokens(sessionDn);
-        Object o = cacheService.get(null, sessionTokens.cacheKey());
-        if (o instanceof SessionTokens) {
-            return (SessionTokens) o;
-        } else {
-            return sessionTokens;
+        sessionTokens.setTokenHashes(getTokenIndex().get(sessionTokens.cacheKey()));
+        return sessionTokens;
+    }
+
+    private void removeFromTokenIndex(TokenLdap p_token, String hashedToken) {
+        if (StringUtils.isNotBlank(p_token.getClientId())) {
+            getTokenIndex().remove(new ClientTokens(p_token.getClientId()).cacheKey(), hashedToken);
+        }
+        if (StringUtils.isNotBlank(p_token.getSessionDn())) {
+            getTokenIndex().remove(new SessionTokens(p_token.getSessionDn()).cacheKey(), hashedToken);
         }
     }
 
     public void remove(Grant grant) {
-        ldapEntryManager.remove(grant);
-        log.trace("Removed grant, id: " + grant.getId());
+        ldapTokenStore.remove(grant);
     }
 
     public void remove(TokenLdap p_token) {
+        removeFromGrantCache(p_token);
+        removeFromStore(p_token);
+    }
+
+    /**
+     * Removes token without evicting it from grant cache on other nodes, used for expired tokens which grant cache
+     * drops on read anyway.
+     */
+    private void removeFromStore(TokenLdap p_token) {
         if (p_token.isFromCache()) {
-            cacheService.remove(null, TokenHashUtil.getHashedToken(p_token.getTokenCode()));
+            final String hashedToken = TokenHashUtil.getHashedToken(p_token.getTokenCode());
+            cacheService.remove(null, hashedToken);
+            removeFromTokenIndex(p_token, hashedToken);
             log.trace("Removed token from cache, code: " + p_token.getTokenCode());
         } else {
-            ldapEntryManager.remove(p_token);
-            log.trace("Removed token from LDAP, code: " + p_token.getTokenCode());
+            getTokenStore().remove(p_token);
+            log.trace("Removed token from store, code: " + p_token.getTokenCode());
+        }
+    }
+
+    private void removeFromGrantCache(TokenLdap p_token) {
+        final String hashedToken = TokenHashUtil.getHashedToken(p_token.getTokenCode());
+        if (AuthorizationGrantCache.isCacheable(p_token.getTokenTypeEnum())) {
+            authorizationGrantCache.invalidate(hashedToken);
+        } else {
+            // partially loaded token (e.g. by cleaner), expired entries are dropped on read anyway
+            authorizationGrantCache.invalidateLocally(hashedToken);
         }
     }
 
@@ -205,15 +281,7 @@ public class GrantService {
     }
 
     public void removeGrants(List<Grant> entries) {
-        if (entries != null && !entries.isEmpty()) {
-            for (Grant g : entries) {
-                try {
-                    remove(g);
-                } catch (Exception e) {
-                    log.error("Failed to remove entry", e);
-                }
-            }
-        }
+        ldapTokenStore.removeGrants(entries);
     }
 
     public void remove(List<TokenLdap> p_entries) {
@@ -247,17 +315,11 @@ public class GrantService {
     }
 
     public List<TokenLdap> getGrantsOfClient(String p_clientId) {
-        try {
-            final String baseDn = clientService.buildClientDn(p_clientId);
-            return ldapEntryManager.findEntries(baseDn, TokenLdap.class, Filter.create("oxAuthTokenCode=*"));
-        } catch (Exception e) {
-            log.trace(e.getMessage(), e);
-        }
-        return Collections.emptyList();
+        return getTokenStore().getByClient(p_clientId);
     }
 
     public TokenLdap getGrantsByCodeAndClient(String p_code, String p_clientId) {
-        return load(clientService.buildClientDn(p_clientId), p_code);
+        return getTokenStore().getByCodeAndClient(TokenHashUtil.getHashedToken(p_code), p_clientId);
     }
 
     public TokenLdap getGrantsByCode(String p_code) {
@@ -273,47 +335,22 @@ public class GrantService {
             if (onlyFromCache) {
                 return null;
             }
-            return load(baseDn(), p_code);
-        }
-    }
-
-    private TokenLdap load(String p_baseDn, String p_code) {
-        try {
-            final List<TokenLdap> entries = ldapEntryManager.findEntries(p_baseDn, TokenLdap.class, Filter.createEqualityFilter("oxAuthTokenCode", TokenHashUtil.getHashedToken(p_code)));
-            if (entries != null && !entries.isEmpty()) {
-                return entries.get(0);
-            }
-        } catch (Exception e) {
-            log.trace(e.getMessage(), e);
+            return getTokenStore().getByCode(TokenHashUtil.getHashedToken(p_code));
         }
-        return null;
     }
 
     public List<TokenLdap> getGrantsByGrantId(String p_grantId) {
-        try {
-            return ldapEntryManager.findEntries(baseDn(), TokenLdap.class, Filter.createEqualityFilter("oxAuthGrantId", p_grantId));
-        } catch (Exception e) {
-            log.trace(e.getMessage(), e);
-        }
-        return Collections.emptyList();
+        return getTokenStore().getByGrantId(p_grantId);
     }
 
     public List<TokenLdap> getGrantsByAuthorizationCode(String p_authorizationCode) {
-        try {
-            return ldapEntryManager.findEntries(baseDn(), TokenLdap.class, Filter.createEqualityFilter("oxAuthAuthorizationCode", TokenHashUtil.getHashedToken(p_authorizationCode)));
-        } catch (Exception e) {
-            log.trace(e.getMessage(), e);
-        }
-        return Collections.emptyList();
+        return getTokenStore().getByAuthorizationCode(TokenHashUtil.getHashedToken(p_authorizationCode));
     }
 
     public List<TokenLdap> getGrantsBySessionDn(String sessionDn) {
         List<TokenLdap> grants = new ArrayList<TokenLdap>();
         try {
-            List<TokenLdap> ldapGrants = ldapEntryManager.findEntries(baseDn(), TokenLdap.class, Filter.create(String.format("oxAuthSessionDn=%s", sessionDn)));
-            if (ldapGrants != null) {
-                grants.addAll(ldapGrants);
-            }
+            grants.addAll(getTokenStore().getBySessionDn(sessionDn));
             grants.addAll(getGrantsFromCacheBySessionDn(sessionDn));
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -329,11 +366,7 @@ public class GrantService {
     }
 
     public List<TokenLdap> getCacheClientTokensEntries(String clientId) {
-        Object o = cacheService.get(null, new ClientTokens(clientId).cacheKey());
-        if (o instanceof ClientTokens) {
-            return getCacheTokensEntries(((ClientTokens) o).getTokenHashes());
-        }
-        return Collections.emptyList();
+        return getCacheTokensEntries(getCacheClientTokens(clientId).getTokenHashes());
     }
 
     public List<TokenLdap> getCacheTokensEntries(Set<String> tokenHashes) {
@@ -351,6 +384,7 @@ public class GrantService {
     }
 
     public void removeAllTokensBySession(String sessionDn) {
+        revokedGrantList.revokeSession(sessionDn);
         removeSilently(getGrantsBySessionDn(sessionDn));
     }
 
@@ -367,97 +401,67 @@ public class GrantService {
         cacheService.remove(null, CacheGrant.cacheKey(p_clientId, p_code, null));
     }
 
-    public void removeAllByAuthorizationCode(String p_authorizationCode) {
-        removeSilently(getGrantsByAuthorizationCode(p_authorizationCode));
-    }
-
-    public void removeAllByGrantId(String p_grantId) {
-        removeSilently(getGrantsByGrantId(p_grantId));
+    /**
+     * Removes redeemed authorization code and remembers its grant until access tokens issued for it expire. Self-contained
+     * access tokens are not persisted, so this is the only way to find their grant if code is replayed.
+     */
+    public void removeUsedAuthorizationCode(String p_code, String p_clientId, String p_grantId) {
+        removeByCode(p_code, p_clientId);
+        if (StringUtils.isNotBlank(p_grantId)) {
+            cacheService.put(Integer.toString(appConfiguration.getAccessTokenLifetime()), CacheGrant.usedCodeCacheKey(p_clientId, p_code), p_grantId);
+        }
     }
 
-    public void cleanUp() {
-        // Cleaning oxAuthToken
-    	BatchOperation<TokenLdap> tokenBatchService = new ProcessBatchOperation<TokenLdap>() {
-            @Override
-        	public void performAction(List<TokenLdap> entries) {
-                auditLogging(entries);
-                remove(entries);
-            }
-        };
-        ldapEntryManager.findEntries(baseDn(), TokenLdap.class, getExpiredTokenFilter(), SearchScope.SUB, new String[] { "oxAuthTokenCode", "oxAuthClientId", "oxAuthScope", "oxAuthUserId" }, tokenBatchService, 0, 0, CleanerTimer.BATCH_SIZE);
-
-        // Cleaning oxAuthGrant
-        BatchOperation<Grant> grantBatchService = new ProcessBatchOperation<Grant>() {
-            @Override
-            public void performAction(List<Grant> entries) {
-                removeGrants(entries);
-            }
-
-        };
-        ldapEntryManager.findEntries(baseDn(), Grant.class, getExpiredGrantFilter(), SearchScope.SUB, new String[] { "" }, grantBatchService, 0, 0, CleanerTimer.BATCH_SIZE);
-
-        // Cleaning old oxAuthGrant
-        // Note: This block should be removed, it is used only to delete old legacy data.
-        BatchOperation<Grant> oldGrantBatchService = new ProcessBatchOperation<Grant>() {
-            @Override
-            public void performAction(List<Grant> entries) {
-                removeGrants(entries);
+    public void removeAllByAuthorizationCode(String p_authorizationCode, String p_clientId) {
+        final List<TokenLdap> grants = getGrantsByAuthorizationCode(p_authorizationCode);
+        final Set<String> grantIds = new HashSet<String>();
+        for (TokenLdap t : grants) {
+            if (grantIds.add(t.getGrantId())) {
+                revokedGrantList.revokeGrant(t.getGrantId());
             }
-        };
-        ldapEntryManager.findEntries(baseDn(), Grant.class, getExpiredOldGrantFilter(), SearchScope.SUB, new String[] { "" }, oldGrantBatchService, 0, 0, CleanerTimer.BATCH_SIZE);
-    }
-
-    private Filter getExpiredTokenFilter() {
-        return Filter.createLessOrEqualFilter("oxAuthExpiration", ldapEntryManager.encodeGeneralizedTime(new Date()));
-    }
-
-    private Filter getExpiredGrantFilter() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.add(Calendar.SECOND, 60);
-
-        Filter hasSubordinates = Filter.createORFilter(Filter.createEqualityFilter("numsubordinates", "0"),
-    			Filter.createEqualityFilter("hasSubordinates", "FALSE")); 
-    	Filter creationDate = Filter.createLessOrEqualFilter("oxAuthCreation", ldapEntryManager.encodeGeneralizedTime(calendar.getTime()));
-    	Filter filter = Filter.createANDFilter(creationDate, hasSubordinates);
-    	
-    	return filter;
-    }
-
-    private Filter getExpiredOldGrantFilter() {
-    	Filter hasSubordinatesFilter = Filter.createORFilter(Filter.createEqualityFilter("numsubordinates", "0"),
-    			Filter.createEqualityFilter("hasSubordinates", "FALSE")); 
-    	Filter noCreationDate = Filter.createNOTFilter(Filter.createPresenceFilter("oxAuthCreation"));
-    	Filter filter = Filter.createANDFilter(noCreationDate, hasSubordinatesFilter);
-    	
-    	return filter;
-    }
-
-    private void addGrantBranch(final String p_grantId, final String p_clientId) {
-        Grant grant = new Grant();
-        grant.setDn(getBaseDnForGrant(p_grantId, p_clientId));
-        grant.setId(p_grantId);
-        grant.setCreationDate(new Date());
-
-        ldapEntryManager.persist(grant);
-    }
+        }
 
-    private void prepareGrantBranch(final String p_grantId, final String p_clientId) {
-        // Create ocAuthGrant branch if needed
-        if (!containsGrantBranch(p_grantId, p_clientId)) {
-            addGrantBranch(p_grantId, p_clientId);
+        final Object usedCodeGrantId = cacheService.get(null, CacheGrant.usedCodeCacheKey(p_clientId, p_authorizationCode));
+        if (usedCodeGrantId instanceof String && grantIds.add((String) usedCodeGrantId)) {
+            revokedGrantList.revokeGrant((String) usedCodeGrantId);
         }
+        removeSilently(grants);
     }
 
-    private boolean containsGrantBranch(final String p_grantId, final String p_clientId) {
-        return ldapEntryManager.contains(Grant.class, getBaseDnForGrant(p_grantId, p_clientId));
+    public void removeAllByGrantId(String p_grantId) {
+        revokedGrantList.revokeGrant(p_grantId);
+        removeSilently(getGrantsByGrantId(p_grantId));
     }
 
-    private String getBaseDnForGrant(final String p_grantId, final String p_clientId) {
-        final StringBuilder dn = new StringBuilder();
-        dn.append(String.format("oxAuthGrantId=%s,", p_grantId));
-        dn.append(clientService.buildClientDn(p_clientId));
+    /**
+     * @param executor   pool to clean up shards of token store in parallel, <code>null</code> to clean up in caller thread
+     * @param throttle   limits pace of removals
+     * @param statistics collects counters of removed tokens
+     */
+    public void cleanUp(ExecutorService executor, final CleanerThrottle throttle, final CleanerStatistics statistics) {
+        getTokenStore().processExpired(new TokenStore.ExpiredTokensHandler() {
+            @Override
+            public void handle(List<TokenLdap> entries) {
+                statistics.found(entries.size());
+                throttle.acquire(entries.size());
 
-        return dn.toString();
+                final long start = System.currentTimeMillis();
+                auditLogging(entries);
+                for (TokenLdap t : entries) {
+                    try {
+                        authorizationGrantCache.invalidateLocally(TokenHashUtil.getHashedToken(t.getTokenCode()));
+                        removeFromStore(t);
+                        statistics.removed(1);
+                    } catch (Exception e) {
+                        statistics.failed(1);
+                        log.error("Failed to remove entry", e);
+                    }
+                }
+                throttle.completed(entries.size(), System.currentTimeMillis() - start);
+            }
+        }, executor);
+
+        getTokenIndex().cleanUp();
     }
 
     private void auditLogging(Collection<TokenLdap> entries) {
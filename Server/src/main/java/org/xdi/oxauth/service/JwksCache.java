@@ -0,0 +1,278 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.codehaus.jettison.json.JSONArray;
+import org.codehaus.jettison.json.JSONObject;
+import org.jboss.resteasy.client.ClientRequest;
+import org.jboss.resteasy.client.ClientResponse;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.jwk.JWKParameter;
+import org.xdi.oxauth.model.util.JwtUtil;
+import org.xdi.oxauth.util.ServerUtil;
+import org.xdi.util.StringHelper;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.ws.rs.HttpMethod;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of JWKS documents of clients fetched from their jwks_uri.
+ * <p>
+ * Lifetime of document follows Cache-Control max-age of response clamped to configured bounds. Document is refreshed
+ * in background when 80% of its lifetime passed, so requests don't wait for jwks_uri. If document doesn't contain
+ * requested kid (client rotated keys), it's refetched at most once per {@link AppConfiguration#getJwksCacheRefetchInterval()}.
+ * Concurrent fetches of the same URI are coalesced into one request. Cached document instances are shared, so keys
+ * parsed from them by crypto provider are reused too.
+ */
+@ApplicationScoped
+@Named
+public class JwksCache {
+
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String MAX_AGE = "max-age=";
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    private Cache<String, Entry> entries;
+
+    private final ConcurrentMap<String, FutureTask<Entry>> fetches = new ConcurrentHashMap<String, FutureTask<Entry>>();
+
+    private ExecutorService refresher;
+
+    @PostConstruct
+    public void init() {
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(appConfiguration.getJwksCacheSize())
+                .expireAfterWrite(appConfiguration.getJwksCacheMaxLifetime(), TimeUnit.SECONDS)
+                .build();
+        this.refresher = ServerUtil.createFixedExecutor(2, "oxauth-jwks-refresher");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public JSONObject getJwks(String jwksUri) {
+        return getJwks(jwksUri, null);
+    }
+
+    /**
+     * @param keyId key id which must be present in document, if it's not document is refetched. Can be <code>null</code>.
+     */
+    public JSONObject getJwks(String jwksUri, String keyId) {
+        if (StringHelper.isEmpty(jwksUri)) {
+            return null;
+        }
+        if (!appConfiguration.getJwksCacheEnabled()) {
+            return JwtUtil.getJSONWebKeys(jwksUri);
+        }
+
+        final long now = System.currentTimeMillis();
+        final int refetchInterval = appConfiguration.getJwksCacheRefetchInterval();
+
+        Entry entry = entries.getIfPresent(jwksUri);
+        if (entry == null) {
+            entry = fetch(jwksUri, null);
+        } else if (entry.isExpired(now) || (keyId != null && !entry.containsKey(keyId))) {
+            // Otherwise stale document is served until next attempt is allowed
+            if (entry.canRefetch(now, refetchInterval)) {
+                log.debug("Refetching jwks of '{}', key id: '{}'", jwksUri, keyId);
+                entry = fetch(jwksUri, entry);
+            }
+        } else if (entry.shouldRefresh(now) && entry.canRefetch(now, refetchInterval)) {
+            refreshInBackground(jwksUri, entry);
+        }
+
+        return entry != null ? entry.jwks : null;
+    }
+
+    private void refreshInBackground(final String jwksUri, final Entry current) {
+        if (fetches.containsKey(jwksUri)) {
+            return;
+        }
+
+        try {
+            refresher.execute(new Runnable() {
+                @Override
+                public void run() {
+                    fetch(jwksUri, current);
+                }
+            });
+        } catch (Exception e) {
+            log.trace("Failed to schedule jwks refresh", e);
+        }
+    }
+
+    /**
+     * Fetches document, concurrent callers for the same URI wait for single request.
+     *
+     * @return fetched entry or current (stale) entry if fetch failed
+     */
+    private Entry fetch(final String jwksUri, final Entry current) {
+        if (current != null) {
+            current.refetchedAt = System.currentTimeMillis();
+        }
+
+        FutureTask<Entry> task = new FutureTask<Entry>(new Callable<Entry>() {
+            @Override
+            public Entry call() {
+                return load(jwksUri);
+            }
+        });
+
+        FutureTask<Entry> existing = fetches.putIfAbsent(jwksUri, task);
+        if (existing == null) {
+            try {
+                task.run();
+            } finally {
+                fetches.remove(jwksUri, task);
+            }
+        } else {
+            task = existing;
+        }
+
+        try {
+            Entry loaded = task.get();
+            if (loaded != null) {
+                return loaded;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Failed to fetch jwks from " + jwksUri, e.getCause());
+        }
+
+        // Serve stale document while jwks_uri is unavailable
+        return current;
+    }
+
+    private Entry load(String jwksUri) {
+        log.debug("Retrieving jwks from '{}'", jwksUri);
+        try {
+            ClientRequest clientRequest = new ClientRequest(jwksUri);
+            clientRequest.setHttpMethod(HttpMethod.GET);
+            ClientResponse<String> clientResponse = clientRequest.get(String.class);
+
+            int status = clientResponse.getStatus();
+            if (status != 200) {
+                log.debug("Failed to retrieve jwks from '{}', status: {}", jwksUri, status);
+                return null;
+            }
+
+            JSONObject jwks = new JSONObject(clientResponse.getEntity(String.class));
+            int lifetime = getLifetime(clientResponse.getHeaders().getFirst(CACHE_CONTROL));
+
+            Entry entry = new Entry(jwks, lifetime);
+            entries.put(jwksUri, entry);
+            return entry;
+        } catch (Exception e) {
+            log.error("Failed to retrieve jwks from '" + jwksUri + "'", e);
+            return null;
+        }
+    }
+
+    private int getLifetime(String cacheControl) {
+        int lifetime = appConfiguration.getJwksCacheDefaultLifetime();
+        if (cacheControl != null) {
+            String value = cacheControl.toLowerCase();
+            if (value.contains("no-cache") || value.contains("no-store")) {
+                lifetime = 0;
+            } else {
+                int index = value.indexOf(MAX_AGE);
+                if (index >= 0) {
+                    int end = index + MAX_AGE.length();
+                    while (end < value.length() && Character.isDigit(value.charAt(end))) {
+                        end++;
+                    }
+                    try {
+                        lifetime = Integer.parseInt(value.substring(index + MAX_AGE.length(), end));
+                    } catch (NumberFormatException e) {
+                        log.trace("Invalid max-age in Cache-Control: {}", cacheControl);
+                    }
+                }
+            }
+        }
+
+        // Keys are needed on each request, so even non cacheable response is kept for minimal lifetime
+        lifetime = Math.max(lifetime, appConfiguration.getJwksCacheMinLifetime());
+        return Math.min(lifetime, appConfiguration.getJwksCacheMaxLifetime());
+    }
+
+    private static class Entry {
+
+        private final JSONObject jwks;
+        private final Set<String> keyIds;
+        private final long createdAt;
+        private final long refreshAt;
+        private final long expiresAt;
+        private volatile long refetchedAt;
+
+        Entry(JSONObject jwks, int lifetime) {
+            this.jwks = jwks;
+            this.keyIds = keyIds(jwks);
+            this.createdAt = System.currentTimeMillis();
+            this.refreshAt = createdAt + lifetime * 800L; // 80% of lifetime
+            this.expiresAt = createdAt + lifetime * 1000L;
+            this.refetchedAt = createdAt;
+        }
+
+        private static Set<String> keyIds(JSONObject jwks) {
+            Set<String> result = new HashSet<String>();
+            JSONArray keys = jwks.optJSONArray(JWKParameter.JSON_WEB_KEY_SET);
+            if (keys != null) {
+                for (int i = 0; i < keys.length(); i++) {
+                    JSONObject key = keys.optJSONObject(i);
+                    if (key != null && key.has(JWKParameter.KEY_ID)) {
+                        result.add(key.optString(JWKParameter.KEY_ID));
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(result);
+        }
+
+        boolean containsKey(String keyId) {
+            return keyIds.contains(keyId);
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        boolean shouldRefresh(long now) {
+            return now >= refreshAt;
+        }
+
+        boolean canRefetch(long now, int refetchInterval) {
+            return now - refetchedAt >= refetchInterval * 1000L;
+        }
+    }
+
+}
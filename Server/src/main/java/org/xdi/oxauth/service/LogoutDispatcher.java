@@ -0,0 +1,306 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.codehaus.jettison.json.JSONObject;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.common.SessionId;
+import org.xdi.oxauth.model.common.User;
+import org.xdi.oxauth.model.config.WebKeysConfiguration;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.jwt.Jwt;
+import org.xdi.oxauth.model.jwt.JwtClaimName;
+import org.xdi.oxauth.model.registration.Client;
+import org.xdi.oxauth.model.token.IdTokenFactory;
+import org.xdi.oxauth.model.token.JwtSigner;
+import org.xdi.oxauth.model.util.Util;
+import org.xdi.oxauth.util.ServerUtil;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.Collection;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Posts logout tokens to backchannel logout URIs of clients when session ends.
+ * <p>
+ * Notifications are sent off the request thread by pool of {@link AppConfiguration#getLogoutNotificationThreads()}
+ * workers and each of them has its own connect and read timeout, so neither logout response nor other clients wait
+ * for slow client. Failed notification is retried {@link AppConfiguration#getLogoutNotificationRetries()} times with
+ * growing delay.
+ */
+@ApplicationScoped
+@Named
+public class LogoutDispatcher {
+
+    private static final String LOGOUT_TOKEN = "logout_token";
+    private static final String BACKCHANNEL_LOGOUT_EVENT = "http://schemas.openid.net/event/backchannel-logout";
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private WebKeysConfiguration webKeysConfiguration;
+
+    @Inject
+    private UserService userService;
+
+    @Inject
+    private IdTokenFactory idTokenFactory;
+
+    private ExecutorService sender;
+
+    private ScheduledExecutorService retryScheduler;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        this.sender = ServerUtil.createFixedExecutor(appConfiguration.getLogoutNotificationThreads(), "oxauth-logout-dispatcher");
+        this.retryScheduler = ServerUtil.createExecutor();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+        }
+        if (sender != null) {
+            sender.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules notification of each backchannel logout URI of clients, returns immediately.
+     */
+    public void dispatch(SessionId sessionId, Collection<Client> clients) {
+        if (sessionId == null || clients == null) {
+            return;
+        }
+
+        // User is loaded by first worker which needs it
+        final LogoutUser logoutUser = new LogoutUser(sessionId.getUserDn());
+        for (Client client : clients) {
+            String[] logoutUris = client.getBackchannelLogoutUri();
+            if (logoutUris == null) {
+                continue;
+            }
+
+            // Token is shared by all URIs of client and by retries
+            final LogoutToken logoutToken = new LogoutToken(client, sessionId.getId(), logoutUser);
+            for (String logoutUri : logoutUris) {
+                if (Util.isNullOrEmpty(logoutUri)) {
+                    continue;
+                }
+                submit(new Delivery(logoutToken, logoutUri));
+            }
+        }
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public long getRetriedCount() {
+        return retried.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private void submit(Delivery delivery) {
+        try {
+            sender.execute(delivery);
+        } catch (RejectedExecutionException e) {
+            failed.incrementAndGet();
+            log.error("Failed to schedule backchannel logout of client '{}' to '{}'", delivery.logoutToken.clientId, delivery.logoutUri);
+        }
+    }
+
+    private void retry(final Delivery delivery) {
+        if (delivery.attempts > appConfiguration.getLogoutNotificationRetries()) {
+            failed.incrementAndGet();
+            log.error("Backchannel logout of client '{}' to '{}' failed after {} attempts",
+                    delivery.logoutToken.clientId, delivery.logoutUri, delivery.attempts);
+            return;
+        }
+
+        retried.incrementAndGet();
+        try {
+            retryScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    submit(delivery);
+                }
+            }, (long) appConfiguration.getLogoutNotificationRetryDelay() * delivery.attempts, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            failed.incrementAndGet();
+            log.error("Failed to schedule retry of backchannel logout of client '{}' to '{}'",
+                    delivery.logoutToken.clientId, delivery.logoutUri);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if notification is done and must not be retried
+     */
+    private boolean send(Delivery delivery) throws Exception {
+        final byte[] body = (LOGOUT_TOKEN + "=" + URLEncoder.encode(delivery.logoutToken.getCode(), Util.UTF8_STRING_ENCODING))
+                .getBytes(Util.UTF8_STRING_ENCODING);
+        final int timeout = (int) TimeUnit.SECONDS.toMillis(appConfiguration.getLogoutNotificationTimeout());
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(delivery.logoutUri).openConnection();
+        try {
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setInstanceFollowRedirects(false);
+            connection.setUseCaches(false);
+            connection.setDoOutput(true);
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            connection.setFixedLengthStreamingMode(body.length);
+
+            OutputStream os = connection.getOutputStream();
+            try {
+                os.write(body);
+            } finally {
+                os.close();
+            }
+
+            int status = connection.getResponseCode();
+            if (status >= 200 && status < 300) {
+                delivered.incrementAndGet();
+                log.debug("Backchannel logout of client '{}' to '{}' is delivered", delivery.logoutToken.clientId, delivery.logoutUri);
+                return true;
+            }
+            if (status >= 400 && status < 500) {
+                // Client rejected token, sending it again won't help
+                failed.incrementAndGet();
+                log.error("Backchannel logout of client '{}' to '{}' is rejected, status: {}",
+                        delivery.logoutToken.clientId, delivery.logoutUri, status);
+                return true;
+            }
+
+            log.debug("Backchannel logout of client '{}' to '{}' failed, status: {}", delivery.logoutToken.clientId, delivery.logoutUri, status);
+            return false;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private class Delivery implements Runnable {
+
+        private final LogoutToken logoutToken;
+        private final String logoutUri;
+        private int attempts;
+
+        Delivery(LogoutToken logoutToken, String logoutUri) {
+            this.logoutToken = logoutToken;
+            this.logoutUri = logoutUri;
+        }
+
+        @Override
+        public void run() {
+            attempts++;
+            try {
+                if (send(this)) {
+                    return;
+                }
+            } catch (IOException e) {
+                log.debug("Backchannel logout of client '" + logoutToken.clientId + "' to '" + logoutUri + "' failed", e);
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                log.error("Failed to send backchannel logout of client '" + logoutToken.clientId + "' to '" + logoutUri + "'", e);
+                return;
+            }
+            retry(this);
+        }
+    }
+
+    private class LogoutUser {
+
+        private final String userDn;
+        private User user;
+        private boolean isLoaded;
+
+        LogoutUser(String userDn) {
+            this.userDn = userDn;
+        }
+
+        synchronized User get() {
+            if (!isLoaded) {
+                isLoaded = true;
+                if (!Util.isNullOrEmpty(userDn)) {
+                    user = userService.getUserByDn(userDn);
+                }
+            }
+            return user;
+        }
+    }
+
+    /**
+     * Logout token is signed by first worker which needs it. It carries sid of session, same as ID tokens issued in
+     * the session, and sub of user for client if user is known.
+     */
+    private class LogoutToken {
+
+        private final Client client;
+        private final String clientId;
+        private final String sid;
+        private final LogoutUser logoutUser;
+        private String code;
+
+        LogoutToken(Client client, String sid, LogoutUser logoutUser) {
+            this.client = client;
+            this.clientId = client.getClientId();
+            this.sid = sid;
+            this.logoutUser = logoutUser;
+        }
+
+        synchronized String getCode() throws Exception {
+            if (code == null) {
+                JwtSigner jwtSigner = JwtSigner.newJwtSigner(appConfiguration, webKeysConfiguration, client);
+                Jwt jwt = jwtSigner.newJwt();
+                jwt.getClaims().setJwtId(UUID.randomUUID());
+                jwt.getClaims().setIssuedAt(new Date());
+                jwt.getClaims().setClaim(JwtClaimName.SESSION_ID, sid);
+
+                User user = logoutUser.get();
+                if (user != null) {
+                    jwt.getClaims().setSubjectIdentifier(idTokenFactory.getSubjectIdentifier(client, user));
+                }
+
+                JSONObject events = new JSONObject();
+                events.put(BACKCHANNEL_LOGOUT_EVENT, new JSONObject());
+                jwt.getClaims().setClaim(JwtClaimName.EVENTS, events);
+
+                code = jwtSigner.sign().toString();
+            }
+            return code;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.slf4j.Logger;
+import org.xdi.oxauth.service.cdi.event.NearCacheEvent;
+import org.xdi.service.cdi.event.Scheduled;
+import org.xdi.service.timer.event.TimerEvent;
+import org.xdi.service.timer.schedule.TimerSchedule;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Periodically fires {@link NearCacheEvent} so nodes pull state replicated through the shared cache (near cache
+ * versions, revoked grants).
+ */
+@ApplicationScoped
+@Named
+public class NearCacheTimer {
+
+    private final static int DEFAULT_INTERVAL = 10; // 10 seconds
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private Event<TimerEvent> timerEvent;
+
+    public void initTimer() {
+        log.debug("Initializing Near Cache Timer");
+
+        timerEvent.fire(new TimerEvent(new TimerSchedule(DEFAULT_INTERVAL, DEFAULT_INTERVAL), new NearCacheEvent(),
+                Scheduled.Literal.INSTANCE));
+    }
+
+}
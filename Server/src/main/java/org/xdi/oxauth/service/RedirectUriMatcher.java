@@ -0,0 +1,66 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registered redirect URIs prepared for lookup: complete URIs in hash set, URIs without query by base URI with
+ * their query parameters parsed in advance. Matching rules are the same as in
+ * {@link RedirectionUriService#validateRedirectionUri(String, String)}.
+ */
+public class RedirectUriMatcher {
+
+    private final List<String> redirectUris;
+    private final Set<String> exact;
+    private final Map<String, List<Map<String, String>>> paramsByBaseUri;
+
+    public RedirectUriMatcher(List<String> redirectUris) {
+        this.redirectUris = Collections.unmodifiableList(new ArrayList<String>(redirectUris));
+        this.exact = new HashSet<String>(redirectUris);
+        this.paramsByBaseUri = new HashMap<String, List<Map<String, String>>>();
+
+        for (String uri : redirectUris) {
+            String baseUri = RedirectionUriService.uriWithoutParams(uri);
+            List<Map<String, String>> paramsList = paramsByBaseUri.get(baseUri);
+            if (paramsList == null) {
+                paramsList = new ArrayList<Map<String, String>>();
+                paramsByBaseUri.put(baseUri, paramsList);
+            }
+            paramsList.add(RedirectionUriService.getParams(uri));
+        }
+    }
+
+    public List<String> getRedirectUris() {
+        return redirectUris;
+    }
+
+    public boolean matches(String redirectionUri) {
+        if (exact.contains(redirectionUri)) { // compare complete uri
+            return true;
+        }
+
+        List<Map<String, String>> paramsList = paramsByBaseUri.get(RedirectionUriService.uriWithoutParams(redirectionUri));
+        if (paramsList == null) {
+            return false;
+        }
+
+        Map<String, String> redirectionUriParams = RedirectionUriService.getParams(redirectionUri);
+        for (Map<String, String> params : paramsList) {
+            if (params.isEmpty() ? redirectionUriParams.isEmpty() : params.equals(redirectionUriParams)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -9,9 +9,6 @@ package org.xdi.oxauth.service;
 import com.google.common.base.Strings;
 import com.google.common.collect.Sets;
 import org.apache.commons.lang.StringUtils;
-import org.codehaus.jettison.json.JSONArray;
-import org.jboss.resteasy.client.ClientRequest;
-import org.jboss.resteasy.client.ClientResponse;
 import org.slf4j.Logger;
 import org.xdi.oxauth.client.QueryStringDecoder;
 import org.xdi.oxauth.model.common.SessionId;
@@ -23,7 +20,7 @@ import org.xdi.oxauth.model.util.Util;
 import javax.ejb.Stateless;
 import javax.inject.Inject;
 import javax.inject.Named;
-import javax.ws.rs.HttpMethod;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -45,57 +42,37 @@ public class RedirectionUriService {
     @Inject
     private ErrorResponseFactory errorResponseFactory;
 
+    @Inject
+    private SectorIdentifierCache sectorIdentifierCache;
+
     public String validateRedirectionUri(String clientIdentifier, String redirectionUri) {
         try {
             Client client = clientService.getClient(clientIdentifier);
 
             if (client != null) {
                 String sectorIdentifierUri = client.getSectorIdentifierUri();
-                String[] redirectUris = client.getRedirectUris();
 
+                RedirectUriMatcher redirectUris = null;
                 if (StringUtils.isNotBlank(sectorIdentifierUri)) {
-                    ClientRequest clientRequest = new ClientRequest(sectorIdentifierUri);
-                    clientRequest.setHttpMethod(HttpMethod.GET);
-
-                    ClientResponse<String> clientResponse = clientRequest.get(String.class);
-                    int status = clientResponse.getStatus();
-
-                    if (status == 200) {
-                        String entity = clientResponse.getEntity(String.class);
-                        JSONArray sectorIdentifierJsonArray = new JSONArray(entity);
-                        redirectUris = new String[sectorIdentifierJsonArray.length()];
-                        for (int i = 0; i < sectorIdentifierJsonArray.length(); i++) {
-                            redirectUris[i] = sectorIdentifierJsonArray.getString(i);
-                        }
-                    } else {
+                    redirectUris = sectorIdentifierCache.get(sectorIdentifierUri);
+                    if (redirectUris == null) {
                         return null;
                     }
+                } else if (client.getRedirectUris() != null) {
+                    redirectUris = new RedirectUriMatcher(Arrays.asList(client.getRedirectUris()));
                 }
 
                 if (StringUtils.isNotBlank(redirectionUri) && redirectUris != null) {
                     log.debug("Validating redirection URI: clientIdentifier = {}, redirectionUri = {}, found = {}",
-                            clientIdentifier, redirectionUri, redirectUris.length);
-
-                    final String redirectUriWithoutParams = uriWithoutParams(redirectionUri);
-
-                    for (String uri : redirectUris) {
-                        log.debug("Comparing {} == {}", uri, redirectionUri);
-                        if (uri.equals(redirectionUri)) { // compare complete uri
-                            return redirectionUri;
-                        }
-
-                        String uriWithoutParams = uriWithoutParams(uri);
-                        final Map<String, String> params = getParams(uri);
+                            clientIdentifier, redirectionUri, redirectUris.getRedirectUris().size());
 
-                        if ((uriWithoutParams.equals(redirectUriWithoutParams) && params.size() == 0 && getParams(redirectionUri).size() == 0) ||
-                                uriWithoutParams.equals(redirectUriWithoutParams) && params.size() > 0 && compareParams(redirectionUri, uri)) {
-                            return redirectionUri;
-                        }
+                    if (redirectUris.matches(redirectionUri)) {
+                        return redirectionUri;
                     }
                 } else {
                     // Accept Request Without redirect_uri when One Registered
-                    if (redirectUris != null && redirectUris.length == 1) {
-                        return redirectUris[0];
+                    if (redirectUris != null && redirectUris.getRedirectUris().size() == 1) {
+                        return redirectUris.getRedirectUris().get(0);
                     }
                 }
             }
@@ -0,0 +1,197 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.codehaus.jettison.json.JSONArray;
+import org.jboss.resteasy.client.ClientRequest;
+import org.jboss.resteasy.client.ClientResponse;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.util.Util;
+import org.xdi.oxauth.util.ServerUtil;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.ws.rs.HttpMethod;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redirect URIs listed in sector identifier documents, by sector_identifier_uri.
+ * <p>
+ * Document is stored when client registration validates it and is refreshed in background after
+ * {@link AppConfiguration#getSectorIdentifierCacheLifetime()} seconds. If refresh fails, last document is served
+ * until it's older than {@link AppConfiguration#getSectorIdentifierCacheMaxStaleness()} seconds, then it's fetched
+ * synchronously again. Concurrent fetches of the same URI are coalesced.
+ */
+@ApplicationScoped
+@Named
+public class SectorIdentifierCache {
+
+    private static final int MAX_SIZE = 10000;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    private Cache<String, Entry> entries;
+
+    private final ConcurrentMap<String, FutureTask<Entry>> fetches = new ConcurrentHashMap<String, FutureTask<Entry>>();
+
+    private ExecutorService refresher;
+
+    @PostConstruct
+    public void init() {
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(MAX_SIZE)
+                .expireAfterWrite(appConfiguration.getSectorIdentifierCacheMaxStaleness(), TimeUnit.SECONDS)
+                .build();
+        this.refresher = ServerUtil.createFixedExecutor(1, "oxauth-sector-identifier-refresher");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns redirect URIs of sector identifier, fetching document only if it's not cached yet.
+     *
+     * @return matcher of redirect URIs or <code>null</code> if document is not available
+     */
+    public RedirectUriMatcher get(String sectorIdentifierUri) {
+        Entry entry = entries.getIfPresent(sectorIdentifierUri);
+        if (entry == null) {
+            entry = fetch(sectorIdentifierUri);
+        } else if (entry.shouldRefresh(appConfiguration.getSectorIdentifierCacheLifetime())) {
+            refreshInBackground(sectorIdentifierUri);
+        }
+
+        return entry != null ? entry.matcher : null;
+    }
+
+    /**
+     * Fetches current document and stores it. Used by client registration which must validate actual document.
+     *
+     * @return matcher of redirect URIs or <code>null</code> if document can't be fetched
+     */
+    public RedirectUriMatcher fetchCurrent(String sectorIdentifierUri) {
+        Entry entry = fetch(sectorIdentifierUri);
+        return entry != null ? entry.matcher : null;
+    }
+
+    private void refreshInBackground(final String sectorIdentifierUri) {
+        if (fetches.containsKey(sectorIdentifierUri)) {
+            return;
+        }
+
+        try {
+            refresher.execute(new Runnable() {
+                @Override
+                public void run() {
+                    fetch(sectorIdentifierUri);
+                }
+            });
+        } catch (Exception e) {
+            log.trace("Failed to schedule sector identifier refresh", e);
+        }
+    }
+
+    private Entry fetch(final String sectorIdentifierUri) {
+        FutureTask<Entry> task = new FutureTask<Entry>(new Callable<Entry>() {
+            @Override
+            public Entry call() {
+                return load(sectorIdentifierUri);
+            }
+        });
+
+        FutureTask<Entry> existing = fetches.putIfAbsent(sectorIdentifierUri, task);
+        if (existing == null) {
+            try {
+                task.run();
+            } finally {
+                fetches.remove(sectorIdentifierUri, task);
+            }
+        } else {
+            task = existing;
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Failed to fetch sector identifier " + sectorIdentifierUri, e.getCause());
+        }
+        return null;
+    }
+
+    private Entry load(String sectorIdentifierUri) {
+        log.debug("Retrieving sector identifier document '{}'", sectorIdentifierUri);
+        try {
+            ClientRequest clientRequest = new ClientRequest(sectorIdentifierUri);
+            clientRequest.setHttpMethod(HttpMethod.GET);
+
+            ClientResponse<String> clientResponse = clientRequest.get(String.class);
+            int status = clientResponse.getStatus();
+
+            if (status == 200) {
+                String entity = clientResponse.getEntity(String.class);
+                JSONArray sectorIdentifierJsonArray = new JSONArray(entity);
+
+                Entry entry = new Entry(new RedirectUriMatcher(Util.asList(sectorIdentifierJsonArray)));
+                entries.put(sectorIdentifierUri, entry);
+                return entry;
+            }
+
+            log.debug("Failed to retrieve sector identifier document '{}', status: {}", sectorIdentifierUri, status);
+        } catch (Exception e) {
+            log.trace(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private static class Entry {
+
+        private final RedirectUriMatcher matcher;
+        private final long createdAt;
+        private volatile long refreshAttemptedAt;
+
+        Entry(RedirectUriMatcher matcher) {
+            this.matcher = matcher;
+            this.createdAt = System.currentTimeMillis();
+        }
+
+        /**
+         * Returns <code>true</code> once entry is older than lifetime, then again each 1/10 of lifetime while refresh
+         * doesn't succeed.
+         */
+        boolean shouldRefresh(int lifetime) {
+            final long now = System.currentTimeMillis();
+            if (now - createdAt <= lifetime * 1000L || now - refreshAttemptedAt <= lifetime * 100L) {
+                return false;
+            }
+            refreshAttemptedAt = now;
+            return true;
+        }
+    }
+
+}
@@ -72,6 +72,8 @@ public class SessionIdService {
     public static final String CONSENT_SESSION_ID_COOKIE_NAME = "consent_session_id";
     public static final String SESSION_CUSTOM_STATE = "session_custom_state";
 
+    private static final String LAST_USED_AT_KEY_SUFFIX = "_last_used_at";
+
     @Inject
     private Logger log;
 
@@ -523,13 +525,17 @@ public class SessionIdService {
             final int unusedLifetime = appConfiguration.getSessionIdUnusedLifetime();
             if ((unusedLifetime > 0 && isPersisted(prompts)) || forceUpdate) {
                 boolean update = modified;
+                boolean touch = false;
 
                 if (updateLastUsedAt) {
                     Date lastUsedAt = new Date();
                     if (sessionId.getLastUsedAt() != null) {
                         long diff = lastUsedAt.getTime() - sessionId.getLastUsedAt().getTime();
-                        if (diff > 500) { // update only if diff is more than 500ms
-                            update = true;
+                        if (diff > getTouchInterval() && mergeLastUsedAt(sessionId)) {
+                            diff = lastUsedAt.getTime() - sessionId.getLastUsedAt().getTime();
+                        }
+                        if (diff > getTouchInterval()) {
+                            touch = true;
                             sessionId.setLastUsedAt(lastUsedAt);
                         }
                     } else {
@@ -550,13 +556,17 @@ public class SessionIdService {
                             log.debug("Session id expired: {}, remove it.", sessionId.getId());
                             remove(sessionId); // expired
                             update = false;
+                            touch = false;
                         }
                     } else {
                         log.error("Session id lifetime configuration is null.");
                     }
                 }
 
-                if (update) {
+                if (touch && !update && sessionId.getState() == SessionIdState.AUTHENTICATED) {
+                    // only activity changed, body of authenticated session expires by absolute lifetime and is kept as is
+                    putLastUsedAtInCache(sessionId);
+                } else if (update || touch) {
                     try {
                         mergeWithRetry(sessionId, 3);
                     } catch (EmptyEntryPersistenceException ex) {
@@ -583,6 +593,45 @@ public class SessionIdService {
         return (SessionId) cacheService.get(null, sessionId);
     }
 
+    /**
+     * @return minimal interval in milliseconds between recorded session activity updates
+     */
+    private long getTouchInterval() {
+        return Math.max(500, TimeUnit.SECONDS.toMillis(appConfiguration.getSessionIdTouchInterval()));
+    }
+
+    /**
+     * Records session activity in small entry next to the session, it slides with session unused lifetime.
+     */
+    private void putLastUsedAtInCache(SessionId sessionId) {
+        final int unusedLifetime = appConfiguration.getSessionIdUnusedLifetime();
+        final int expirationInSeconds = unusedLifetime > 0 ? unusedLifetime : appConfiguration.getSessionIdLifetime();
+        cacheService.put(Integer.toString(expirationInSeconds), lastUsedAtKey(sessionId.getId()), sessionId.getLastUsedAt());
+    }
+
+    /**
+     * Merges activity recorded by {@link #putLastUsedAtInCache(SessionId)} into session. It's read only when time kept
+     * in session body is old enough to matter for idle expiration or touch, so plain session reads are single lookup.
+     *
+     * @return <code>true</code> if more recent activity was found
+     */
+    private boolean mergeLastUsedAt(SessionId sessionId) {
+        if (sessionId.getState() != SessionIdState.AUTHENTICATED || StringUtils.isBlank(sessionId.getId())) {
+            return false;
+        }
+
+        final Object lastUsedAt = cacheService.get(null, lastUsedAtKey(sessionId.getId()));
+        if (lastUsedAt instanceof Date && (sessionId.getLastUsedAt() == null || ((Date) lastUsedAt).after(sessionId.getLastUsedAt()))) {
+            sessionId.setLastUsedAt((Date) lastUsedAt);
+            return true;
+        }
+        return false;
+    }
+
+    private static String lastUsedAtKey(String sessionId) {
+        return sessionId + LAST_USED_AT_KEY_SUFFIX;
+    }
+
     private SessionId mergeWithRetry(final SessionId sessionId, int maxAttempts) {
         EntryPersistenceException lastException = null;
         for (int i = 1; i <= maxAttempts; i++) {
@@ -664,6 +713,7 @@ public class SessionIdService {
     public boolean remove(SessionId sessionId) {
         try {
             cacheService.remove(null, sessionId.getId());
+            cacheService.remove(null, lastUsedAtKey(sessionId.getId()));
         } catch (Exception e) {
             log.error(e.getMessage(), e);
 
@@ -690,7 +740,10 @@ public class SessionIdService {
         final long sessionInterval = TimeUnit.SECONDS.toMillis(appConfiguration.getSessionIdUnusedLifetime());
         final long sessionUnauthenticatedInterval = TimeUnit.SECONDS.toMillis(appConfiguration.getSessionIdUnauthenticatedUnusedLifetime());
 
-        final long timeSinceLastAccess = System.currentTimeMillis() - sessionId.getLastUsedAt().getTime();
+        long timeSinceLastAccess = System.currentTimeMillis() - sessionId.getLastUsedAt().getTime();
+        if (timeSinceLastAccess > sessionInterval && appConfiguration.getSessionIdUnusedLifetime() != -1 && mergeLastUsedAt(sessionId)) {
+            timeSinceLastAccess = System.currentTimeMillis() - sessionId.getLastUsedAt().getTime();
+        }
         if (timeSinceLastAccess > sessionInterval && appConfiguration.getSessionIdUnusedLifetime() != -1) {
             return false;
         }
@@ -0,0 +1,166 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.xdi.oxauth.model.common.User;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.util.ArrayHelper;
+import org.xdi.util.StringHelper;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * In-process cache of users keyed by DN and uid.
+ * <p>
+ * Each entry remembers which attributes were fetched, so a user loaded with a narrow projection
+ * is never returned to a caller which asks for more (or for all) attributes. Entry keeps private copy of user and
+ * each caller gets its own copy, so callers may modify returned user. Every write of user entry must evict it.
+ */
+@ApplicationScoped
+@Named
+public class UserNearCache extends AbstractNearCache<UserNearCache.Entry> {
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    private static String getDnKey(String dn) {
+        return "user_dn_" + StringHelper.toLowerCase(dn);
+    }
+
+    private static String getUidKey(String uid) {
+        return "user_uid_" + StringHelper.toLowerCase(uid);
+    }
+
+    public User getByDn(String dn, String... returnAttributes) {
+        return getUser(getDnKey(dn), returnAttributes);
+    }
+
+    public User getByUid(String uid, String... returnAttributes) {
+        return getUser(getUidKey(uid), returnAttributes);
+    }
+
+    private User getUser(String key, String... returnAttributes) {
+        Entry entry = get(key);
+        if (entry != null && entry.covers(returnAttributes)) {
+            return copy(entry.getUser());
+        }
+        return null;
+    }
+
+    public void put(User user, String... returnAttributes) {
+        if (user == null) {
+            return;
+        }
+
+        Entry entry = new Entry(copy(user), returnAttributes);
+        if (StringHelper.isNotEmpty(user.getDn())) {
+            putEntry(getDnKey(user.getDn()), entry);
+        }
+        if (StringHelper.isNotEmpty(user.getUserId())) {
+            putEntry(getUidKey(user.getUserId()), entry);
+        }
+    }
+
+    private void putEntry(String key, Entry entry) {
+        Entry existing = get(key);
+        if (existing != null && existing.getAttributes() == null && entry.getAttributes() != null) {
+            // don't replace full entry with narrower projection
+            return;
+        }
+        super.put(key, entry);
+    }
+
+    public void invalidate(User user) {
+        if (user == null) {
+            return;
+        }
+
+        String uid = user.getUserId();
+        if (StringHelper.isNotEmpty(user.getDn())) {
+            String dnKey = getDnKey(user.getDn());
+            Entry cached = get(dnKey);
+            if (StringHelper.isEmpty(uid) && cached != null) {
+                uid = cached.getUser().getUserId();
+            }
+            invalidate(dnKey);
+        }
+        if (StringHelper.isNotEmpty(uid)) {
+            invalidate(getUidKey(uid));
+        }
+    }
+
+    private static User copy(User user) {
+        return (User) SerializationUtils.clone(user);
+    }
+
+    @Override
+    protected String getRegion() {
+        return "user";
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return appConfiguration.getUserNearCacheEnabled();
+    }
+
+    @Override
+    protected int getSize() {
+        return appConfiguration.getUserNearCacheSize();
+    }
+
+    @Override
+    protected int getLifetime() {
+        return appConfiguration.getUserNearCacheLifetime();
+    }
+
+    public static class Entry {
+
+        private final User user;
+
+        /**
+         * Fetched attributes in lower case, <code>null</code> if all attributes were fetched.
+         */
+        private final Set<String> attributes;
+
+        public Entry(User user, String... returnAttributes) {
+            this.user = user;
+            this.attributes = ArrayHelper.isNotEmpty(returnAttributes) ? toLowerCase(returnAttributes) : null;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public Set<String> getAttributes() {
+            return attributes;
+        }
+
+        public boolean covers(String... returnAttributes) {
+            if (attributes == null) {
+                return true;
+            }
+            if (!ArrayHelper.isNotEmpty(returnAttributes)) {
+                return false;
+            }
+            return attributes.containsAll(toLowerCase(returnAttributes));
+        }
+
+        private static Set<String> toLowerCase(String... values) {
+            Set<String> result = new HashSet<String>();
+            for (String value : values) {
+                result.add(StringHelper.toLowerCase(value));
+            }
+            return result;
+        }
+    }
+
+}
@@ -50,6 +50,9 @@ public class UserService {
     @Inject
     private InumService inumService;
 
+    @Inject
+    private UserNearCache userNearCache;
+
     @Inject
     private StaticConfiguration staticConfiguration;
 
@@ -66,7 +69,15 @@ public class UserService {
         if (Util.isNullOrEmpty(dn)) {
             return null;
         }
-        return ldapEntryManager.find(User.class, dn, returnAttributes);
+
+        User user = userNearCache.getByDn(dn, returnAttributes);
+        if (user == null) {
+            user = ldapEntryManager.find(User.class, dn, returnAttributes);
+            userNearCache.put(user, returnAttributes);
+        } else {
+            log.trace("Get user from cache by Dn '{}'", dn);
+        }
+        return user;
     }
 
 	public User getUserByInum(String inum, String... returnAttributes) {
@@ -90,13 +101,21 @@ public class UserService {
 			return null;
 		}
 
+		User cachedUser = userNearCache.getByUid(userId, returnAttributes);
+		if (cachedUser != null) {
+			log.trace("Get user from cache by uid '{}'", userId);
+			return cachedUser;
+		}
+
 		Filter userUidFilter = Filter.createEqualityFilter("uid", userId);
 
 		List<User> entries = ldapEntryManager.findEntries(staticConfiguration.getBaseDn().getPeople(), User.class, userUidFilter, returnAttributes);
 		log.debug("Found {} entries for user id = {}", entries.size(), userId);
 
 		if (entries.size() > 0) {
-			return entries.get(0);
+			User user = entries.get(0);
+			userNearCache.put(user, returnAttributes);
+			return user;
 		} else {
 			return null;
 		}
@@ -133,7 +152,18 @@ public class UserService {
 	}
 
     public User updateUser(User user) {
-		return ldapEntryManager.merge(user);
+		try {
+			return ldapEntryManager.merge(user);
+		} finally {
+			userNearCache.invalidate(user);
+		}
+	}
+
+    /**
+     * Evicts cached user, must be called after user entry is changed without {@link #updateUser(User)}.
+     */
+    public void invalidateUser(User user) {
+		userNearCache.invalidate(user);
 	}
 
     public User addDefaultUser(String uid) {
@@ -155,6 +185,7 @@ public class UserService {
     	}
     	
 		ldapEntryManager.persist(user);
+		userNearCache.invalidate(user);
 		
 		return getUser(uid);
 	}
@@ -184,6 +215,7 @@ public class UserService {
     	}
 
     	ldapEntryManager.persist(user);
+		userNearCache.invalidate(user);
 
 		return getUserByDn(user.getDn());
 	}
@@ -375,7 +407,7 @@ public class UserService {
             persistentJwts[nTokens - 1] = longLivedToken.toString();
 
             user.setOxAuthPersistentJwt(persistentJwts);
-            ldapEntryManager.merge(user);
+            updateUser(user);
             succeed = true;
         }
 
@@ -0,0 +1,7 @@
+package org.xdi.oxauth.service.cdi.event;
+
+/**
+ * Fired periodically to flush pending client access time updates.
+ */
+public class ClientAccessTimeEvent {
+}
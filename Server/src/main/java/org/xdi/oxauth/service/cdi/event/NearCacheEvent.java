@@ -0,0 +1,8 @@
+package org.xdi.oxauth.service.cdi.event;
+
+/**
+ * Fired periodically to verify local near cache entries against versions published by other cluster nodes and to
+ * pull revoked grants.
+ */
+public class NearCacheEvent {
+}
@@ -6,11 +6,10 @@
 
 package org.xdi.oxauth.service.fido.u2f;
 
-import org.gluu.persist.ldap.impl.LdapEntryManager;
-import org.gluu.search.filter.Filter;
 import org.slf4j.Logger;
 import org.xdi.oxauth.crypto.random.ChallengeGenerator;
 import org.xdi.oxauth.exception.fido.u2f.DeviceCompromisedException;
+import org.xdi.oxauth.exception.fido.u2f.InvalidDeviceCounterException;
 import org.xdi.oxauth.exception.fido.u2f.InvalidKeyHandleDeviceException;
 import org.xdi.oxauth.exception.fido.u2f.NoEligableDevicesException;
 import org.xdi.oxauth.model.config.StaticConfiguration;
@@ -45,9 +44,6 @@ public class AuthenticationService extends RequestService {
     @Inject
     private Logger log;
 
-    @Inject
-    private LdapEntryManager ldapEntryManager;
-
     @Inject
     private ApplicationService applicationService;
 
@@ -148,7 +144,13 @@ public class AuthenticationService extends RequestService {
         rawAuthenticationService.checkSignature(request.getAppId(), clientData, rawAuthenticateResponse,
                 Base64Util.base64urldecode(usedDeviceRegistration.getDeviceRegistrationConfiguration().getPublicKey()));
         rawAuthenticateResponse.checkUserPresence();
-        usedDeviceRegistration.checkAndUpdateCounter(rawAuthenticateResponse.getCounter());
+        try {
+            usedDeviceRegistration.checkAndUpdateCounter(rawAuthenticateResponse.getCounter());
+        } catch (InvalidDeviceCounterException ex) {
+            // Counter might be stale on this node, next attempt must load it from LDAP
+            deviceRegistrationService.invalidateDeviceRegistration(usedDeviceRegistration);
+            throw ex;
+        }
 
         usedDeviceRegistration.setLastAccessTime(new Date());
 
@@ -186,13 +188,13 @@ public class AuthenticationService extends RequestService {
         AuthenticateRequestMessageLdap authenticateRequestMessageLdap = new AuthenticateRequestMessageLdap(getDnForAuthenticateRequestMessage(authenticateRequestMessageId),
                 authenticateRequestMessageId, now, sessionId, userInum, requestMessage);
 
-        ldapEntryManager.persist(authenticateRequestMessageLdap);
+        persistRequestMessage(authenticateRequestMessageLdap);
     }
 
     public AuthenticateRequestMessage getAuthenticationRequestMessage(String oxId) {
         String requestDn = getDnForAuthenticateRequestMessage(oxId);
 
-        AuthenticateRequestMessageLdap authenticateRequestMessageLdap = ldapEntryManager.find(AuthenticateRequestMessageLdap.class, requestDn);
+        AuthenticateRequestMessageLdap authenticateRequestMessageLdap = getRequestMessageStore().getByDn(AuthenticateRequestMessageLdap.class, requestDn);
         if (authenticateRequestMessageLdap == null) {
             return null;
         }
@@ -202,15 +204,8 @@ public class AuthenticationService extends RequestService {
 
     public AuthenticateRequestMessageLdap getAuthenticationRequestMessageByRequestId(String requestId) {
         String baseDn = getDnForAuthenticateRequestMessage(null);
-        Filter requestIdFilter = Filter.createEqualityFilter("oxRequestId", requestId);
-
-        List<AuthenticateRequestMessageLdap> authenticateRequestMessagesLdap = ldapEntryManager.findEntries(baseDn, AuthenticateRequestMessageLdap.class,
-                requestIdFilter);
-        if ((authenticateRequestMessagesLdap == null) || authenticateRequestMessagesLdap.isEmpty()) {
-            return null;
-        }
 
-        return authenticateRequestMessagesLdap.get(0);
+        return getRequestMessageStore().getByRequestId(AuthenticateRequestMessageLdap.class, baseDn, requestId);
     }
 
     public void removeAuthenticationRequestMessage(AuthenticateRequestMessageLdap authenticateRequestMessageLdap) {
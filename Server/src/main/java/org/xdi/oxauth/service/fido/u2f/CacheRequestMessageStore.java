@@ -0,0 +1,71 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.fido.u2f;
+
+import org.xdi.oxauth.model.fido.u2f.RequestMessageLdap;
+import org.xdi.service.CacheService;
+
+import javax.ejb.Stateless;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Keeps U2F request messages in shared cache, entries expire after {@link RequestService#REQUEST_MESSAGE_LIFETIME}
+ * seconds. Message is stored under its DN, request id entry points to DN.
+ */
+@Stateless
+@Named
+public class CacheRequestMessageStore implements RequestMessageStore {
+
+    private static final String KEY_PREFIX = "u2f_request_";
+
+    @Inject
+    private CacheService cacheService;
+
+    private static String dnKey(String dn) {
+        return KEY_PREFIX + InMemoryRequestMessageStore.dnKey(dn);
+    }
+
+    private static String requestIdKey(String baseDn, String requestId) {
+        return KEY_PREFIX + "id_" + InMemoryRequestMessageStore.requestIdKey(baseDn, requestId);
+    }
+
+    @Override
+    public void persist(RequestMessageLdap requestMessage) {
+        final String expiration = Integer.toString(RequestService.REQUEST_MESSAGE_LIFETIME);
+        cacheService.put(expiration, dnKey(requestMessage.getDn()), requestMessage);
+        if (requestMessage.getRequestId() != null) {
+            cacheService.put(expiration, requestIdKey(InMemoryRequestMessageStore.baseDn(requestMessage.getDn()), requestMessage.getRequestId()), requestMessage.getDn());
+        }
+    }
+
+    @Override
+    public <T extends RequestMessageLdap> T getByDn(Class<T> type, String dn) {
+        Object requestMessage = cacheService.get(null, dnKey(dn));
+        if (!type.isInstance(requestMessage)) {
+            return null;
+        }
+
+        T result = type.cast(requestMessage);
+        result.setDn(dn); // DN is not part of serialized form
+        return result;
+    }
+
+    @Override
+    public <T extends RequestMessageLdap> T getByRequestId(Class<T> type, String baseDn, String requestId) {
+        Object dn = cacheService.get(null, requestIdKey(baseDn, requestId));
+        return dn instanceof String ? getByDn(type, (String) dn) : null;
+    }
+
+    @Override
+    public void remove(RequestMessageLdap requestMessage) {
+        cacheService.remove(null, dnKey(requestMessage.getDn()));
+        if (requestMessage.getRequestId() != null) {
+            cacheService.remove(null, requestIdKey(InMemoryRequestMessageStore.baseDn(requestMessage.getDn()), requestMessage.getRequestId()));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.fido.u2f;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.SerializationUtils;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.fido.u2f.DeviceRegistration;
+import org.xdi.oxauth.service.AbstractNearCache;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process cache of U2F device registrations by (user inum, application) and by (application, key handle hash).
+ * <p>
+ * Only registrations loaded with all attributes are cached. Registrations are copied on put and on get, so counter
+ * checks of concurrent authentications never touch cached objects. Any change must be written through
+ * {@link DeviceRegistrationService}, which evicts entries on all nodes. Counter updates are also written through to
+ * entries cached on node which handled authentication.
+ */
+@ApplicationScoped
+@Named
+public class DeviceRegistrationNearCache extends AbstractNearCache<List<DeviceRegistration>> {
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    private static String getUserKey(String userInum, String appId) {
+        return "u2f_user_" + userInum + "_" + appId;
+    }
+
+    private static String getKeyHandleKey(String appId, String keyHandle) {
+        return "u2f_key_handle_" + DigestUtils.sha256Hex(appId + "_" + keyHandle);
+    }
+
+    public List<DeviceRegistration> getByUser(String userInum, String appId) {
+        return copy(get(getUserKey(userInum, appId)));
+    }
+
+    public void putByUser(String userInum, String appId, List<DeviceRegistration> deviceRegistrations) {
+        put(getUserKey(userInum, appId), copy(deviceRegistrations));
+    }
+
+    public List<DeviceRegistration> getByKeyHandle(String appId, String keyHandle) {
+        return copy(get(getKeyHandleKey(appId, keyHandle)));
+    }
+
+    public void putByKeyHandle(String appId, String keyHandle, List<DeviceRegistration> deviceRegistrations) {
+        put(getKeyHandleKey(appId, keyHandle), copy(deviceRegistrations));
+    }
+
+    /**
+     * Evicts entries which contain registration on all nodes.
+     */
+    public void invalidate(DeviceRegistration deviceRegistration) {
+        final String appId = deviceRegistration.getApplication();
+        final String userInum = getUserInum(deviceRegistration.getDn());
+        if (userInum != null) {
+            invalidate(getUserKey(userInum, appId));
+        }
+        if (deviceRegistration.getKeyHandle() != null) {
+            invalidate(getKeyHandleKey(appId, deviceRegistration.getKeyHandle()));
+        }
+    }
+
+    /**
+     * Evicts entries which contain registration on all nodes and writes through updated registration to entries cached
+     * on this node, so next authentication with same device on this node doesn't reload it.
+     */
+    public void update(DeviceRegistration deviceRegistration) {
+        final String appId = deviceRegistration.getApplication();
+        final String userInum = getUserInum(deviceRegistration.getDn());
+        final String userKey = userInum != null ? getUserKey(userInum, appId) : null;
+        final String keyHandleKey = deviceRegistration.getKeyHandle() != null ? getKeyHandleKey(appId, deviceRegistration.getKeyHandle()) : null;
+
+        final List<DeviceRegistration> byUser = userKey != null ? get(userKey) : null;
+        final List<DeviceRegistration> byKeyHandle = keyHandleKey != null ? get(keyHandleKey) : null;
+
+        invalidate(deviceRegistration);
+
+        if (byUser != null) {
+            put(userKey, replace(byUser, deviceRegistration));
+        }
+        if (byKeyHandle != null) {
+            put(keyHandleKey, replace(byKeyHandle, deviceRegistration));
+        }
+    }
+
+    private static List<DeviceRegistration> replace(List<DeviceRegistration> deviceRegistrations, DeviceRegistration updated) {
+        final List<DeviceRegistration> result = new ArrayList<DeviceRegistration>(deviceRegistrations.size());
+        for (DeviceRegistration deviceRegistration : deviceRegistrations) {
+            if (updated.getDn() != null && updated.getDn().equalsIgnoreCase(deviceRegistration.getDn())) {
+                result.add((DeviceRegistration) SerializationUtils.clone(updated));
+            } else {
+                // Cached registrations are never handed out, they are copied on get
+                result.add(deviceRegistration);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Extracts user inum from "oxId=...,ou=fido,inum=...,ou=people,..." device DN.
+     */
+    private static String getUserInum(String deviceDn) {
+        if (deviceDn == null) {
+            return null;
+        }
+
+        for (String rdn : deviceDn.split(",")) {
+            if (rdn.regionMatches(true, 0, "inum=", 0, 5)) {
+                return rdn.substring(5);
+            }
+        }
+        return null;
+    }
+
+    private static List<DeviceRegistration> copy(List<DeviceRegistration> deviceRegistrations) {
+        if (deviceRegistrations == null) {
+            return null;
+        }
+
+        final List<DeviceRegistration> result = new ArrayList<DeviceRegistration>(deviceRegistrations.size());
+        for (DeviceRegistration deviceRegistration : deviceRegistrations) {
+            result.add((DeviceRegistration) SerializationUtils.clone(deviceRegistration));
+        }
+        return result;
+    }
+
+    @Override
+    protected String getRegion() {
+        return "u2f_device";
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return appConfiguration.getU2fDeviceNearCacheEnabled();
+    }
+
+    @Override
+    protected int getSize() {
+        return appConfiguration.getU2fDeviceNearCacheSize();
+    }
+
+    @Override
+    protected int getLifetime() {
+        return appConfiguration.getU2fDeviceNearCacheLifetime();
+    }
+
+}
@@ -25,6 +25,7 @@ import org.xdi.oxauth.model.fido.u2f.DeviceRegistration;
 import org.xdi.oxauth.model.fido.u2f.DeviceRegistrationStatus;
 import org.xdi.oxauth.model.util.Base64Util;
 import org.xdi.oxauth.service.UserService;
+import org.xdi.util.ArrayHelper;
 import org.xdi.util.StringHelper;
 
 /**
@@ -48,6 +49,9 @@ public class DeviceRegistrationService {
 	@Inject
 	private StaticConfiguration staticConfiguration;
 
+	@Inject
+	private DeviceRegistrationNearCache deviceRegistrationNearCache;
+
 	public void addBranch(final String userInum) {
 		SimpleBranch branch = new SimpleBranch();
 		branch.setOrganizationalUnitName("fido");
@@ -76,12 +80,25 @@ public class DeviceRegistrationService {
 	}
 
 	public List<DeviceRegistration> findUserDeviceRegistrations(String userInum, String appId, String ... returnAttributes) {
+		boolean allAttributes = !ArrayHelper.isNotEmpty(returnAttributes);
+		if (allAttributes) {
+			List<DeviceRegistration> cached = deviceRegistrationNearCache.getByUser(userInum, appId);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
 		prepareBranch(userInum);
 
 		String baseDnForU2fDevices = getBaseDnForU2fUserDevices(userInum);
 		Filter appIdFilter = Filter.createEqualityFilter("oxApplication", appId);
 
-		return ldapEntryManager.findEntries(baseDnForU2fDevices, DeviceRegistration.class, appIdFilter, returnAttributes);
+		List<DeviceRegistration> deviceRegistrations = ldapEntryManager.findEntries(baseDnForU2fDevices, DeviceRegistration.class, appIdFilter, returnAttributes);
+		if (allAttributes && deviceRegistrations != null) {
+			deviceRegistrationNearCache.putByUser(userInum, appId, deviceRegistrations);
+		}
+
+		return deviceRegistrations;
 	}
 
 	public List<DeviceRegistration> findDeviceRegistrationsByKeyHandle(String appId, String keyHandle, String ... returnAttributes) {
@@ -89,6 +106,11 @@ public class DeviceRegistrationService {
 			return new ArrayList<DeviceRegistration>(0);
 		}
 
+		List<DeviceRegistration> cached = deviceRegistrationNearCache.getByKeyHandle(appId, keyHandle);
+		if (cached != null) {
+			return cached;
+		}
+
 		byte[] keyHandleDecoded = Base64Util.base64urldecode(keyHandle);
 
 		String baseDn = userService.getDnForUser(null);
@@ -100,7 +122,13 @@ public class DeviceRegistrationService {
 
 		Filter filter = Filter.createANDFilter(deviceObjectClassFilter, deviceHashCodeFilter, appIdFilter, deviceKeyHandleFilter);
 
-		return ldapEntryManager.findEntries(baseDn, DeviceRegistration.class, filter, returnAttributes);
+		// Load all attributes, so result can be cached and served to callers which need any of them
+		List<DeviceRegistration> deviceRegistrations = ldapEntryManager.findEntries(baseDn, DeviceRegistration.class, filter);
+		if (deviceRegistrations != null) {
+			deviceRegistrationNearCache.putByKeyHandle(appId, keyHandle, deviceRegistrations);
+		}
+
+		return deviceRegistrations;
 	}
 
 	public DeviceRegistration findOneStepUserDeviceRegistration(String deviceId, String... returnAttributes) {
@@ -113,6 +141,7 @@ public class DeviceRegistrationService {
 		prepareBranch(userInum);
 
 		ldapEntryManager.persist(deviceRegistration);
+		deviceRegistrationNearCache.invalidate(deviceRegistration);
 	}
 
 	public boolean attachUserDeviceRegistration(String userInum, String oneStepDeviceId) {
@@ -144,16 +173,24 @@ public class DeviceRegistrationService {
 		prepareBranch(userInum);
 
 		ldapEntryManager.merge(deviceRegistration);
+		// Counter changes on every authentication, other nodes must reload it
+		deviceRegistrationNearCache.update(deviceRegistration);
+	}
+
+	public void invalidateDeviceRegistration(DeviceRegistration deviceRegistration) {
+		deviceRegistrationNearCache.invalidate(deviceRegistration);
 	}
 
 	public void disableUserDeviceRegistration(DeviceRegistration deviceRegistration) {
 		deviceRegistration.setStatus(DeviceRegistrationStatus.COMPROMISED);
 
 		ldapEntryManager.merge(deviceRegistration);
+		deviceRegistrationNearCache.invalidate(deviceRegistration);
 	}
 
 	public void removeUserDeviceRegistration(DeviceRegistration deviceRegistration) {
 		ldapEntryManager.remove(deviceRegistration);
+		deviceRegistrationNearCache.invalidate(deviceRegistration);
 	}
 
 	public List<DeviceRegistration> getExpiredDeviceRegistrations(BatchOperation<DeviceRegistration> batchOperation, Date expirationDate, String[] returnAttributes, int sizeLimit, int chunkSize) {
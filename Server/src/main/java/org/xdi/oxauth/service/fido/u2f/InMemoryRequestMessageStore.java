@@ -0,0 +1,77 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.fido.u2f;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang.StringUtils;
+import org.xdi.oxauth.model.fido.u2f.RequestMessageLdap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps U2F request messages in memory of this node, entries expire after {@link RequestService#REQUEST_MESSAGE_LIFETIME}
+ * seconds. Suitable for single node or sticky sessions only.
+ */
+@ApplicationScoped
+@Named
+public class InMemoryRequestMessageStore implements RequestMessageStore {
+
+    private static final int MAX_SIZE = 100000;
+
+    private final Cache<String, RequestMessageLdap> byDn = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(RequestService.REQUEST_MESSAGE_LIFETIME, TimeUnit.SECONDS)
+            .build();
+
+    private final Cache<String, String> dnByRequestId = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(RequestService.REQUEST_MESSAGE_LIFETIME, TimeUnit.SECONDS)
+            .build();
+
+    static String requestIdKey(String baseDn, String requestId) {
+        return StringUtils.lowerCase(baseDn) + "_" + requestId;
+    }
+
+    static String dnKey(String dn) {
+        return StringUtils.lowerCase(dn);
+    }
+
+    static String baseDn(String dn) {
+        return StringUtils.substringAfter(dn, ",");
+    }
+
+    @Override
+    public void persist(RequestMessageLdap requestMessage) {
+        byDn.put(dnKey(requestMessage.getDn()), requestMessage);
+        if (requestMessage.getRequestId() != null) {
+            dnByRequestId.put(requestIdKey(baseDn(requestMessage.getDn()), requestMessage.getRequestId()), requestMessage.getDn());
+        }
+    }
+
+    @Override
+    public <T extends RequestMessageLdap> T getByDn(Class<T> type, String dn) {
+        RequestMessageLdap requestMessage = byDn.getIfPresent(dnKey(dn));
+        return type.isInstance(requestMessage) ? type.cast(requestMessage) : null;
+    }
+
+    @Override
+    public <T extends RequestMessageLdap> T getByRequestId(Class<T> type, String baseDn, String requestId) {
+        String dn = dnByRequestId.getIfPresent(requestIdKey(baseDn, requestId));
+        return dn != null ? getByDn(type, dn) : null;
+    }
+
+    @Override
+    public void remove(RequestMessageLdap requestMessage) {
+        byDn.invalidate(dnKey(requestMessage.getDn()));
+        if (requestMessage.getRequestId() != null) {
+            dnByRequestId.invalidate(requestIdKey(baseDn(requestMessage.getDn()), requestMessage.getRequestId()));
+        }
+    }
+}
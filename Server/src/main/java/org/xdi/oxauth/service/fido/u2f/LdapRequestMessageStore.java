@@ -0,0 +1,54 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.fido.u2f;
+
+import org.gluu.persist.ldap.impl.LdapEntryManager;
+import org.gluu.search.filter.Filter;
+import org.xdi.oxauth.model.fido.u2f.RequestMessageLdap;
+
+import javax.ejb.Stateless;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.List;
+
+/**
+ * Keeps U2F request messages in LDAP. Expired entries are removed by {@link org.xdi.oxauth.service.CleanerTimer}.
+ */
+@Stateless
+@Named
+public class LdapRequestMessageStore implements RequestMessageStore {
+
+    @Inject
+    private LdapEntryManager ldapEntryManager;
+
+    @Override
+    public void persist(RequestMessageLdap requestMessage) {
+        ldapEntryManager.persist(requestMessage);
+    }
+
+    @Override
+    public <T extends RequestMessageLdap> T getByDn(Class<T> type, String dn) {
+        return ldapEntryManager.find(type, dn);
+    }
+
+    @Override
+    public <T extends RequestMessageLdap> T getByRequestId(Class<T> type, String baseDn, String requestId) {
+        Filter requestIdFilter = Filter.createEqualityFilter("oxRequestId", requestId);
+
+        List<T> requestMessages = ldapEntryManager.findEntries(baseDn, type, requestIdFilter);
+        if ((requestMessages == null) || requestMessages.isEmpty()) {
+            return null;
+        }
+
+        return requestMessages.get(0);
+    }
+
+    @Override
+    public void remove(RequestMessageLdap requestMessage) {
+        ldapEntryManager.remove(requestMessage);
+    }
+}
@@ -6,8 +6,6 @@
 
 package org.xdi.oxauth.service.fido.u2f;
 
-import org.gluu.persist.ldap.impl.LdapEntryManager;
-import org.gluu.search.filter.Filter;
 import org.slf4j.Logger;
 import org.xdi.oxauth.crypto.random.ChallengeGenerator;
 import org.xdi.oxauth.exception.fido.u2f.DeviceCompromisedException;
@@ -39,9 +37,6 @@ public class RegistrationService extends RequestService {
     @Inject
     private Logger log;
 
-    @Inject
-    private LdapEntryManager ldapEntryManager;
-
     @Inject
     private ApplicationService applicationService;
 
@@ -176,13 +171,13 @@ public class RegistrationService extends RequestService {
         RequestMessageLdap registerRequestMessageLdap = new RegisterRequestMessageLdap(getDnForRegisterRequestMessage(registerRequestMessageId),
                 registerRequestMessageId, now, sessionId, userInum, requestMessage);
 
-        ldapEntryManager.persist(registerRequestMessageLdap);
+        persistRequestMessage(registerRequestMessageLdap);
     }
 
     public RegisterRequestMessage getRegisterRequestMessage(String oxId) {
         String requestDn = getDnForRegisterRequestMessage(oxId);
 
-        RegisterRequestMessageLdap registerRequestMessageLdap = ldapEntryManager.find(RegisterRequestMessageLdap.class, requestDn);
+        RegisterRequestMessageLdap registerRequestMessageLdap = getRequestMessageStore().getByDn(RegisterRequestMessageLdap.class, requestDn);
         if (registerRequestMessageLdap == null) {
             return null;
         }
@@ -192,15 +187,8 @@ public class RegistrationService extends RequestService {
 
     public RegisterRequestMessageLdap getRegisterRequestMessageByRequestId(String requestId) {
         String baseDn = getDnForRegisterRequestMessage(null);
-        Filter requestIdFilter = Filter.createEqualityFilter("oxRequestId", requestId);
-
-        List<RegisterRequestMessageLdap> registerRequestMessagesLdap = ldapEntryManager.findEntries(baseDn, RegisterRequestMessageLdap.class,
-                requestIdFilter);
-        if ((registerRequestMessagesLdap == null) || registerRequestMessagesLdap.isEmpty()) {
-            return null;
-        }
 
-        return registerRequestMessagesLdap.get(0);
+        return getRequestMessageStore().getByRequestId(RegisterRequestMessageLdap.class, baseDn, requestId);
     }
 
     public void removeRegisterRequestMessage(RequestMessageLdap registerRequestMessageLdap) {
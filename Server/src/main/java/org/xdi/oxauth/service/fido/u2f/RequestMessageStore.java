@@ -0,0 +1,27 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.fido.u2f;
+
+import org.xdi.oxauth.model.fido.u2f.RequestMessageLdap;
+
+/**
+ * Storage of U2F request messages used by {@link RequestService}. Messages live for
+ * {@link RequestService#REQUEST_MESSAGE_LIFETIME} seconds.
+ * <p>
+ * Messages are addressed by DN, by request id they are looked up under base DN of their kind (authentication or
+ * registration requests).
+ */
+public interface RequestMessageStore {
+
+    void persist(RequestMessageLdap requestMessage);
+
+    <T extends RequestMessageLdap> T getByDn(Class<T> type, String dn);
+
+    <T extends RequestMessageLdap> T getByRequestId(Class<T> type, String baseDn, String requestId);
+
+    void remove(RequestMessageLdap requestMessage);
+}
@@ -18,7 +18,9 @@ import org.gluu.persist.model.BatchOperation;
 import org.gluu.persist.model.SearchScope;
 import org.gluu.search.filter.Filter;
 import org.slf4j.Logger;
+import org.xdi.oxauth.model.common.U2fRequestStoreType;
 import org.xdi.oxauth.model.config.StaticConfiguration;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
 import org.xdi.oxauth.model.fido.u2f.RequestMessageLdap;
 
 /**
@@ -30,6 +32,11 @@ import org.xdi.oxauth.model.fido.u2f.RequestMessageLdap;
 @Named("u2fRequestService")
 public class RequestService {
 
+	/**
+	 * Lifetime of U2F request messages in seconds
+	 */
+	public static final int REQUEST_MESSAGE_LIFETIME = 90;
+
 	@Inject
 	private Logger log;
 
@@ -39,6 +46,33 @@ public class RequestService {
 	@Inject
 	private StaticConfiguration staticConfiguration;
 
+	@Inject
+	private AppConfiguration appConfiguration;
+
+	@Inject
+	private LdapRequestMessageStore ldapRequestMessageStore;
+
+	@Inject
+	private InMemoryRequestMessageStore inMemoryRequestMessageStore;
+
+	@Inject
+	private CacheRequestMessageStore cacheRequestMessageStore;
+
+	protected RequestMessageStore getRequestMessageStore() {
+		U2fRequestStoreType storeType = appConfiguration.getU2fRequestStoreType();
+		if (storeType == U2fRequestStoreType.LDAP) {
+			return ldapRequestMessageStore;
+		} else if (storeType == U2fRequestStoreType.IN_MEMORY) {
+			return inMemoryRequestMessageStore;
+		}
+
+		return cacheRequestMessageStore;
+	}
+
+	public void persistRequestMessage(RequestMessageLdap requestMessageLdap) {
+		getRequestMessageStore().persist(requestMessageLdap);
+	}
+
 	public List<RequestMessageLdap> getExpiredRequestMessages(BatchOperation<RequestMessageLdap> batchOperation, Date expirationDate, String[] returnAttributes, int sizeLimit, int chunkSize) {
 		final String u2fBaseDn = staticConfiguration.getBaseDn().getU2fBase(); // ou=u2f,o=@!1111,o=gluu
 		Filter expirationFilter = Filter.createLessOrEqualFilter("creationDate", ldapEntryManager.encodeGeneralizedTime(expirationDate));
@@ -48,8 +82,15 @@ public class RequestService {
 		return requestMessageLdap;
 	}
 
+	/**
+	 * Removes expired request message found by {@link #getExpiredRequestMessages}, it's always LDAP entry
+	 */
+	public void removeExpiredRequestMessage(RequestMessageLdap requestMessageLdap) {
+		ldapRequestMessageStore.remove(requestMessageLdap);
+	}
+
 	public void removeRequestMessage(RequestMessageLdap requestMessageLdap) {
-		ldapEntryManager.remove(requestMessageLdap);
+		getRequestMessageStore().remove(requestMessageLdap);
 	}
 
 }
@@ -0,0 +1,172 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.common.TokenIndexShard;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.service.CacheService;
+
+/**
+ * Token index kept in shared cache. Index is split into {@link AppConfiguration#getTokenIndexShards()} shards by
+ * token hash, so adding or removing a member rewrites only one small shard instead of the whole index. Expired members
+ * are dropped on each shard write and shard lives in cache as long as its longest living member.
+ * <p>
+ * Cache doesn't provide atomic operations, so shard update is read-modify-write. Updates of the same shard are
+ * serialized within node, concurrent updates from different nodes may still overwrite each other, but only within one
+ * shard. So index is lossy and must not be the only source for revocation.
+ * <p>
+ * {@link #get(String)} reads every shard, it serves bulk operations (revocation by client or session), not per
+ * request lookups. Shard of member depends on shard count, so when {@link AppConfiguration#getTokenIndexShards()}
+ * changes, set {@link AppConfiguration#getTokenIndexPreviousShards()} to the old count until tokens indexed before
+ * the change expire. Meanwhile members are looked up and removed in both layouts.
+ */
+@ApplicationScoped
+@Named
+public class CacheTokenIndex implements TokenIndex {
+
+    private static final Object[] LOCKS = new Object[64];
+
+    static {
+        for (int i = 0; i < LOCKS.length; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private CacheService cacheService;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @PostConstruct
+    public void init() {
+        final int previousShardCount = appConfiguration.getTokenIndexPreviousShards();
+        if (previousShardCount > 0 && previousShardCount != getShardCount()) {
+            log.warn("Token index shard count changed from {} to {}, both layouts are read until tokenIndexPreviousShards is reset",
+                    previousShardCount, getShardCount());
+        }
+    }
+
+    @Override
+    public void add(String indexKey, String tokenHash, Date expirationDate) {
+        final long expiration = expirationDate != null ? expirationDate.getTime() : Long.MAX_VALUE;
+        final String shardKey = TokenIndexShard.cacheKey(indexKey, shard(tokenHash, getShardCount()));
+
+        synchronized (lock(shardKey)) {
+            final TokenIndexShard shard = getShard(shardKey);
+            shard.removeExpired(System.currentTimeMillis());
+            shard.getMembers().put(tokenHash, expiration);
+            putShard(shardKey, shard);
+        }
+    }
+
+    @Override
+    public void remove(String indexKey, String tokenHash) {
+        final int shard = shard(tokenHash, getShardCount());
+        removeFromShard(TokenIndexShard.cacheKey(indexKey, shard), tokenHash);
+
+        final int previousShardCount = appConfiguration.getTokenIndexPreviousShards();
+        if (previousShardCount > 0) {
+            final int previousShard = shard(tokenHash, previousShardCount);
+            if (previousShard != shard) {
+                removeFromShard(TokenIndexShard.cacheKey(indexKey, previousShard), tokenHash);
+            }
+        }
+    }
+
+    private void removeFromShard(String shardKey, String tokenHash) {
+        synchronized (lock(shardKey)) {
+            final TokenIndexShard shard = getShard(shardKey);
+            if (shard.getMembers().remove(tokenHash) == null) {
+                return;
+            }
+
+            shard.removeExpired(System.currentTimeMillis());
+            if (shard.getMembers().isEmpty()) {
+                cacheService.remove(null, shardKey);
+            } else {
+                putShard(shardKey, shard);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> get(String indexKey) {
+        final Set<String> result = new HashSet<String>();
+        final long now = System.currentTimeMillis();
+
+        final int readShardCount = getReadShardCount(getShardCount(), appConfiguration.getTokenIndexPreviousShards());
+        for (int i = 0; i < readShardCount; i++) {
+            final TokenIndexShard shard = getShard(TokenIndexShard.cacheKey(indexKey, i));
+            for (Map.Entry<String, Long> entry : shard.getMembers().entrySet()) {
+                if (entry.getValue() > now) {
+                    result.add(entry.getKey());
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void cleanUp() {
+        // Shards expire in cache together with their longest living member
+    }
+
+    private TokenIndexShard getShard(String shardKey) {
+        final Object o = cacheService.get(null, shardKey);
+        if (o instanceof TokenIndexShard) {
+            return (TokenIndexShard) o;
+        }
+        return new TokenIndexShard();
+    }
+
+    private void putShard(String shardKey, TokenIndexShard shard) {
+        final long maxExpiration = shard.getMaxExpiration();
+        String expiration = null; // default cache expiration for members without expiration date
+        if (maxExpiration != Long.MAX_VALUE) {
+            final long seconds = (maxExpiration - System.currentTimeMillis()) / 1000 + 1;
+            expiration = Long.toString(Math.max(seconds, 1));
+        }
+
+        log.trace("Put token index shard '{}', size: {}", shardKey, shard.getMembers().size());
+        cacheService.put(expiration, shardKey, shard);
+    }
+
+    static int shard(String tokenHash, int shardCount) {
+        return (tokenHash.hashCode() & 0x7fffffff) % shardCount;
+    }
+
+    /**
+     * Shard keys don't depend on shard count, so reading max of both counts covers both layouts.
+     */
+    static int getReadShardCount(int shardCount, int previousShardCount) {
+        return Math.max(shardCount, previousShardCount);
+    }
+
+    private int getShardCount() {
+        return Math.max(appConfiguration.getTokenIndexShards(), 1);
+    }
+
+    private static Object lock(String shardKey) {
+        return LOCKS[(shardKey.hashCode() & 0x7fffffff) % LOCKS.length];
+    }
+
+}
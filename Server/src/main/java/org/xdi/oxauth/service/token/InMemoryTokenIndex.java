@@ -0,0 +1,123 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+
+/**
+ * Token index kept in memory of current node. Members are added and removed atomically without rewriting the whole
+ * index, readers don't lock. Fits single node deployments only.
+ */
+@ApplicationScoped
+@Named
+public class InMemoryTokenIndex implements TokenIndex {
+
+    private static final int PRUNE_INTERVAL = 128; // prune expired members every 128 additions to index
+
+    private static final Object[] LOCKS = new Object[64];
+
+    static {
+        for (int i = 0; i < LOCKS.length; i++) {
+            LOCKS[i] = new Object();
+        }
+    }
+
+    private final ConcurrentMap<String, Members> indexes = new ConcurrentHashMap<String, Members>();
+
+    @Override
+    public void add(String indexKey, String tokenHash, Date expirationDate) {
+        final long expiration = expirationDate != null ? expirationDate.getTime() : Long.MAX_VALUE;
+
+        // Lock only guards creation and dropping of index, members map is concurrent
+        synchronized (lock(indexKey)) {
+            Members members = indexes.get(indexKey);
+            if (members == null) {
+                members = new Members();
+                indexes.put(indexKey, members);
+            }
+            members.expirations.put(tokenHash, expiration);
+
+            if (++members.additions % PRUNE_INTERVAL == 0) {
+                members.removeExpired(System.currentTimeMillis());
+            }
+        }
+    }
+
+    @Override
+    public void remove(String indexKey, String tokenHash) {
+        synchronized (lock(indexKey)) {
+            final Members members = indexes.get(indexKey);
+            if (members != null) {
+                members.expirations.remove(tokenHash);
+                if (members.expirations.isEmpty()) {
+                    indexes.remove(indexKey);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<String> get(String indexKey) {
+        final Set<String> result = new HashSet<String>();
+
+        final Members members = indexes.get(indexKey);
+        if (members == null) {
+            return result;
+        }
+
+        final long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> entry : members.expirations.entrySet()) {
+            if (entry.getValue() > now) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void cleanUp() {
+        final long now = System.currentTimeMillis();
+        for (String indexKey : indexes.keySet()) {
+            synchronized (lock(indexKey)) {
+                final Members members = indexes.get(indexKey);
+                if (members != null) {
+                    members.removeExpired(now);
+                    if (members.expirations.isEmpty()) {
+                        indexes.remove(indexKey);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Object lock(String indexKey) {
+        return LOCKS[(indexKey.hashCode() & 0x7fffffff) % LOCKS.length];
+    }
+
+    private static class Members {
+
+        private final ConcurrentMap<String, Long> expirations = new ConcurrentHashMap<String, Long>();
+        private int additions;
+
+        void removeExpired(long now) {
+            for (Map.Entry<String, Long> entry : expirations.entrySet()) {
+                if (entry.getValue() <= now) {
+                    expirations.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.ldap.TokenLdap;
+import org.xdi.oxauth.service.CleanerTimer;
+import org.xdi.service.cache.CacheConfiguration;
+import org.xdi.service.cache.CacheProviderType;
+
+/**
+ * Keeps tokens in memory of current node, keyed by hashed token code with secondary indexes by client id, grant id,
+ * authorization code and session DN. Lookups and cascade revocations are map operations instead of LDAP subtree
+ * searches.
+ * <p>
+ * Tokens are not shared between nodes and don't survive restart (every refresh token is lost), so this store fits
+ * single node and development deployments only. It's refused if shared cache is configured, which means more than one
+ * node, and it holds at most {@link AppConfiguration#getInMemoryTokenStoreSize()} tokens, persisting more fails.
+ * Entries are copied on write and on read, so callers get detached instances as with LDAP.
+ */
+@ApplicationScoped
+@Named
+public class InMemoryTokenStore implements TokenStore {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private CacheConfiguration cacheConfiguration;
+
+    // Separate stripes for tokens and indexes: index locks are taken while token lock is held, never other way round
+    private static final Object[] TOKEN_LOCKS = createLocks(64);
+    private static final Object[] INDEX_LOCKS = createLocks(64);
+
+    private final AtomicBoolean unsupportedLogged = new AtomicBoolean(false);
+
+    private final ConcurrentMap<String, Entry> tokens = new ConcurrentHashMap<String, Entry>();
+
+    private final Index byClient = new Index();
+    private final Index byGrantId = new Index();
+    private final Index byAuthorizationCode = new Index();
+    private final Index bySessionDn = new Index();
+
+    @Override
+    public void persist(TokenLdap token) {
+        put(token);
+    }
+
+    @Override
+    public void persist(List<TokenLdap> tokens) {
+        for (TokenLdap token : tokens) {
+            put(token);
+        }
+    }
+
+    /**
+     * Replaces token only if it's still stored, so merge racing with removal never brings revoked token back.
+     */
+    @Override
+    public void merge(TokenLdap token) {
+        final String code = token.getTokenCode();
+        if (StringUtils.isBlank(code)) {
+            return;
+        }
+
+        final Entry entry = new Entry(copy(token));
+        synchronized (lock(TOKEN_LOCKS, code)) {
+            final Entry previous = tokens.replace(code, entry);
+            if (previous == null) {
+                log.trace("Skip merge of removed token, dn: {}", token.getDn());
+                return;
+            }
+            unindex(code, previous);
+            index(code, entry);
+        }
+    }
+
+    /**
+     * @return <code>false</code> if shared cache is configured, tokens kept in memory of one node would be invisible to others
+     */
+    public boolean isSupported() {
+        if (cacheConfiguration.getCacheProviderType() == CacheProviderType.IN_MEMORY) {
+            return true;
+        }
+
+        if (unsupportedLogged.compareAndSet(false, true)) {
+            log.error("In-memory token store is single node only and shared cache is configured, LDAP token store is used instead");
+        }
+        return false;
+    }
+
+    private void put(TokenLdap token) {
+        final String code = token.getTokenCode();
+        if (StringUtils.isBlank(code)) {
+            log.trace("Skip token without code, dn: {}", token.getDn());
+            return;
+        }
+
+        final Entry entry = new Entry(copy(token));
+        synchronized (lock(TOKEN_LOCKS, code)) {
+            if (!tokens.containsKey(code) && tokens.size() >= appConfiguration.getInMemoryTokenStoreSize()) {
+                throw new IllegalStateException("In-memory token store is full, size: " + tokens.size());
+            }
+
+            final Entry previous = tokens.put(code, entry);
+            if (previous != null) {
+                unindex(code, previous);
+            }
+            index(code, entry);
+        }
+    }
+
+    @Override
+    public void remove(TokenLdap token) {
+        final String code = token.getTokenCode();
+        if (StringUtils.isBlank(code)) {
+            return;
+        }
+
+        synchronized (lock(TOKEN_LOCKS, code)) {
+            final Entry previous = tokens.remove(code);
+            if (previous != null) {
+                unindex(code, previous);
+            }
+        }
+    }
+
+    @Override
+    public TokenLdap getByCode(String hashedCode) {
+        final Entry entry = hashedCode != null ? tokens.get(hashedCode) : null;
+        return entry != null ? copy(entry.token) : null;
+    }
+
+    @Override
+    public TokenLdap getByCodeAndClient(String hashedCode, String clientId) {
+        final Entry entry = hashedCode != null ? tokens.get(hashedCode) : null;
+        if (entry != null && StringUtils.equals(entry.clientId, clientId)) {
+            return copy(entry.token);
+        }
+        return null;
+    }
+
+    @Override
+    public List<TokenLdap> getByClient(String clientId) {
+        return resolve(byClient.get(clientId));
+    }
+
+    @Override
+    public List<TokenLdap> getByGrantId(String grantId) {
+        return resolve(byGrantId.get(grantId));
+    }
+
+    @Override
+    public List<TokenLdap> getByAuthorizationCode(String hashedAuthorizationCode) {
+        return resolve(byAuthorizationCode.get(hashedAuthorizationCode));
+    }
+
+    @Override
+    public List<TokenLdap> getBySessionDn(String sessionDn) {
+        return resolve(bySessionDn.get(sessionDn));
+    }
+
+    @Override
+    public void processExpired(ExpiredTokensHandler handler, ExecutorService executor) {
+        final Date now = new Date();
+
+        List<TokenLdap> batch = new ArrayList<TokenLdap>(CleanerTimer.BATCH_SIZE);
+        for (Entry entry : tokens.values()) {
+            final Date expirationDate = entry.token.getExpirationDate();
+            if (expirationDate == null || expirationDate.after(now)) {
+                continue;
+            }
+
+            batch.add(copy(entry.token));
+            if (batch.size() >= CleanerTimer.BATCH_SIZE) {
+                handler.handle(batch);
+                batch = new ArrayList<TokenLdap>(CleanerTimer.BATCH_SIZE);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            handler.handle(batch);
+        }
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private List<TokenLdap> resolve(Set<String> codes) {
+        if (codes == null || codes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<TokenLdap> result = new ArrayList<TokenLdap>(codes.size());
+        for (String code : codes) {
+            final Entry entry = tokens.get(code);
+            if (entry != null) {
+                result.add(copy(entry.token));
+            }
+        }
+        return result;
+    }
+
+    private void index(String code, Entry entry) {
+        byClient.add(entry.clientId, code);
+        byGrantId.add(entry.grantId, code);
+        byAuthorizationCode.add(entry.authorizationCode, code);
+        bySessionDn.add(entry.sessionDn, code);
+    }
+
+    private void unindex(String code, Entry entry) {
+        byClient.remove(entry.clientId, code);
+        byGrantId.remove(entry.grantId, code);
+        byAuthorizationCode.remove(entry.authorizationCode, code);
+        bySessionDn.remove(entry.sessionDn, code);
+    }
+
+    private static Object[] createLocks(int count) {
+        final Object[] locks = new Object[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private static Object lock(Object[] locks, String key) {
+        // Striped locks serialize updates of the same key, readers don't lock at all
+        return locks[(key.hashCode() & 0x7fffffff) % locks.length];
+    }
+
+    private static TokenLdap copy(TokenLdap token) {
+        return (TokenLdap) SerializationUtils.clone(token);
+    }
+
+    /**
+     * Stored token together with snapshot of indexed attributes taken at write time.
+     */
+    private static class Entry {
+
+        private final TokenLdap token;
+        private final String clientId;
+        private final String grantId;
+        private final String authorizationCode;
+        private final String sessionDn;
+
+        Entry(TokenLdap token) {
+            this.token = token;
+            this.clientId = token.getClientId();
+            this.grantId = token.getGrantId();
+            this.authorizationCode = token.getAuthorizationCode();
+            this.sessionDn = token.getSessionDn();
+        }
+    }
+
+    private static class Index {
+
+        private final ConcurrentMap<String, Set<String>> map = new ConcurrentHashMap<String, Set<String>>();
+
+        Set<String> get(String key) {
+            return key != null ? map.get(key) : null;
+        }
+
+        void add(String key, String code) {
+            if (StringUtils.isBlank(key)) {
+                return;
+            }
+
+            synchronized (lock(INDEX_LOCKS, key)) {
+                Set<String> codes = map.get(key);
+                if (codes == null) {
+                    codes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                    map.put(key, codes);
+                }
+                codes.add(code);
+            }
+        }
+
+        void remove(String key, String code) {
+            if (StringUtils.isBlank(key)) {
+                return;
+            }
+
+            synchronized (lock(INDEX_LOCKS, key)) {
+                final Set<String> codes = map.get(key);
+                if (codes != null) {
+                    codes.remove(code);
+                    if (codes.isEmpty()) {
+                        map.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.ejb.Stateless;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.gluu.persist.ldap.impl.LdapEntryManager;
+import org.gluu.persist.model.BatchOperation;
+import org.gluu.persist.model.ProcessBatchOperation;
+import org.gluu.persist.model.SearchScope;
+import org.gluu.search.filter.Filter;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.config.StaticConfiguration;
+import org.xdi.oxauth.model.ldap.Grant;
+import org.xdi.oxauth.model.ldap.TokenLdap;
+import org.xdi.oxauth.service.CleanerTimer;
+import org.xdi.oxauth.service.ClientService;
+
+/**
+ * Keeps tokens in LDAP under per grant branches of client entry.
+ */
+@Stateless
+@Named
+public class LdapTokenStore implements TokenStore {
+
+    private static final String GRANT_ID_SHARDS = "0123456789abcdef";
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private LdapEntryManager ldapEntryManager;
+
+    @Inject
+    private ClientService clientService;
+
+    @Inject
+    private StaticConfiguration staticConfiguration;
+
+    public String baseDn() {
+        return staticConfiguration.getBaseDn().getClients();  // ou=clients,o=@!1111,o=gluu
+    }
+
+    @Override
+    public void persist(TokenLdap token) {
+        prepareGrantBranch(token.getGrantId(), token.getClientId());
+        ldapEntryManager.persist(token);
+    }
+
+    /**
+     * Grant branch is checked once per grant, not once per token.
+     */
+    @Override
+    public void persist(List<TokenLdap> tokens) {
+        final Set<String> preparedBranches = new HashSet<String>();
+        for (TokenLdap token : tokens) {
+            if (preparedBranches.add(getBaseDnForGrant(token.getGrantId(), token.getClientId()))) {
+                prepareGrantBranch(token.getGrantId(), token.getClientId());
+            }
+            ldapEntryManager.persist(token);
+        }
+    }
+
+    @Override
+    public void merge(TokenLdap token) {
+        ldapEntryManager.merge(token);
+    }
+
+    @Override
+    public void remove(TokenLdap token) {
+        ldapEntryManager.remove(token);
+    }
+
+    public void remove(Grant grant) {
+        ldapEntryManager.remove(grant);
+        log.trace("Removed grant, id: " + grant.getId());
+    }
+
+    public void removeGrants(List<Grant> entries) {
+        if (entries != null && !entries.isEmpty()) {
+            for (Grant g : entries) {
+                try {
+                    remove(g);
+                } catch (Exception e) {
+                    log.error("Failed to remove entry", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public TokenLdap getByCode(String hashedCode) {
+        return load(baseDn(), hashedCode);
+    }
+
+    @Override
+    public TokenLdap getByCodeAndClient(String hashedCode, String clientId) {
+        return load(clientService.buildClientDn(clientId), hashedCode);
+    }
+
+    private TokenLdap load(String p_baseDn, String hashedCode) {
+        try {
+            final List<TokenLdap> entries = ldapEntryManager.findEntries(p_baseDn, TokenLdap.class, Filter.createEqualityFilter("oxAuthTokenCode", hashedCode));
+            if (entries != null && !entries.isEmpty()) {
+                return entries.get(0);
+            }
+        } catch (Exception e) {
+            log.trace(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    @Override
+    public List<TokenLdap> getByClient(String clientId) {
+        try {
+            final String baseDn = clientService.buildClientDn(clientId);
+            return ldapEntryManager.findEntries(baseDn, TokenLdap.class, Filter.create("oxAuthTokenCode=*"));
+        } catch (Exception e) {
+            log.trace(e.getMessage(), e);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<TokenLdap> getByGrantId(String grantId) {
+        try {
+            return ldapEntryManager.findEntries(baseDn(), TokenLdap.class, Filter.createEqualityFilter("oxAuthGrantId", grantId));
+        } catch (Exception e) {
+            log.trace(e.getMessage(), e);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<TokenLdap> getByAuthorizationCode(String hashedAuthorizationCode) {
+        try {
+            return ldapEntryManager.findEntries(baseDn(), TokenLdap.class, Filter.createEqualityFilter("oxAuthAuthorizationCode", hashedAuthorizationCode));
+        } catch (Exception e) {
+            log.trace(e.getMessage(), e);
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<TokenLdap> getBySessionDn(String sessionDn) {
+        final List<TokenLdap> entries = ldapEntryManager.findEntries(baseDn(), TokenLdap.class, Filter.create(String.format("oxAuthSessionDn=%s", sessionDn)));
+        return entries != null ? entries : Collections.<TokenLdap>emptyList();
+    }
+
+    @Override
+    public void processExpired(final ExpiredTokensHandler handler, final ExecutorService executor) {
+        if (executor == null) {
+            processExpired(baseDn(), handler);
+        } else {
+            processExpiredByShard(handler, executor);
+        }
+
+        // Cleaning old oxAuthGrant
+        // Note: This block should be removed, it is used only to delete old legacy data.
+        BatchOperation<Grant> oldGrantBatchService = new ProcessBatchOperation<Grant>() {
+            @Override
+            public void performAction(List<Grant> entries) {
+                removeGrants(entries);
+            }
+        };
+        ldapEntryManager.findEntries(baseDn(), Grant.class, getExpiredOldGrantFilter(), SearchScope.SUB, new String[] { "" }, oldGrantBatchService, 0, 0, CleanerTimer.BATCH_SIZE);
+    }
+
+    /**
+     * Shards clean up by first character of grant id (UUID), so number of searches is fixed and doesn't grow with number
+     * of clients. Entries with other grant ids fall into the last shard. Shards are searched and cleaned concurrently by
+     * executor threads.
+     */
+    private void processExpiredByShard(final ExpiredTokensHandler handler, final ExecutorService executor) {
+        final List<Filter> shards = new ArrayList<Filter>(GRANT_ID_SHARDS.length() + 1);
+        final Filter[] shardFilters = new Filter[GRANT_ID_SHARDS.length()];
+        for (int i = 0; i < GRANT_ID_SHARDS.length(); i++) {
+            shardFilters[i] = Filter.create("oxAuthGrantId=" + GRANT_ID_SHARDS.charAt(i) + "*");
+            shards.add(shardFilters[i]);
+        }
+        shards.add(Filter.createNOTFilter(Filter.createORFilter(shardFilters)));
+
+        final List<Future<?>> futures = new ArrayList<Future<?>>(shards.size());
+        for (final Filter shard : shards) {
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    processExpired(baseDn(), shard, handler);
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while waiting for expired tokens clean up", e);
+                return;
+            } catch (ExecutionException e) {
+                log.error("Failed to clean up expired tokens", e.getCause());
+            }
+        }
+    }
+
+    private void processExpired(String baseDn, final ExpiredTokensHandler handler) {
+        processExpired(baseDn, null, handler);
+    }
+
+    private void processExpired(String baseDn, Filter shard, final ExpiredTokensHandler handler) {
+        // Cleaning oxAuthToken
+        BatchOperation<TokenLdap> tokenBatchService = new ProcessBatchOperation<TokenLdap>() {
+            @Override
+            public void performAction(List<TokenLdap> entries) {
+                handler.handle(entries);
+            }
+        };
+        ldapEntryManager.findEntries(baseDn, TokenLdap.class, inShard(getExpiredTokenFilter(), shard), SearchScope.SUB, new String[] { "oxAuthTokenCode", "oxAuthClientId", "oxAuthScope", "oxAuthUserId" }, tokenBatchService, 0, 0, CleanerTimer.BATCH_SIZE);
+
+        // Cleaning oxAuthGrant
+        BatchOperation<Grant> grantBatchService = new ProcessBatchOperation<Grant>() {
+            @Override
+            public void performAction(List<Grant> entries) {
+                removeGrants(entries);
+            }
+
+        };
+        ldapEntryManager.findEntries(baseDn, Grant.class, inShard(getExpiredGrantFilter(), shard), SearchScope.SUB, new String[] { "" }, grantBatchService, 0, 0, CleanerTimer.BATCH_SIZE);
+    }
+
+    private static Filter inShard(Filter filter, Filter shard) {
+        return shard != null ? Filter.createANDFilter(filter, shard) : filter;
+    }
+
+    private Filter getExpiredTokenFilter() {
+        return Filter.createLessOrEqualFilter("oxAuthExpiration", ldapEntryManager.encodeGeneralizedTime(new Date()));
+    }
+
+    private Filter getExpiredGrantFilter() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.add(Calendar.SECOND, 60);
+
+        Filter hasSubordinates = Filter.createORFilter(Filter.createEqualityFilter("numsubordinates", "0"),
+                Filter.createEqualityFilter("hasSubordinates", "FALSE"));
+        Filter creationDate = Filter.createLessOrEqualFilter("oxAuthCreation", ldapEntryManager.encodeGeneralizedTime(calendar.getTime()));
+        Filter filter = Filter.createANDFilter(creationDate, hasSubordinates);
+
+        return filter;
+    }
+
+    private Filter getExpiredOldGrantFilter() {
+        Filter hasSubordinatesFilter = Filter.createORFilter(Filter.createEqualityFilter("numsubordinates", "0"),
+                Filter.createEqualityFilter("hasSubordinates", "FALSE"));
+        Filter noCreationDate = Filter.createNOTFilter(Filter.createPresenceFilter("oxAuthCreation"));
+        Filter filter = Filter.createANDFilter(noCreationDate, hasSubordinatesFilter);
+
+        return filter;
+    }
+
+    private void addGrantBranch(final String p_grantId, final String p_clientId) {
+        Grant grant = new Grant();
+        grant.setDn(getBaseDnForGrant(p_grantId, p_clientId));
+        grant.setId(p_grantId);
+        grant.setCreationDate(new Date());
+
+        ldapEntryManager.persist(grant);
+    }
+
+    private void prepareGrantBranch(final String p_grantId, final String p_clientId) {
+        // Create ocAuthGrant branch if needed
+        if (!containsGrantBranch(p_grantId, p_clientId)) {
+            addGrantBranch(p_grantId, p_clientId);
+        }
+    }
+
+    private boolean containsGrantBranch(final String p_grantId, final String p_clientId) {
+        return ldapEntryManager.contains(Grant.class, getBaseDnForGrant(p_grantId, p_clientId));
+    }
+
+    private String getBaseDnForGrant(final String p_grantId, final String p_clientId) {
+        final StringBuilder dn = new StringBuilder();
+        dn.append(String.format("oxAuthGrantId=%s,", p_grantId));
+        dn.append(clientService.buildClientDn(p_clientId));
+
+        return dn.toString();
+    }
+
+}
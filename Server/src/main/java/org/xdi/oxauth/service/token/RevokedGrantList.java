@@ -0,0 +1,122 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.common.AccessTokenFormat;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.service.CacheService;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Grants and sessions revoked while self-contained access tokens of them may still be valid.
+ * <p>
+ * Each revocation is stored in the shared cache under its own key, which expires together with the last access token
+ * issued before revocation. Validation reads these keys directly, so revocation is seen by all nodes as soon as it's
+ * written. Revocations seen by this node are also kept locally, so repeated use of a revoked token doesn't hit the
+ * shared cache.
+ */
+@ApplicationScoped
+@Named
+public class RevokedGrantList {
+
+    private static final String CACHE_KEY_PREFIX = "revoked_";
+
+    private static final int MAX_LOCAL_ENTRIES = 10000;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private CacheService cacheService;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    // key -> expiration time in millis, revoked entries never become valid again
+    private final Cache<String, Long> revoked = CacheBuilder.newBuilder().maximumSize(MAX_LOCAL_ENTRIES).build();
+
+    public boolean isRevoked(String grantId, String sessionDn) {
+        return isRevoked(grantKey(grantId)) || isRevoked(sessionKey(sessionDn));
+    }
+
+    public void revokeGrant(String grantId) {
+        revoke(grantKey(grantId));
+    }
+
+    public void revokeSession(String sessionDn) {
+        revoke(sessionKey(sessionDn));
+    }
+
+    private boolean isEnabled() {
+        return appConfiguration.getAccessTokenFormat() == AccessTokenFormat.JWT;
+    }
+
+    private boolean isRevoked(String key) {
+        if (key == null) {
+            return false;
+        }
+
+        final long now = System.currentTimeMillis();
+        final Long expiresAt = revoked.getIfPresent(key);
+        if (expiresAt != null) {
+            if (expiresAt > now) {
+                return true;
+            }
+            revoked.invalidate(key);
+        }
+
+        final Object shared;
+        try {
+            shared = cacheService.get(null, CACHE_KEY_PREFIX + key);
+        } catch (Exception e) {
+            // Token can't be trusted if revocation can't be checked
+            log.error("Failed to check revocation, key: " + key, e);
+            return true;
+        }
+
+        if (shared instanceof Long && (Long) shared > now) {
+            revoked.put(key, (Long) shared);
+            return true;
+        }
+        return false;
+    }
+
+    private void revoke(String key) {
+        if (key == null || !isEnabled()) {
+            return;
+        }
+
+        final int lifetime = appConfiguration.getAccessTokenLifetime();
+        final long expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(lifetime);
+        revoked.put(key, expiresAt);
+
+        try {
+            cacheService.put(Integer.toString(lifetime), CACHE_KEY_PREFIX + key, expiresAt);
+        } catch (Exception e) {
+            log.error("Failed to publish revocation, key: " + key, e);
+        }
+    }
+
+    private static String grantKey(String grantId) {
+        return StringUtils.isNotBlank(grantId) ? "grant_" + grantId : null;
+    }
+
+    private static String sessionKey(String sessionDn) {
+        return StringUtils.isNotBlank(sessionDn) ? "session_" + sessionDn : null;
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import java.util.Date;
+import java.util.UUID;
+
+import javax.ejb.Stateless;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.xdi.oxauth.model.common.AccessToken;
+import org.xdi.oxauth.model.common.AccessTokenFormat;
+import org.xdi.oxauth.model.common.AuthorizationGrant;
+import org.xdi.oxauth.model.config.WebKeysConfiguration;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.crypto.CryptoProviderFactory;
+import org.xdi.oxauth.model.crypto.signature.SignatureAlgorithm;
+import org.xdi.oxauth.model.crypto.signature.SignatureAlgorithmFamily;
+import org.xdi.oxauth.model.exception.InvalidJwtException;
+import org.xdi.oxauth.model.jwt.Jwt;
+import org.xdi.oxauth.model.jwt.JwtClaimName;
+import org.xdi.oxauth.model.jwt.JwtClaims;
+import org.xdi.oxauth.model.ldap.TokenLdap;
+import org.xdi.oxauth.model.ldap.TokenType;
+import org.xdi.oxauth.model.token.JwtSigner;
+import org.xdi.oxauth.service.GrantService;
+import org.xdi.oxauth.util.TokenHashUtil;
+
+/**
+ * Issues and validates {@link AccessTokenFormat#JWT self-contained} access tokens. Token is signed with server key
+ * and carries everything needed to restore the grant, so it is neither persisted nor looked up in token store.
+ * Revocation is checked against {@link RevokedGrantList}.
+ */
+@Stateless
+@Named
+public class SelfContainedAccessTokenService {
+
+    private static final String CLIENT_ID = "client_id";
+    private static final String GRANT_ID = "grant_id";
+    private static final String GRANT_TYPE = "grant_type";
+    private static final String SCOPE = "scope";
+    private static final String SESSION_DN = "session_dn";
+    private static final String CLAIMS = "claims";
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private WebKeysConfiguration webKeysConfiguration;
+
+    @Inject
+    private GrantService grantService;
+
+    @Inject
+    private RevokedGrantList revokedGrantList;
+
+    public boolean isEnabled() {
+        return appConfiguration.getAccessTokenFormat() == AccessTokenFormat.JWT;
+    }
+
+    /**
+     * Grants with request object get handle tokens, request object is too large to be carried by each access token.
+     */
+    public boolean isSelfContained(AuthorizationGrant grant) {
+        return isEnabled() && grant.getClient() != null && StringUtils.isNotBlank(grant.getGrantId())
+                && grant.getJwtAuthorizationRequest() == null;
+    }
+
+    public String createCode(AuthorizationGrant grant, AccessToken accessToken) throws Exception {
+        JwtSigner jwtSigner = new JwtSigner(appConfiguration, webKeysConfiguration, getSignatureAlgorithm(), grant.getClientId());
+        Jwt jwt = jwtSigner.newJwt();
+
+        JwtClaims claims = jwt.getClaims();
+        claims.setJwtId(UUID.randomUUID());
+        claims.setIssuedAt(accessToken.getCreationDate());
+        claims.setExpirationTime(accessToken.getExpirationDate());
+        if (StringUtils.isNotBlank(grant.getUserId())) {
+            claims.setSubjectIdentifier(grant.getUserId());
+        }
+        claims.setClaim(CLIENT_ID, grant.getClientId());
+        claims.setClaim(GRANT_ID, grant.getGrantId());
+        claims.setClaim(SCOPE, grant.getScopesAsString());
+        if (grant.getAuthorizationGrantType() != null) {
+            claims.setClaim(GRANT_TYPE, grant.getAuthorizationGrantType().getParamName());
+        }
+        if (grant.getAuthenticationTime() != null) {
+            claims.setClaim(JwtClaimName.AUTHENTICATION_TIME, grant.getAuthenticationTime());
+        }
+        setClaimIfNotBlank(claims, JwtClaimName.AUTHENTICATION_CONTEXT_CLASS_REFERENCE, grant.getAcrValues());
+        setClaimIfNotBlank(claims, JwtClaimName.NONCE, grant.getNonce());
+        setClaimIfNotBlank(claims, SESSION_DN, grant.getSessionDn());
+        setClaimIfNotBlank(claims, CLAIMS, grant.getClaims());
+
+        return jwtSigner.sign().toString();
+    }
+
+    /**
+     * @return parsed token if code is self-contained access token, otherwise <code>null</code>
+     */
+    public Jwt parse(String code) {
+        if (!isEnabled() || StringUtils.countMatches(code, ".") != 2) {
+            return null;
+        }
+
+        try {
+            final Jwt jwt = Jwt.parse(code);
+            return jwt.getClaims().hasClaim(GRANT_ID) ? jwt : null;
+        } catch (InvalidJwtException e) {
+            log.trace("Failed to parse access token", e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks signature, issuer, expiration and revocation of token.
+     *
+     * @return token entry restored from claims or <code>null</code> if token is not valid
+     */
+    public TokenLdap validate(Jwt jwt) {
+        try {
+            final SignatureAlgorithm signatureAlgorithm = jwt.getHeader().getAlgorithm();
+            if (!isAsymmetric(signatureAlgorithm)) {
+                log.trace("Access token is not signed with server key, alg: {}", signatureAlgorithm);
+                return null;
+            }
+
+            final JwtClaims claims = jwt.getClaims();
+            final Date expirationDate = claims.getClaimAsDate(JwtClaimName.EXPIRATION_TIME);
+            if (!appConfiguration.getIssuer().equals(claims.getClaimAsString(JwtClaimName.ISSUER))
+                    || expirationDate == null || expirationDate.before(new Date())) {
+                log.trace("Access token is expired or issued by other server");
+                return null;
+            }
+
+            final boolean validSignature = CryptoProviderFactory.getCryptoProvider(appConfiguration).verifySignature(
+                    jwt.getSigningInput(), jwt.getEncodedSignature(), jwt.getHeader().getKeyId(), null, null, signatureAlgorithm);
+            if (!validSignature) {
+                log.trace("Access token signature is invalid");
+                return null;
+            }
+
+            final TokenLdap tokenLdap = asTokenLdap(jwt);
+            if (isRevoked(tokenLdap)) {
+                log.trace("Access token is revoked, grantId: {}", tokenLdap.getGrantId());
+                return null;
+            }
+            return tokenLdap;
+        } catch (Exception e) {
+            log.trace("Failed to validate access token", e);
+            return null;
+        }
+    }
+
+    public boolean isRevoked(TokenLdap tokenLdap) {
+        return revokedGrantList.isRevoked(tokenLdap.getGrantId(), tokenLdap.getSessionDn());
+    }
+
+    private TokenLdap asTokenLdap(Jwt jwt) {
+        final JwtClaims claims = jwt.getClaims();
+        final String id = claims.getClaimAsString(JwtClaimName.JWT_ID);
+        final String grantId = claims.getClaimAsString(GRANT_ID);
+        final String clientId = claims.getClaimAsString(CLIENT_ID);
+
+        final TokenLdap result = new TokenLdap();
+        result.setDn(grantService.buildDn(id, grantId, clientId));
+        result.setId(id);
+        result.setGrantId(grantId);
+        result.setTokenCode(TokenHashUtil.getHashedToken(jwt.toString()));
+        result.setTokenTypeEnum(TokenType.ACCESS_TOKEN);
+        result.setCreationDate(claims.getClaimAsDate(JwtClaimName.ISSUED_AT));
+        result.setExpirationDate(claims.getClaimAsDate(JwtClaimName.EXPIRATION_TIME));
+        result.setUserId(claims.getClaimAsString(JwtClaimName.SUBJECT_IDENTIFIER));
+        result.setClientId(clientId);
+        result.setScope(claims.getClaimAsString(SCOPE));
+        result.setGrantType(claims.getClaimAsString(GRANT_TYPE));
+        result.setAuthenticationTime(claims.getClaimAsDate(JwtClaimName.AUTHENTICATION_TIME));
+        result.setAuthMode(claims.getClaimAsString(JwtClaimName.AUTHENTICATION_CONTEXT_CLASS_REFERENCE));
+        result.setNonce(claims.getClaimAsString(JwtClaimName.NONCE));
+        result.setSessionDn(claims.getClaimAsString(SESSION_DN));
+        result.setClaims(claims.getClaimAsString(CLAIMS));
+        return result;
+    }
+
+    private SignatureAlgorithm getSignatureAlgorithm() {
+        final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.fromString(appConfiguration.getDefaultSignatureAlgorithm());
+        return isAsymmetric(signatureAlgorithm) ? signatureAlgorithm : SignatureAlgorithm.RS256;
+    }
+
+    private static boolean isAsymmetric(SignatureAlgorithm signatureAlgorithm) {
+        return signatureAlgorithm != null && (SignatureAlgorithmFamily.RSA.equals(signatureAlgorithm.getFamily())
+                || SignatureAlgorithmFamily.EC.equals(signatureAlgorithm.getFamily()));
+    }
+
+    private static void setClaimIfNotBlank(JwtClaims claims, String name, String value) {
+        if (StringUtils.isNotBlank(value)) {
+            claims.setClaim(name, value);
+        }
+    }
+
+}
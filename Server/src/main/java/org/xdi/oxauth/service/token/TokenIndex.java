@@ -0,0 +1,31 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import java.util.Date;
+import java.util.Set;
+
+/**
+ * Index of hashes of tokens kept in cache, e.g. by client or by session. Each member expires together with its token.
+ */
+public interface TokenIndex {
+
+    void add(String indexKey, String tokenHash, Date expirationDate);
+
+    void remove(String indexKey, String tokenHash);
+
+    /**
+     * @return hashes of not expired tokens
+     */
+    Set<String> get(String indexKey);
+
+    /**
+     * Drops expired members and empty indexes.
+     */
+    void cleanUp();
+
+}
@@ -0,0 +1,58 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import org.xdi.oxauth.model.ldap.TokenLdap;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Storage of persisted tokens used by {@link org.xdi.oxauth.service.GrantService}.
+ * <p>
+ * All token and authorization codes passed to the store are already hashed.
+ */
+public interface TokenStore {
+
+    void persist(TokenLdap token);
+
+    /**
+     * Persists tokens issued together by one request.
+     */
+    void persist(List<TokenLdap> tokens);
+
+    void merge(TokenLdap token);
+
+    void remove(TokenLdap token);
+
+    TokenLdap getByCode(String hashedCode);
+
+    TokenLdap getByCodeAndClient(String hashedCode, String clientId);
+
+    List<TokenLdap> getByClient(String clientId);
+
+    List<TokenLdap> getByGrantId(String grantId);
+
+    List<TokenLdap> getByAuthorizationCode(String hashedAuthorizationCode);
+
+    List<TokenLdap> getBySessionDn(String sessionDn);
+
+    /**
+     * Passes expired tokens to handler in batches. Handler is responsible for removing them.
+     *
+     * @param executor pool to search and remove expired tokens in parallel shards, store may ignore it
+     */
+    void processExpired(ExpiredTokensHandler handler, ExecutorService executor);
+
+    /**
+     * Must be thread safe, it's called concurrently if store processes shards in parallel.
+     */
+    interface ExpiredTokensHandler {
+        void handle(List<TokenLdap> entries);
+    }
+
+}
@@ -20,6 +20,7 @@ import org.xdi.oxauth.model.common.ScopeType;
 import org.xdi.oxauth.model.configuration.AppConfiguration;
 import org.xdi.oxauth.model.uma.UmaScopeType;
 import org.xdi.oxauth.service.AttributeService;
+import org.xdi.oxauth.service.DiscoveryCache;
 import org.xdi.oxauth.service.ScopeService;
 import org.xdi.oxauth.service.external.ExternalAuthenticationService;
 import org.xdi.oxauth.service.external.ExternalDynamicScopeService;
@@ -31,7 +32,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -68,6 +69,9 @@ public class OpenIdConfiguration extends HttpServlet {
     @Inject
     private ExternalDynamicScopeService externalDynamicScopeService;
 
+    @Inject
+    private DiscoveryCache discoveryCache;
+
 
     /**
      * Processes requests for both HTTP <code>GET</code> and <code>POST</code>
@@ -84,240 +88,269 @@ public class OpenIdConfiguration extends HttpServlet {
         final HttpServletResponse httpResponse = (HttpServletResponse) servletResponse;
 
         httpResponse.setContentType("application/json");
-        PrintWriter out = httpResponse.getWriter();
         try {
-            JSONObject jsonObj = new JSONObject();
-
-            jsonObj.put(ISSUER, appConfiguration.getIssuer());
-            jsonObj.put(AUTHORIZATION_ENDPOINT, appConfiguration.getAuthorizationEndpoint());
-            jsonObj.put(TOKEN_ENDPOINT, appConfiguration.getTokenEndpoint());
-            jsonObj.put(USER_INFO_ENDPOINT, appConfiguration.getUserInfoEndpoint());
-            jsonObj.put(CLIENT_INFO_ENDPOINT, appConfiguration.getClientInfoEndpoint());
-            jsonObj.put(CHECK_SESSION_IFRAME, appConfiguration.getCheckSessionIFrame());
-            jsonObj.put(END_SESSION_ENDPOINT, appConfiguration.getEndSessionEndpoint());
-            jsonObj.put(JWKS_URI, appConfiguration.getJwksUri());
-            jsonObj.put(REGISTRATION_ENDPOINT, appConfiguration.getRegistrationEndpoint());
-            jsonObj.put(ID_GENERATION_ENDPOINT, appConfiguration.getIdGenerationEndpoint());
-            jsonObj.put(INTROSPECTION_ENDPOINT, appConfiguration.getIntrospectionEndpoint());
-
-            JSONArray scopesSupported = new JSONArray();
-            for (Scope scope : scopeService.getAllScopesList()) {
-                if (UmaScopeType.PROTECTION.getValue().equals(scope.getDisplayName())) {
-                    continue;
+            DiscoveryCache.Document document = discoveryCache.getOpenIdConfiguration(new DiscoveryCache.DocumentBuilder() {
+                @Override
+                public String build() throws Exception {
+                    return createConfiguration();
                 }
-                scopesSupported.put(scope.getDisplayName());
-            }
-            if (scopesSupported.length() > 0) {
-                jsonObj.put(SCOPES_SUPPORTED, scopesSupported);
-            }
+            });
 
-            JSONArray responseTypesSupported = new JSONArray();
-            for (Set<ResponseType> responseTypes : appConfiguration.getResponseTypesSupported()) {
-                responseTypesSupported.put(implode(responseTypes, " "));
-            }
-            if (responseTypesSupported.length() > 0) {
-                jsonObj.put(RESPONSE_TYPES_SUPPORTED, responseTypesSupported);
+            final boolean gzipped = document.hasGzippedContent() && DiscoveryCache.acceptsGzip(httpRequest.getHeader("Accept-Encoding"));
+            httpResponse.setHeader("ETag", "\"" + document.getEtag(gzipped) + "\"");
+            httpResponse.setHeader("Cache-Control", "max-age=" + discoveryCache.getMaxAge());
+            httpResponse.setHeader("Vary", "Accept-Encoding");
+            if (document.matches(httpRequest.getHeader("If-None-Match"), gzipped)) {
+                httpResponse.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
             }
 
-            JSONArray grantTypesSupported = new JSONArray();
-            for (GrantType grantType : appConfiguration.getGrantTypesSupported()) {
-                grantTypesSupported.put(grantType);
-            }
-            if (grantTypesSupported.length() > 0) {
-                jsonObj.put(GRANT_TYPES_SUPPORTED, grantTypesSupported);
+            byte[] content = document.getContent();
+            if (gzipped) {
+                content = document.getGzippedContent();
+                httpResponse.setHeader("Content-Encoding", "gzip");
             }
+            httpResponse.setContentLength(content.length);
 
-            JSONArray acrValuesSupported = new JSONArray();
-            for (String acr : externalAuthenticationService.getAcrValuesList()) {
-                acrValuesSupported.put(acr);
+            OutputStream out = httpResponse.getOutputStream();
+            try {
+                out.write(content);
+            } finally {
+                out.close();
             }
-            jsonObj.put(ACR_VALUES_SUPPORTED, acrValuesSupported);
-            jsonObj.put(AUTH_LEVEL_MAPPING, createAuthLevelMapping());
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+    }
 
-            JSONArray subjectTypesSupported = new JSONArray();
-            for (String subjectType : appConfiguration.getSubjectTypesSupported()) {
-                subjectTypesSupported.put(subjectType);
-            }
-            if (subjectTypesSupported.length() > 0) {
-                jsonObj.put(SUBJECT_TYPES_SUPPORTED, subjectTypesSupported);
-            }
+    private String createConfiguration() throws JSONException {
+        JSONObject jsonObj = new JSONObject();
+
+        jsonObj.put(ISSUER, appConfiguration.getIssuer());
+        jsonObj.put(AUTHORIZATION_ENDPOINT, appConfiguration.getAuthorizationEndpoint());
+        jsonObj.put(TOKEN_ENDPOINT, appConfiguration.getTokenEndpoint());
+        jsonObj.put(USER_INFO_ENDPOINT, appConfiguration.getUserInfoEndpoint());
+        jsonObj.put(CLIENT_INFO_ENDPOINT, appConfiguration.getClientInfoEndpoint());
+        jsonObj.put(CHECK_SESSION_IFRAME, appConfiguration.getCheckSessionIFrame());
+        jsonObj.put(END_SESSION_ENDPOINT, appConfiguration.getEndSessionEndpoint());
+        jsonObj.put(JWKS_URI, appConfiguration.getJwksUri());
+        jsonObj.put(REGISTRATION_ENDPOINT, appConfiguration.getRegistrationEndpoint());
+        jsonObj.put(ID_GENERATION_ENDPOINT, appConfiguration.getIdGenerationEndpoint());
+        jsonObj.put(INTROSPECTION_ENDPOINT, appConfiguration.getIntrospectionEndpoint());
+
+        JSONArray scopesSupported = new JSONArray();
+        for (Scope scope : scopeService.getAllScopesList()) {
+            if (UmaScopeType.PROTECTION.getValue().equals(scope.getDisplayName())) {
+                continue;
+            }
+            scopesSupported.put(scope.getDisplayName());
+        }
+        if (scopesSupported.length() > 0) {
+            jsonObj.put(SCOPES_SUPPORTED, scopesSupported);
+        }
 
-            JSONArray userInfoSigningAlgValuesSupported = new JSONArray();
-            for (String userInfoSigningAlg : appConfiguration.getUserInfoSigningAlgValuesSupported()) {
-                userInfoSigningAlgValuesSupported.put(userInfoSigningAlg);
-            }
-            if (userInfoSigningAlgValuesSupported.length() > 0) {
-                jsonObj.put(USER_INFO_SIGNING_ALG_VALUES_SUPPORTED, userInfoSigningAlgValuesSupported);
-            }
+        JSONArray responseTypesSupported = new JSONArray();
+        for (Set<ResponseType> responseTypes : appConfiguration.getResponseTypesSupported()) {
+            responseTypesSupported.put(implode(responseTypes, " "));
+        }
+        if (responseTypesSupported.length() > 0) {
+            jsonObj.put(RESPONSE_TYPES_SUPPORTED, responseTypesSupported);
+        }
 
-            JSONArray userInfoEncryptionAlgValuesSupported = new JSONArray();
-            for (String userInfoEncryptionAlg : appConfiguration.getUserInfoEncryptionAlgValuesSupported()) {
-                userInfoEncryptionAlgValuesSupported.put(userInfoEncryptionAlg);
-            }
-            if (userInfoEncryptionAlgValuesSupported.length() > 0) {
-                jsonObj.put(USER_INFO_ENCRYPTION_ALG_VALUES_SUPPORTED, userInfoEncryptionAlgValuesSupported);
-            }
+        JSONArray grantTypesSupported = new JSONArray();
+        for (GrantType grantType : appConfiguration.getGrantTypesSupported()) {
+            grantTypesSupported.put(grantType);
+        }
+        if (grantTypesSupported.length() > 0) {
+            jsonObj.put(GRANT_TYPES_SUPPORTED, grantTypesSupported);
+        }
 
-            JSONArray userInfoEncryptionEncValuesSupported = new JSONArray();
-            for (String userInfoEncryptionEnc : appConfiguration.getUserInfoEncryptionEncValuesSupported()) {
-                userInfoEncryptionEncValuesSupported.put(userInfoEncryptionEnc);
-            }
-            if (userInfoEncryptionAlgValuesSupported.length() > 0) {
-                jsonObj.put(USER_INFO_ENCRYPTION_ENC_VALUES_SUPPORTED, userInfoEncryptionAlgValuesSupported);
-            }
+        JSONArray acrValuesSupported = new JSONArray();
+        for (String acr : externalAuthenticationService.getAcrValuesList()) {
+            acrValuesSupported.put(acr);
+        }
+        jsonObj.put(ACR_VALUES_SUPPORTED, acrValuesSupported);
+        jsonObj.put(AUTH_LEVEL_MAPPING, createAuthLevelMapping());
 
-            JSONArray idTokenSigningAlgValuesSupported = new JSONArray();
-            for (String idTokenSigningAlg : appConfiguration.getIdTokenSigningAlgValuesSupported()) {
-                idTokenSigningAlgValuesSupported.put(idTokenSigningAlg);
-            }
-            if (idTokenSigningAlgValuesSupported.length() > 0) {
-                jsonObj.put(ID_TOKEN_SIGNING_ALG_VALUES_SUPPORTED, idTokenSigningAlgValuesSupported);
-            }
+        JSONArray subjectTypesSupported = new JSONArray();
+        for (String subjectType : appConfiguration.getSubjectTypesSupported()) {
+            subjectTypesSupported.put(subjectType);
+        }
+        if (subjectTypesSupported.length() > 0) {
+            jsonObj.put(SUBJECT_TYPES_SUPPORTED, subjectTypesSupported);
+        }
 
-            JSONArray idTokenEncryptionAlgValuesSupported = new JSONArray();
-            for (String idTokenEncryptionAlg : appConfiguration.getIdTokenEncryptionAlgValuesSupported()) {
-                idTokenEncryptionAlgValuesSupported.put(idTokenEncryptionAlg);
-            }
-            if (idTokenEncryptionAlgValuesSupported.length() > 0) {
-                jsonObj.put(ID_TOKEN_ENCRYPTION_ALG_VALUES_SUPPORTED, idTokenEncryptionAlgValuesSupported);
-            }
+        JSONArray userInfoSigningAlgValuesSupported = new JSONArray();
+        for (String userInfoSigningAlg : appConfiguration.getUserInfoSigningAlgValuesSupported()) {
+            userInfoSigningAlgValuesSupported.put(userInfoSigningAlg);
+        }
+        if (userInfoSigningAlgValuesSupported.length() > 0) {
+            jsonObj.put(USER_INFO_SIGNING_ALG_VALUES_SUPPORTED, userInfoSigningAlgValuesSupported);
+        }
 
-            JSONArray idTokenEncryptionEncValuesSupported = new JSONArray();
-            for (String idTokenEncryptionEnc : appConfiguration.getIdTokenEncryptionEncValuesSupported()) {
-                idTokenEncryptionEncValuesSupported.put(idTokenEncryptionEnc);
-            }
-            if (idTokenEncryptionEncValuesSupported.length() > 0) {
-                jsonObj.put(ID_TOKEN_ENCRYPTION_ENC_VALUES_SUPPORTED, idTokenEncryptionEncValuesSupported);
-            }
+        JSONArray userInfoEncryptionAlgValuesSupported = new JSONArray();
+        for (String userInfoEncryptionAlg : appConfiguration.getUserInfoEncryptionAlgValuesSupported()) {
+            userInfoEncryptionAlgValuesSupported.put(userInfoEncryptionAlg);
+        }
+        if (userInfoEncryptionAlgValuesSupported.length() > 0) {
+            jsonObj.put(USER_INFO_ENCRYPTION_ALG_VALUES_SUPPORTED, userInfoEncryptionAlgValuesSupported);
+        }
 
-            JSONArray requestObjectSigningAlgValuesSupported = new JSONArray();
-            for (String requestObjectSigningAlg : appConfiguration.getRequestObjectSigningAlgValuesSupported()) {
-                requestObjectSigningAlgValuesSupported.put(requestObjectSigningAlg);
-            }
-            if (requestObjectSigningAlgValuesSupported.length() > 0) {
-                jsonObj.put(REQUEST_OBJECT_SIGNING_ALG_VALUES_SUPPORTED,
-                        requestObjectSigningAlgValuesSupported);
-            }
+        JSONArray userInfoEncryptionEncValuesSupported = new JSONArray();
+        for (String userInfoEncryptionEnc : appConfiguration.getUserInfoEncryptionEncValuesSupported()) {
+            userInfoEncryptionEncValuesSupported.put(userInfoEncryptionEnc);
+        }
+        if (userInfoEncryptionAlgValuesSupported.length() > 0) {
+            jsonObj.put(USER_INFO_ENCRYPTION_ENC_VALUES_SUPPORTED, userInfoEncryptionAlgValuesSupported);
+        }
 
-            JSONArray requestObjectEncryptionAlgValuesSupported = new JSONArray();
-            for (String requestObjectEncryptionAlg : appConfiguration
-                    .getRequestObjectEncryptionAlgValuesSupported()) {
-                requestObjectEncryptionAlgValuesSupported.put(requestObjectEncryptionAlg);
-            }
-            if (requestObjectEncryptionAlgValuesSupported.length() > 0) {
-                jsonObj.put(REQUEST_OBJECT_ENCRYPTION_ALG_VALUES_SUPPORTED,
-                        requestObjectEncryptionAlgValuesSupported);
-            }
+        JSONArray idTokenSigningAlgValuesSupported = new JSONArray();
+        for (String idTokenSigningAlg : appConfiguration.getIdTokenSigningAlgValuesSupported()) {
+            idTokenSigningAlgValuesSupported.put(idTokenSigningAlg);
+        }
+        if (idTokenSigningAlgValuesSupported.length() > 0) {
+            jsonObj.put(ID_TOKEN_SIGNING_ALG_VALUES_SUPPORTED, idTokenSigningAlgValuesSupported);
+        }
 
-            JSONArray requestObjectEncryptionEncValuesSupported = new JSONArray();
-            for (String requestObjectEncryptionEnc : appConfiguration
-                    .getRequestObjectEncryptionEncValuesSupported()) {
-                requestObjectEncryptionEncValuesSupported.put(requestObjectEncryptionEnc);
-            }
-            if (requestObjectEncryptionEncValuesSupported.length() > 0) {
-                jsonObj.put(REQUEST_OBJECT_ENCRYPTION_ENC_VALUES_SUPPORTED,
-                        requestObjectEncryptionEncValuesSupported);
-            }
+        JSONArray idTokenEncryptionAlgValuesSupported = new JSONArray();
+        for (String idTokenEncryptionAlg : appConfiguration.getIdTokenEncryptionAlgValuesSupported()) {
+            idTokenEncryptionAlgValuesSupported.put(idTokenEncryptionAlg);
+        }
+        if (idTokenEncryptionAlgValuesSupported.length() > 0) {
+            jsonObj.put(ID_TOKEN_ENCRYPTION_ALG_VALUES_SUPPORTED, idTokenEncryptionAlgValuesSupported);
+        }
 
-            JSONArray tokenEndpointAuthMethodsSupported = new JSONArray();
-            for (String tokenEndpointAuthMethod : appConfiguration.getTokenEndpointAuthMethodsSupported()) {
-                tokenEndpointAuthMethodsSupported.put(tokenEndpointAuthMethod);
-            }
-            if (tokenEndpointAuthMethodsSupported.length() > 0) {
-                jsonObj.put(TOKEN_ENDPOINT_AUTH_METHODS_SUPPORTED, tokenEndpointAuthMethodsSupported);
-            }
+        JSONArray idTokenEncryptionEncValuesSupported = new JSONArray();
+        for (String idTokenEncryptionEnc : appConfiguration.getIdTokenEncryptionEncValuesSupported()) {
+            idTokenEncryptionEncValuesSupported.put(idTokenEncryptionEnc);
+        }
+        if (idTokenEncryptionEncValuesSupported.length() > 0) {
+            jsonObj.put(ID_TOKEN_ENCRYPTION_ENC_VALUES_SUPPORTED, idTokenEncryptionEncValuesSupported);
+        }
 
-            JSONArray tokenEndpointAuthSigningAlgValuesSupported = new JSONArray();
-            for (String tokenEndpointAuthSigningAlg : appConfiguration
-                    .getTokenEndpointAuthSigningAlgValuesSupported()) {
-                tokenEndpointAuthSigningAlgValuesSupported.put(tokenEndpointAuthSigningAlg);
-            }
-            if (tokenEndpointAuthSigningAlgValuesSupported.length() > 0) {
-                jsonObj.put(TOKEN_ENDPOINT_AUTH_SIGNING_ALG_VALUES_SUPPORTED,
-                        tokenEndpointAuthSigningAlgValuesSupported);
-            }
+        JSONArray requestObjectSigningAlgValuesSupported = new JSONArray();
+        for (String requestObjectSigningAlg : appConfiguration.getRequestObjectSigningAlgValuesSupported()) {
+            requestObjectSigningAlgValuesSupported.put(requestObjectSigningAlg);
+        }
+        if (requestObjectSigningAlgValuesSupported.length() > 0) {
+            jsonObj.put(REQUEST_OBJECT_SIGNING_ALG_VALUES_SUPPORTED,
+                    requestObjectSigningAlgValuesSupported);
+        }
 
-            JSONArray displayValuesSupported = new JSONArray();
-            for (String display : appConfiguration.getDisplayValuesSupported()) {
-                displayValuesSupported.put(display);
-            }
-            if (displayValuesSupported.length() > 0) {
-                jsonObj.put(DISPLAY_VALUES_SUPPORTED, displayValuesSupported);
-            }
+        JSONArray requestObjectEncryptionAlgValuesSupported = new JSONArray();
+        for (String requestObjectEncryptionAlg : appConfiguration
+                .getRequestObjectEncryptionAlgValuesSupported()) {
+            requestObjectEncryptionAlgValuesSupported.put(requestObjectEncryptionAlg);
+        }
+        if (requestObjectEncryptionAlgValuesSupported.length() > 0) {
+            jsonObj.put(REQUEST_OBJECT_ENCRYPTION_ALG_VALUES_SUPPORTED,
+                    requestObjectEncryptionAlgValuesSupported);
+        }
 
-            JSONArray claimTypesSupported = new JSONArray();
-            for (String claimType : appConfiguration.getClaimTypesSupported()) {
-                claimTypesSupported.put(claimType);
-            }
-            if (claimTypesSupported.length() > 0) {
-                jsonObj.put(CLAIM_TYPES_SUPPORTED, claimTypesSupported);
-            }
+        JSONArray requestObjectEncryptionEncValuesSupported = new JSONArray();
+        for (String requestObjectEncryptionEnc : appConfiguration
+                .getRequestObjectEncryptionEncValuesSupported()) {
+            requestObjectEncryptionEncValuesSupported.put(requestObjectEncryptionEnc);
+        }
+        if (requestObjectEncryptionEncValuesSupported.length() > 0) {
+            jsonObj.put(REQUEST_OBJECT_ENCRYPTION_ENC_VALUES_SUPPORTED,
+                    requestObjectEncryptionEncValuesSupported);
+        }
 
-            JSONArray claimsSupported = new JSONArray();
-            List<GluuAttribute> gluuAttributes = attributeService.getAllAttributes();
-
-            // Preload all scopes to avoid sending request to LDAP per
-            // claim
-            List<org.xdi.oxauth.model.common.Scope> scopes = scopeService.getAllScopesList();
-
-            for (GluuAttribute gluuAttribute : gluuAttributes) {
-                if (GluuStatus.ACTIVE.equals(gluuAttribute.getStatus())) {
-                    String claimName = gluuAttribute.getOxAuthClaimName();
-                    if (StringUtils.isNotBlank(claimName)) {
-                        List<org.xdi.oxauth.model.common.Scope> scopesByClaim = scopeService
-                                .getScopesByClaim(scopes, gluuAttribute.getDn());
-                        for (org.xdi.oxauth.model.common.Scope scope : scopesByClaim) {
-                            if (ScopeType.OPENID.equals(scope.getScopeType())) {
-                                claimsSupported.put(claimName);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
+        JSONArray tokenEndpointAuthMethodsSupported = new JSONArray();
+        for (String tokenEndpointAuthMethod : appConfiguration.getTokenEndpointAuthMethodsSupported()) {
+            tokenEndpointAuthMethodsSupported.put(tokenEndpointAuthMethod);
+        }
+        if (tokenEndpointAuthMethodsSupported.length() > 0) {
+            jsonObj.put(TOKEN_ENDPOINT_AUTH_METHODS_SUPPORTED, tokenEndpointAuthMethodsSupported);
+        }
 
-            if (claimsSupported.length() > 0) {
-                jsonObj.put(CLAIMS_SUPPORTED, claimsSupported);
-            }
+        JSONArray tokenEndpointAuthSigningAlgValuesSupported = new JSONArray();
+        for (String tokenEndpointAuthSigningAlg : appConfiguration
+                .getTokenEndpointAuthSigningAlgValuesSupported()) {
+            tokenEndpointAuthSigningAlgValuesSupported.put(tokenEndpointAuthSigningAlg);
+        }
+        if (tokenEndpointAuthSigningAlgValuesSupported.length() > 0) {
+            jsonObj.put(TOKEN_ENDPOINT_AUTH_SIGNING_ALG_VALUES_SUPPORTED,
+                    tokenEndpointAuthSigningAlgValuesSupported);
+        }
 
-            jsonObj.put(SERVICE_DOCUMENTATION, appConfiguration.getServiceDocumentation());
+        JSONArray displayValuesSupported = new JSONArray();
+        for (String display : appConfiguration.getDisplayValuesSupported()) {
+            displayValuesSupported.put(display);
+        }
+        if (displayValuesSupported.length() > 0) {
+            jsonObj.put(DISPLAY_VALUES_SUPPORTED, displayValuesSupported);
+        }
 
-            JSONArray claimsLocalesSupported = new JSONArray();
-            for (String claimLocale : appConfiguration.getClaimsLocalesSupported()) {
-                claimsLocalesSupported.put(claimLocale);
-            }
-            if (claimsLocalesSupported.length() > 0) {
-                jsonObj.put(CLAIMS_LOCALES_SUPPORTED, claimsLocalesSupported);
-            }
+        JSONArray claimTypesSupported = new JSONArray();
+        for (String claimType : appConfiguration.getClaimTypesSupported()) {
+            claimTypesSupported.put(claimType);
+        }
+        if (claimTypesSupported.length() > 0) {
+            jsonObj.put(CLAIM_TYPES_SUPPORTED, claimTypesSupported);
+        }
 
-            JSONArray uiLocalesSupported = new JSONArray();
-            for (String uiLocale : appConfiguration.getUiLocalesSupported()) {
-                uiLocalesSupported.put(uiLocale);
-            }
-            if (uiLocalesSupported.length() > 0) {
-                jsonObj.put(UI_LOCALES_SUPPORTED, uiLocalesSupported);
+        JSONArray claimsSupported = new JSONArray();
+        List<GluuAttribute> gluuAttributes = attributeService.getAllAttributes();
+
+        // Preload all scopes to avoid sending request to LDAP per
+        // claim
+        List<org.xdi.oxauth.model.common.Scope> scopes = scopeService.getAllScopesList();
+
+        for (GluuAttribute gluuAttribute : gluuAttributes) {
+            if (GluuStatus.ACTIVE.equals(gluuAttribute.getStatus())) {
+                String claimName = gluuAttribute.getOxAuthClaimName();
+                if (StringUtils.isNotBlank(claimName)) {
+                    List<org.xdi.oxauth.model.common.Scope> scopesByClaim = scopeService
+                            .getScopesByClaim(scopes, gluuAttribute.getDn());
+                    for (org.xdi.oxauth.model.common.Scope scope : scopesByClaim) {
+                        if (ScopeType.OPENID.equals(scope.getScopeType())) {
+                            claimsSupported.put(claimName);
+                            break;
+                        }
+                    }
+                }
             }
+        }
 
-            jsonObj.put(SCOPE_TO_CLAIMS_MAPPING, createScopeToClaimsMapping());
+        if (claimsSupported.length() > 0) {
+            jsonObj.put(CLAIMS_SUPPORTED, claimsSupported);
+        }
 
-            jsonObj.put(CLAIMS_PARAMETER_SUPPORTED, appConfiguration.getClaimsParameterSupported());
-            jsonObj.put(REQUEST_PARAMETER_SUPPORTED, appConfiguration.getRequestParameterSupported());
-            jsonObj.put(REQUEST_URI_PARAMETER_SUPPORTED, appConfiguration.getRequestUriParameterSupported());
-            jsonObj.put(REQUIRE_REQUEST_URI_REGISTRATION, appConfiguration.getRequireRequestUriRegistration());
-            jsonObj.put(OP_POLICY_URI, appConfiguration.getOpPolicyUri());
-            jsonObj.put(OP_TOS_URI, appConfiguration.getOpTosUri());
-            jsonObj.put(FRONTCHANNEL_LOGOUT_SUPPORTED, "true");
-            jsonObj.put(FRONTCHANNEL_LOGOUT_SESSION_SUPPORTED, "true");
-            jsonObj.put(FRONT_CHANNEL_LOGOUT_SESSION_SUPPORTED, appConfiguration.getFrontChannelLogoutSessionSupported());
+        jsonObj.put(SERVICE_DOCUMENTATION, appConfiguration.getServiceDocumentation());
 
-            out.println(jsonObj.toString(4).replace("\\/", "/"));
-        } catch (JSONException e) {
-            log.error(e.getMessage(), e);
-        } catch (Exception e) {
-            log.error(e.getMessage(), e);
-        } finally {
-            out.close();
+        JSONArray claimsLocalesSupported = new JSONArray();
+        for (String claimLocale : appConfiguration.getClaimsLocalesSupported()) {
+            claimsLocalesSupported.put(claimLocale);
+        }
+        if (claimsLocalesSupported.length() > 0) {
+            jsonObj.put(CLAIMS_LOCALES_SUPPORTED, claimsLocalesSupported);
+        }
+
+        JSONArray uiLocalesSupported = new JSONArray();
+        for (String uiLocale : appConfiguration.getUiLocalesSupported()) {
+            uiLocalesSupported.put(uiLocale);
+        }
+        if (uiLocalesSupported.length() > 0) {
+            jsonObj.put(UI_LOCALES_SUPPORTED, uiLocalesSupported);
         }
+
+        jsonObj.put(SCOPE_TO_CLAIMS_MAPPING, createScopeToClaimsMapping());
+
+        jsonObj.put(CLAIMS_PARAMETER_SUPPORTED, appConfiguration.getClaimsParameterSupported());
+        jsonObj.put(REQUEST_PARAMETER_SUPPORTED, appConfiguration.getRequestParameterSupported());
+        jsonObj.put(REQUEST_URI_PARAMETER_SUPPORTED, appConfiguration.getRequestUriParameterSupported());
+        jsonObj.put(REQUIRE_REQUEST_URI_REGISTRATION, appConfiguration.getRequireRequestUriRegistration());
+        jsonObj.put(OP_POLICY_URI, appConfiguration.getOpPolicyUri());
+        jsonObj.put(OP_TOS_URI, appConfiguration.getOpTosUri());
+        jsonObj.put(FRONTCHANNEL_LOGOUT_SUPPORTED, "true");
+        jsonObj.put(FRONTCHANNEL_LOGOUT_SESSION_SUPPORTED, "true");
+        jsonObj.put(FRONT_CHANNEL_LOGOUT_SESSION_SUPPORTED, appConfiguration.getFrontChannelLogoutSessionSupported());
+        jsonObj.put(BACKCHANNEL_LOGOUT_SUPPORTED, true);
+        jsonObj.put(BACKCHANNEL_LOGOUT_SESSION_SUPPORTED, true);
+
+        return jsonObj.toString(4).replace("\\/", "/");
     }
 
     /**
@@ -26,6 +26,7 @@ import org.xdi.oxauth.model.session.EndSessionParamsValidator;
 import org.xdi.oxauth.model.util.Util;
 import org.xdi.oxauth.service.ClientService;
 import org.xdi.oxauth.service.GrantService;
+import org.xdi.oxauth.service.LogoutDispatcher;
 import org.xdi.oxauth.service.RedirectionUriService;
 import org.xdi.oxauth.service.SessionIdService;
 import org.xdi.oxauth.service.external.ExternalApplicationSessionService;
@@ -77,6 +78,9 @@ public class EndSessionRestWebServiceImpl implements EndSessionRestWebService {
     @Inject
     private GrantService grantService;
 
+    @Inject
+    private LogoutDispatcher logoutDispatcher;
+
     @Inject
     private Identity identity;
 
@@ -124,7 +128,10 @@ public class EndSessionRestWebServiceImpl implements EndSessionRestWebService {
             redirectUri = redirectionUriService.validatePostLogoutRedirectUri(authorizationGrant.getClient().getClientId(), postLogoutRedirectUri);
         }
 
-        final Set<String> frontchannelLogoutUris = getRpFrontchannelLogoutUris(pair);
+        final Set<Client> clients = getSessionClients(pair);
+        logoutDispatcher.dispatch(sessionId, clients);
+
+        final Set<String> frontchannelLogoutUris = getRpFrontchannelLogoutUris(sessionId, clients);
         final String html = constructPage(frontchannelLogoutUris, redirectUri, state);
         log.debug("Constructed http logout page: " + html);
         return Response.ok().
@@ -181,15 +188,16 @@ public class EndSessionRestWebServiceImpl implements EndSessionRestWebService {
         return new Pair<SessionId, AuthorizationGrant>(ldapSessionId, authorizationGrant);
     }
 
-    private Set<String> getRpFrontchannelLogoutUris(Pair<SessionId, AuthorizationGrant> pair) {
-        final Set<String> result = Sets.newHashSet();
-
+    /**
+     * Resolves clients once for both backchannel notifications and frontchannel iframes.
+     */
+    private Set<Client> getSessionClients(Pair<SessionId, AuthorizationGrant> pair) {
         SessionId sessionId = pair.getFirst();
         AuthorizationGrant authorizationGrant = pair.getSecond();
         if (sessionId == null) {
             log.error("session_id is not passed to endpoint (as cookie or manually). Therefore unable to match clients for session_id." +
                     "Http based html will contain no iframes.");
-            return result;
+            return Sets.newHashSet();
         }
 
         final Set<Client> clientsByDns = sessionId.getPermissionGrantedMap() != null ?
@@ -198,8 +206,13 @@ public class EndSessionRestWebServiceImpl implements EndSessionRestWebService {
         if (authorizationGrant != null) {
             clientsByDns.add(authorizationGrant.getClient());
         }
+        return clientsByDns;
+    }
+
+    private Set<String> getRpFrontchannelLogoutUris(SessionId sessionId, Set<Client> clients) {
+        final Set<String> result = Sets.newHashSet();
 
-        for (Client client : clientsByDns) {
+        for (Client client : clients) {
             String[] logoutUris = client.getFrontChannelLogoutUri();
 
             if (logoutUris == null) {
@@ -153,8 +153,12 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
                     if (authorizationCodeGrant != null) {
                         validatePKCE(authorizationCodeGrant, codeVerifier, oAuth2AuditLog);
 
+                        authorizationCodeGrant.beginIssuance();
                         authorizationCodeGrant.setIsCachedWithNoPersistence(false);
                         authorizationCodeGrant.save();
+                        if (scope != null && !scope.isEmpty()) {
+                            scope = authorizationCodeGrant.checkScopesPolicy(scope);
+                        }
 
                         AccessToken accToken = authorizationCodeGrant.createAccessToken();
                         log.debug("Issuing access token: {}", accToken.getCode());
@@ -166,10 +170,6 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
                             reToken = authorizationCodeGrant.createRefreshToken();
                         }
 
-                        if (scope != null && !scope.isEmpty()) {
-                            scope = authorizationCodeGrant.checkScopesPolicy(scope);
-                        }
-
                         IdToken idToken = null;
                         if (authorizationCodeGrant.getScopes().contains("openid")) {
                             String nonce = authorizationCodeGrant.getNonce();
@@ -179,6 +179,8 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
                                     nonce, null, accToken, authorizationCodeGrant, includeIdTokenClaims);
                         }
 
+                        authorizationCodeGrant.commitIssuance();
+
                         builder.entity(getJSonResponse(accToken,
                                 accToken.getTokenType(),
                                 accToken.getExpiresIn(),
@@ -188,11 +190,12 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
 
                         oAuth2AuditLog.updateOAuth2AuditLog(authorizationCodeGrant, true);
 
-                        grantService.removeByCode(authorizationCodeGrant.getAuthorizationCode().getCode(), authorizationCodeGrant.getClientId());
+                        grantService.removeUsedAuthorizationCode(authorizationCodeGrant.getAuthorizationCode().getCode(),
+                                authorizationCodeGrant.getClientId(), authorizationCodeGrant.getGrantId());
                     } else {
                         log.debug("AuthorizationCodeGrant is empty by clinetId: '{}', code: '{}'", client.getClientId(), code);
                         // if authorization code is not found then code was already used = remove all grants with this auth code
-                        grantService.removeAllByAuthorizationCode(code);
+                        grantService.removeAllByAuthorizationCode(code, client.getClientId());
                         builder = error(400, TokenErrorResponseType.INVALID_GRANT);
                     }
                 } else if (gt == GrantType.REFRESH_TOKEN) {
@@ -203,6 +206,11 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
                     AuthorizationGrant authorizationGrant = authorizationGrantList.getAuthorizationGrantByRefreshToken(client.getClientId(), refreshToken);
 
                     if (authorizationGrant != null) {
+                        authorizationGrant.beginIssuance();
+                        if (scope != null && !scope.isEmpty()) {
+                            scope = authorizationGrant.checkScopesPolicy(scope);
+                        }
+
                         AccessToken accToken = authorizationGrant.createAccessToken();
 
                         /*
@@ -213,9 +221,7 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
                         RefreshToken reToken = authorizationGrant.createRefreshToken();
                         grantService.removeByCode(refreshToken, client.getClientId());
 
-                        if (scope != null && !scope.isEmpty()) {
-                            scope = authorizationGrant.checkScopesPolicy(scope);
-                        }
+                        authorizationGrant.commitIssuance();
 
                         builder.entity(getJSonResponse(accToken,
                                 accToken.getTokenType(),
@@ -234,12 +240,13 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
 
                     ClientCredentialsGrant clientCredentialsGrant = authorizationGrantList.createClientCredentialsGrant(new User(), client); // TODO: fix the user arg
 
-                    AccessToken accessToken = clientCredentialsGrant.createAccessToken();
-
+                    clientCredentialsGrant.beginIssuance();
                     if (scope != null && !scope.isEmpty()) {
                         scope = clientCredentialsGrant.checkScopesPolicy(scope);
                     }
 
+                    AccessToken accessToken = clientCredentialsGrant.createAccessToken();
+
                     IdToken idToken = null;
                     if (clientCredentialsGrant.getScopes().contains("openid")) {
                         boolean includeIdTokenClaims = Boolean.TRUE.equals(
@@ -248,6 +255,8 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
                                 null, null, null, clientCredentialsGrant, includeIdTokenClaims);
                     }
 
+                    clientCredentialsGrant.commitIssuance();
+
                     oAuth2AuditLog.updateOAuth2AuditLog(clientCredentialsGrant, true);
                     builder.entity(getJSonResponse(accessToken,
                             accessToken.getTokenType(),
@@ -277,13 +286,14 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
 
                     if (user != null) {
                         ResourceOwnerPasswordCredentialsGrant resourceOwnerPasswordCredentialsGrant = authorizationGrantList.createResourceOwnerPasswordCredentialsGrant(user, client);
-                        AccessToken accessToken = resourceOwnerPasswordCredentialsGrant.createAccessToken();
-                        RefreshToken reToken = resourceOwnerPasswordCredentialsGrant.createRefreshToken();
-
+                        resourceOwnerPasswordCredentialsGrant.beginIssuance();
                         if (scope != null && !scope.isEmpty()) {
                             scope = resourceOwnerPasswordCredentialsGrant.checkScopesPolicy(scope);
                         }
 
+                        AccessToken accessToken = resourceOwnerPasswordCredentialsGrant.createAccessToken();
+                        RefreshToken reToken = resourceOwnerPasswordCredentialsGrant.createRefreshToken();
+
                         IdToken idToken = null;
                         if (resourceOwnerPasswordCredentialsGrant.getScopes().contains("openid")) {
                             boolean includeIdTokenClaims = Boolean.TRUE.equals(
@@ -292,6 +302,8 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
                                     null, null, null, resourceOwnerPasswordCredentialsGrant, includeIdTokenClaims);
                         }
 
+                        resourceOwnerPasswordCredentialsGrant.commitIssuance();
+
                         oAuth2AuditLog.updateOAuth2AuditLog(resourceOwnerPasswordCredentialsGrant, true);
                         builder.entity(getJSonResponse(accessToken,
                                 accessToken.getTokenType(),
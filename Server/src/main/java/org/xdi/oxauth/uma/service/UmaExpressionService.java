@@ -5,14 +5,11 @@ import com.ocpsoft.pretty.faces.util.StringUtils;
 import org.gluu.persist.ldap.impl.LdapEntryManager;
 import org.slf4j.Logger;
 import org.xdi.oxauth.model.error.ErrorResponseFactory;
-import org.xdi.oxauth.model.uma.JsonLogic;
-import org.xdi.oxauth.model.uma.JsonLogicNode;
+import org.xdi.oxauth.model.uma.JsonLogicExpression;
 import org.xdi.oxauth.model.uma.JsonLogicNodeParser;
 import org.xdi.oxauth.model.uma.UmaErrorResponseType;
 import org.xdi.oxauth.model.uma.persistence.UmaPermission;
 import org.xdi.oxauth.model.uma.persistence.UmaResource;
-import org.xdi.oxauth.model.util.Util;
-import org.xdi.oxauth.service.external.ExternalUmaRptPolicyService;
 import org.xdi.oxauth.uma.authorization.UmaAuthorizationContext;
 import org.xdi.oxauth.uma.authorization.UmaScriptByScope;
 import org.xdi.oxauth.uma.authorization.UmaWebException;
@@ -22,6 +19,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.core.Response;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,26 +34,28 @@ public class UmaExpressionService {
     @Inject
     private Logger log;
     @Inject
-    private ExternalUmaRptPolicyService policyService;
+    private UmaPolicyEvaluator policyEvaluator;
     @Inject
     private ErrorResponseFactory errorResponseFactory;
     @Inject
     private UmaResourceService resourceService;
     @Inject
-
     private UmaPermissionService permissionService;
+    @Inject
+    private UmaScopeExpressionCache scopeExpressionCache;
 
     public boolean isExpressionValid(String expression) {
         return JsonLogicNodeParser.isNodeValid(expression);
     }
 
     public void evaluate(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, List<UmaPermission> permissions) {
+        final UmaPolicyEvaluator.Evaluation evaluation = policyEvaluator.newEvaluation();
         for (UmaPermission permission : permissions) {
             UmaResource resource = resourceService.getResourceById(permission.getResourceId());
             if (StringUtils.isNotBlank(resource.getScopeExpression())) {
-                evaluateScopeExpression(scriptMap, permission, resource);
+                evaluateScopeExpression(evaluation, scriptMap, permission, resource);
             } else {
-                if (!evaluateByScopes(filterByScopeDns(scriptMap, permission.getScopeDns()))) {
+                if (!evaluation.authorize(filterByScopeDns(scriptMap, permission.getScopeDns()))) {
                     log.trace("Regular evaluation returns false, access FORBIDDEN.");
                     throw new UmaWebException(Response.Status.FORBIDDEN, errorResponseFactory, UmaErrorResponseType.FORBIDDEN_BY_POLICY);
                 }
@@ -63,46 +63,30 @@ public class UmaExpressionService {
         }
     }
 
-    private boolean evaluateByScopes(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap) {
-        for (Map.Entry<UmaScriptByScope, UmaAuthorizationContext> entry : scriptMap.entrySet()) {
-            final boolean result = policyService.authorize(entry.getKey().getScript(), entry.getValue());
-            log.trace("Policy script inum: '{}' result: '{}'", entry.getKey().getScript().getInum(), result);
-            if (!result) {
-                log.trace("Stop authorization scriptMap execution, current script returns false, script inum: " + entry.getKey().getScript().getInum() + ", scope: " + entry.getKey().getScope());
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private void evaluateScopeExpression(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, UmaPermission permission, UmaResource resource) {
+    private void evaluateScopeExpression(UmaPolicyEvaluator.Evaluation evaluation, Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, UmaPermission permission, UmaResource resource) {
         String scopeExpression = resource.getScopeExpression();
-        JsonLogicNode node = JsonLogicNodeParser.parseNode(scopeExpression);
-        if (node != null) {
+        JsonLogicExpression expression = scopeExpressionCache.get(resource);
+        if (expression != null) {
             log.trace("Evaluating scope expression ...");
 
-            // validate scopes, all must be present
-            List<String> dataScopes = node.getDataCopy();
+            // validate scopes, all must be present and each of them must have policy
+            List<String> dataScopes = expression.getData();
             Map<String, String> scopeIdToDnMap = scopeIdToDnMap(scriptMap, permission.getScopeDns());
-            if (dataScopes.size() == scopeIdToDnMap.size()) {
+            List<Map<UmaScriptByScope, UmaAuthorizationContext>> scopeScripts = getScopeScripts(scriptMap, dataScopes, scopeIdToDnMap, permission.getScopeDns());
+            if (scopeScripts != null) {
                 try {
                     List<Boolean> evaluatedResults = new ArrayList<Boolean>();
-                    for (String scopeId : dataScopes) {
+                    for (int i = 0; i < dataScopes.size(); i++) {
+                        String scopeId = dataScopes.get(i);
                         log.trace("Evaluating scope result for scope: " + scopeId + " ...");
-                        boolean b = evaluateByScopes(filterByScopeDns(scriptMap, permission.getScopeDns()));
+                        boolean b = evaluation.authorize(scopeScripts.get(i));
                         log.trace("Evaluated scope result: " + b + ", scope: " + scopeId);
                         evaluatedResults.add(b);
                     }
 
-                    String rule = node.getRule().toString();
-                    final boolean result;
-                    if (evaluatedResults.isEmpty()) {
-                        result = JsonLogic.apply(rule);
-                    } else {
-                        result = JsonLogic.apply(rule, Util.asJsonSilently(evaluatedResults));
-                    }
+                    final boolean result = expression.evaluate(evaluatedResults);
 
-                    log.trace("JsonLogic evaluation result: " + result + ", rule: " + rule + ", data:" + Util.asJsonSilently(evaluatedResults));
+                    log.trace("JsonLogic evaluation result: " + result + ", expression: " + scopeExpression + ", data:" + evaluatedResults);
                     if (result) {
                         // access granted at this point but we have to remove scopes from permissions for which we got 'false' result
                         removeFalseScopesFromPermission(permission, dataScopes, scopeIdToDnMap, evaluatedResults);
@@ -112,7 +96,7 @@ public class UmaExpressionService {
                     log.error("Failed to evaluate jsonlogic expression. Expression: " + scopeExpression + ", resourceDn: " + resource.getDn());
                 }
             } else {
-                log.error("Scope size in JsonLogic object 'data' and in permission differs which is forbidden. Node data: " + node +
+                log.error("Scopes in JsonLogic object 'data' and in permission differ or some of them have no policy which is forbidden. Node data: " + dataScopes +
                         ", permissionDns: " + permission.getScopeDns() + ", result scopeIds: " + scopeIdToDnMap);
             }
         } else {
@@ -141,30 +125,46 @@ public class UmaExpressionService {
         }
     }
 
-    private static Map<String, String> scopeIdToDnMap(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, List<String> scriptDNs) {
-        Map<String, String> result = new HashMap<String, String>();
-        for (Map.Entry<UmaScriptByScope, UmaAuthorizationContext> entry : scriptMap.entrySet()) {
-            if (scriptDNs.contains(entry.getKey().getScope().getDn())) {
-                result.put(entry.getKey().getScope().getId(), entry.getKey().getScope().getDn());
+    /**
+     * @return scripts of each scope in 'data' order or <code>null</code> if 'data' and permission scopes are not the
+     * same set or some scope has no script
+     */
+    static List<Map<UmaScriptByScope, UmaAuthorizationContext>> getScopeScripts(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap,
+                                                                                 List<String> dataScopes, Map<String, String> scopeIdToDnMap,
+                                                                                 List<String> permissionScopeDns) {
+        if (dataScopes == null || permissionScopeDns == null) {
+            return null;
+        }
+        if (!scopeIdToDnMap.keySet().containsAll(dataScopes) || !dataScopes.containsAll(scopeIdToDnMap.keySet())
+                || !scopeIdToDnMap.values().containsAll(permissionScopeDns)) {
+            return null;
+        }
+
+        List<Map<UmaScriptByScope, UmaAuthorizationContext>> result = new ArrayList<Map<UmaScriptByScope, UmaAuthorizationContext>>();
+        for (String scopeId : dataScopes) {
+            Map<UmaScriptByScope, UmaAuthorizationContext> scripts = filterByScopeDns(scriptMap, Collections.singletonList(scopeIdToDnMap.get(scopeId)));
+            if (scripts.isEmpty()) {
+                return null;
             }
+            result.add(scripts);
         }
         return result;
     }
 
-    private static Map<UmaScriptByScope, UmaAuthorizationContext> filterByScopeDns(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, List<String> scopeDNs) {
-        Map<UmaScriptByScope, UmaAuthorizationContext> result = new HashMap<UmaScriptByScope, UmaAuthorizationContext>();
+    static Map<String, String> scopeIdToDnMap(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, List<String> scriptDNs) {
+        Map<String, String> result = new HashMap<String, String>();
         for (Map.Entry<UmaScriptByScope, UmaAuthorizationContext> entry : scriptMap.entrySet()) {
-            if (scopeDNs.contains(entry.getKey().getScope().getDn())) {
-                result.put(entry.getKey(), entry.getValue());
+            if (scriptDNs.contains(entry.getKey().getScope().getDn())) {
+                result.put(entry.getKey().getScope().getId(), entry.getKey().getScope().getDn());
             }
         }
         return result;
     }
 
-    private static Map<UmaScriptByScope, UmaAuthorizationContext> filterByScopeId(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, String scopeId) {
+    private static Map<UmaScriptByScope, UmaAuthorizationContext> filterByScopeDns(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, List<String> scopeDNs) {
         Map<UmaScriptByScope, UmaAuthorizationContext> result = new HashMap<UmaScriptByScope, UmaAuthorizationContext>();
         for (Map.Entry<UmaScriptByScope, UmaAuthorizationContext> entry : scriptMap.entrySet()) {
-            if (entry.getKey().getScope().getId().equals(scopeId)) {
+            if (scopeDNs.contains(entry.getKey().getScope().getDn())) {
                 result.put(entry.getKey(), entry.getValue());
             }
         }
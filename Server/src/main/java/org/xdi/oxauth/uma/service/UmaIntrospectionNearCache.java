@@ -0,0 +1,106 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.uma.service;
+
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.service.AbstractNearCache;
+import org.xdi.oxauth.uma.authorization.UmaPCT;
+import org.xdi.oxauth.uma.authorization.UmaRPT;
+import org.xdi.oxauth.util.TokenHashUtil;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.Date;
+
+/**
+ * In-process cache of RPTs and PCTs resolved by RPT introspection, keyed by hashed token code.
+ * <p>
+ * Cached objects are shared between requests and are read only, code which modifies RPT or PCT must load it
+ * with {@link UmaRptService} or {@link UmaPctService} and invalidate entry here. Permissions of RPT are not cached
+ * here, they are resolved by DN through {@link UmaPermissionNearCache} which is invalidated on every permission change.
+ */
+@ApplicationScoped
+@Named
+public class UmaIntrospectionNearCache extends AbstractNearCache<Object> {
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    private static String getRptKey(String rptCode) {
+        return "rpt_" + TokenHashUtil.getHashedToken(rptCode);
+    }
+
+    private static String getPctKey(String pctCode) {
+        return "pct_" + TokenHashUtil.getHashedToken(pctCode);
+    }
+
+    public UmaRPT getRpt(String rptCode) {
+        Object entry = get(getRptKey(rptCode));
+        if (entry instanceof UmaRPT) {
+            UmaRPT rpt = (UmaRPT) entry;
+            if (rpt.getExpirationDate() == null || !new Date().after(rpt.getExpirationDate())) {
+                return rpt;
+            }
+            invalidateLocally(getRptKey(rptCode));
+        }
+        return null;
+    }
+
+    public void putRpt(UmaRPT rpt) {
+        if (rpt != null && rpt.getCode() != null) {
+            put(getRptKey(rpt.getCode()), rpt);
+        }
+    }
+
+    public void invalidateRpt(String rptCode) {
+        if (rptCode != null) {
+            invalidate(getRptKey(rptCode));
+        }
+    }
+
+    public UmaPCT getPct(String pctCode) {
+        Object pct = get(getPctKey(pctCode));
+        if (pct instanceof UmaPCT) {
+            return (UmaPCT) pct;
+        }
+        return null;
+    }
+
+    public void putPct(UmaPCT pct) {
+        if (pct != null && pct.getCode() != null) {
+            put(getPctKey(pct.getCode()), pct);
+        }
+    }
+
+    public void invalidatePct(String pctCode) {
+        if (pctCode != null) {
+            invalidate(getPctKey(pctCode));
+        }
+    }
+
+    @Override
+    protected String getRegion() {
+        return "uma_introspection";
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return appConfiguration.getUmaIntrospectionNearCacheEnabled();
+    }
+
+    @Override
+    protected int getSize() {
+        return appConfiguration.getUmaIntrospectionNearCacheSize();
+    }
+
+    @Override
+    protected int getLifetime() {
+        return appConfiguration.getUmaIntrospectionNearCacheLifetime();
+    }
+
+}
@@ -21,6 +21,7 @@ import org.xdi.oxauth.model.configuration.AppConfiguration;
 import org.xdi.oxauth.model.jwt.Jwt;
 import org.xdi.oxauth.model.jwt.JwtClaims;
 import org.xdi.oxauth.model.uma.persistence.UmaPermission;
+import org.xdi.oxauth.service.CleanerStatistics;
 import org.xdi.oxauth.service.CleanerTimer;
 import org.xdi.oxauth.uma.authorization.UmaPCT;
 import org.xdi.util.INumGenerator;
@@ -46,6 +47,9 @@ public class UmaPctService {
     @Inject
     private AppConfiguration appConfiguration;
 
+    @Inject
+    private UmaIntrospectionNearCache introspectionNearCache;
+
     public UmaPCT updateClaims(UmaPCT pct, Jwt idToken, String clientId, List<UmaPermission> permissions) {
         try {
             String ticketPctCode = permissions.get(0).getAttributes().get("pct");
@@ -80,6 +84,7 @@ public class UmaPctService {
             pct.setClaims(pctClaims);
             log.trace("PCT code: " + pct.getCode() + ", claims: " + pct.getClaimValuesAsJson());
 
+            introspectionNearCache.invalidatePct(pct.getCode());
             return ldapEntryManager.merge(pct);
         } catch (Exception e) {
             log.error("Failed to update PCT claims. " + e.getMessage(), e);
@@ -139,6 +144,7 @@ public class UmaPctService {
     }
 
     public void remove(UmaPCT umaPCT) {
+        introspectionNearCache.invalidatePct(umaPCT.getCode());
         ldapEntryManager.remove(umaPCT);
     }
 
@@ -178,16 +184,19 @@ public class UmaPctService {
         return String.format("ou=pct,%s", umaBaseDn);
     }
 
-    public void cleanup(final Date now) {
+    public void cleanup(final Date now, final CleanerStatistics statistics) {
         prepareBranch();
 
         BatchOperation<UmaPCT> batchService = new ProcessBatchOperation<UmaPCT>() {
             @Override
             public void performAction(List<UmaPCT> entries) {
+                statistics.found(entries.size());
                 for (UmaPCT p : entries) {
                     try {
                         remove(p);
+                        statistics.removed(1);
                     } catch (Exception e) {
+                        statistics.failed(1);
                         log.error("Failed to remove entry", e);
                     }
                 }
@@ -203,6 +212,7 @@ public class UmaPctService {
 
     public void merge(UmaPCT pct) {
         try {
+            introspectionNearCache.invalidatePct(pct.getCode());
             ldapEntryManager.merge(pct);
         } catch (Exception e) {
             log.error("Failed to merge PCT, code: " + pct.getCode() + ". " + e.getMessage(), e);
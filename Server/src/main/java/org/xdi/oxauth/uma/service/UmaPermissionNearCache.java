@@ -0,0 +1,69 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.uma.service;
+
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.uma.persistence.UmaPermission;
+import org.xdi.oxauth.service.AbstractNearCache;
+import org.xdi.util.StringHelper;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * In-process cache of UMA permissions keyed by DN. Used by RPT introspection which resolves every permission
+ * DN attached to RPT.
+ */
+@ApplicationScoped
+@Named
+public class UmaPermissionNearCache extends AbstractNearCache<UmaPermission> {
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    public static String getKey(String dn) {
+        return StringHelper.toLowerCase(dn);
+    }
+
+    public UmaPermission getByDn(String dn) {
+        return get(getKey(dn));
+    }
+
+    public void put(UmaPermission permission) {
+        if (permission != null && permission.getDn() != null) {
+            put(getKey(permission.getDn()), permission);
+        }
+    }
+
+    public void invalidate(UmaPermission permission) {
+        if (permission != null && permission.getDn() != null) {
+            invalidate(getKey(permission.getDn()));
+        }
+    }
+
+    @Override
+    protected String getRegion() {
+        return "uma_permission";
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return appConfiguration.getUmaPermissionNearCacheEnabled();
+    }
+
+    @Override
+    protected int getSize() {
+        return appConfiguration.getUmaPermissionNearCacheSize();
+    }
+
+    @Override
+    protected int getLifetime() {
+        return appConfiguration.getUmaPermissionNearCacheLifetime();
+    }
+
+}
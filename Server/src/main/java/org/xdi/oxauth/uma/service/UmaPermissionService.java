@@ -17,6 +17,7 @@ import org.slf4j.Logger;
 import org.xdi.oxauth.model.config.StaticConfiguration;
 import org.xdi.oxauth.model.uma.UmaPermissionList;
 import org.xdi.oxauth.model.uma.persistence.UmaPermission;
+import org.xdi.oxauth.service.CleanerStatistics;
 import org.xdi.oxauth.service.CleanerTimer;
 import org.xdi.util.INumGenerator;
 
@@ -36,6 +37,13 @@ public class UmaPermissionService {
 
     private static final String ORGUNIT_OF_RESOURCE_PERMISSION = "uma_permission";
 
+    private static final String TICKET_RDN_PREFIX = "oxTicket=";
+
+    /**
+     * Maximum number of tickets in one OR filter of bulk lookup.
+     */
+    private static final int BULK_FILTER_SIZE = 100;
+
     @Inject
     private Logger log;
 
@@ -48,6 +56,9 @@ public class UmaPermissionService {
     @Inject
     private UmaScopeService scopeService;
 
+    @Inject
+    private UmaPermissionNearCache permissionNearCache;
+
     public static String getDn(String clientDn, String ticket) {
         return String.format("oxTicket=%s,%s", ticket, getBranchDn(clientDn));
     }
@@ -100,11 +111,13 @@ public class UmaPermissionService {
     }
 
     public void merge(UmaPermission permission) {
+        permissionNearCache.invalidate(permission);
         ldapEntryManager.merge(permission);
     }
 
     public void mergeSilently(UmaPermission permission) {
         try {
+            permissionNearCache.invalidate(permission);
             ldapEntryManager.merge(permission);
         } catch (Exception e) {
             log.error("Failed to persist permission: " + permission, e);
@@ -122,6 +135,96 @@ public class UmaPermissionService {
         return null;
     }
 
+    /**
+     * Resolves permissions by DN. Cached permissions are taken from near cache, others are loaded with one search
+     * per permission branch (client) which matches all requested tickets at once.
+     *
+     * @return found permissions in order of given DNs, missing permissions are skipped
+     */
+    public List<UmaPermission> getPermissionsByDns(List<String> dns) {
+        final List<UmaPermission> result = new ArrayList<UmaPermission>();
+        if (dns == null || dns.isEmpty()) {
+            return result;
+        }
+
+        final Map<String, UmaPermission> found = new HashMap<String, UmaPermission>();
+        final Map<String, List<String>> ticketsByBranch = new HashMap<String, List<String>>();
+        for (String dn : dns) {
+            final String key = UmaPermissionNearCache.getKey(dn);
+            if (found.containsKey(key)) {
+                continue;
+            }
+
+            UmaPermission permission = permissionNearCache.getByDn(dn);
+            if (permission != null) {
+                found.put(key, permission);
+                continue;
+            }
+
+            final String rdn = StringUtils.substringBefore(dn, ",");
+            final String branchDn = StringUtils.substringAfter(dn, ",");
+            if (StringUtils.startsWithIgnoreCase(rdn, TICKET_RDN_PREFIX) && StringUtils.isNotBlank(branchDn)) {
+                List<String> tickets = ticketsByBranch.get(branchDn);
+                if (tickets == null) {
+                    tickets = new ArrayList<String>();
+                    ticketsByBranch.put(branchDn, tickets);
+                }
+                tickets.add(rdn.substring(TICKET_RDN_PREFIX.length()));
+            } else {
+                permission = findByDn(dn);
+                if (permission != null) {
+                    found.put(key, permission);
+                    permissionNearCache.put(permission);
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<String>> branch : ticketsByBranch.entrySet()) {
+            final List<String> tickets = branch.getValue();
+            for (int from = 0; from < tickets.size(); from += BULK_FILTER_SIZE) {
+                final List<String> chunk = tickets.subList(from, Math.min(from + BULK_FILTER_SIZE, tickets.size()));
+                for (UmaPermission permission : findByTickets(branch.getKey(), chunk)) {
+                    found.put(UmaPermissionNearCache.getKey(permission.getDn()), permission);
+                    permissionNearCache.put(permission);
+                }
+            }
+        }
+
+        for (String dn : dns) {
+            final UmaPermission permission = found.get(UmaPermissionNearCache.getKey(dn));
+            if (permission != null) {
+                result.add(permission);
+            }
+        }
+        return result;
+    }
+
+    private List<UmaPermission> findByTickets(String branchDn, List<String> tickets) {
+        try {
+            final Filter[] filters = new Filter[tickets.size()];
+            for (int i = 0; i < tickets.size(); i++) {
+                filters[i] = Filter.createEqualityFilter("oxTicket", tickets.get(i));
+            }
+            final Filter filter = filters.length == 1 ? filters[0] : Filter.createORFilter(filters);
+            final List<UmaPermission> entries = ldapEntryManager.findEntries(branchDn, UmaPermission.class, filter);
+            if (entries != null) {
+                return entries;
+            }
+        } catch (Exception e) {
+            log.trace(e.getMessage(), e);
+        }
+        return Collections.emptyList();
+    }
+
+    private UmaPermission findByDn(String dn) {
+        try {
+            return ldapEntryManager.find(UmaPermission.class, dn);
+        } catch (Exception e) {
+            log.trace(e.getMessage(), e);
+        }
+        return null;
+    }
+
     public String getPermissionTicketByConfigurationCode(String configurationCode, String clientDn) {
         final UmaPermission permission = getPermissionByConfigurationCode(configurationCode, clientDn);
         if (permission != null) {
@@ -147,6 +250,7 @@ public class UmaPermissionService {
         try {
             final List<UmaPermission> permissions = getPermissionsByTicket(ticket);
             for (UmaPermission p : permissions) {
+                permissionNearCache.invalidate(p);
                 ldapEntryManager.remove(p);
             }
         } catch (Exception e) {
@@ -154,14 +258,18 @@ public class UmaPermissionService {
         }
     }
 
-    public void cleanup(final Date now) {
+    public void cleanup(final Date now, final CleanerStatistics statistics) {
     	BatchOperation<UmaPermission> batchService = new ProcessBatchOperation<UmaPermission>() {
             @Override
             public void performAction(List<UmaPermission> entries) {
+                statistics.found(entries.size());
                 for (UmaPermission p : entries) {
                     try {
+                        permissionNearCache.invalidate(p);
                         ldapEntryManager.remove(p);
+                        statistics.removed(1);
                     } catch (Exception e) {
+                        statistics.failed(1);
                         log.error("Failed to remove entry", e);
                     }
                 }
@@ -196,6 +304,7 @@ public class UmaPermissionService {
         String newTicket = generateNewTicket();
 
         for (UmaPermission permission : permissions) {
+            permissionNearCache.invalidate(permission);
             ldapEntryManager.remove(permission);
 
             String dn = String.format("oxTicket=%s,%s", newTicket, StringUtils.substringAfter(permission.getDn(), ","));
@@ -0,0 +1,175 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.uma.service;
+
+import org.slf4j.Logger;
+import org.xdi.model.custom.script.conf.CustomScriptConfiguration;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.service.external.ExternalUmaRptPolicyService;
+import org.xdi.oxauth.uma.authorization.UmaAuthorizationContext;
+import org.xdi.oxauth.uma.authorization.UmaScriptByScope;
+import org.xdi.oxauth.util.ServerUtil;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs UMA RPT policy scripts.
+ * <p>
+ * Each {@link Evaluation} covers one token request: script result is remembered by script inum (context is built
+ * per script from the same request data) so script runs once however many scopes and permissions refer to it.
+ * Scripts are run on bounded pool if {@link AppConfiguration#getUmaRptPolicyThreads()} is positive, otherwise on the
+ * calling thread. In both cases evaluation stops on first deny and denies once
+ * {@link AppConfiguration#getUmaRptPolicyTimeout()} milliseconds pass.
+ */
+@ApplicationScoped
+@Named
+public class UmaPolicyEvaluator {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private ExternalUmaRptPolicyService policyService;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        int threads = appConfiguration.getUmaRptPolicyThreads();
+        if (threads > 0) {
+            this.executor = ServerUtil.createFixedExecutor(threads, "oxauth-uma-policy");
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public Evaluation newEvaluation() {
+        int timeout = appConfiguration.getUmaRptPolicyTimeout();
+        return new Evaluation(timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE);
+    }
+
+    public class Evaluation {
+
+        private final long deadline;
+        private final Map<String, Boolean> results = new HashMap<String, Boolean>();
+
+        private Evaluation(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return <code>true</code> if all scripts authorize request
+         */
+        public boolean authorize(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap) {
+            final Map<String, UmaScriptByScope> pending = new LinkedHashMap<String, UmaScriptByScope>();
+            for (UmaScriptByScope scriptByScope : scriptMap.keySet()) {
+                final String inum = scriptByScope.getScript().getInum();
+                final Boolean result = results.get(inum);
+                if (result == null) {
+                    pending.put(inum, scriptByScope);
+                } else if (!result) {
+                    log.trace("Policy script inum: '{}' already denied, scope: {}", inum, scriptByScope.getScope());
+                    return false;
+                }
+            }
+
+            if (pending.isEmpty()) {
+                return true;
+            }
+            if (executor == null || pending.size() == 1) {
+                return authorizeSequentially(pending, scriptMap);
+            }
+            return authorizeConcurrently(pending, scriptMap);
+        }
+
+        private boolean authorizeSequentially(Map<String, UmaScriptByScope> pending, Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap) {
+            for (Map.Entry<String, UmaScriptByScope> entry : pending.entrySet()) {
+                if (System.currentTimeMillis() > deadline) {
+                    log.error("UMA policy evaluation timed out, deny access. Not evaluated script inum: {}", entry.getKey());
+                    return false;
+                }
+
+                final UmaScriptByScope scriptByScope = entry.getValue();
+                if (!record(entry.getKey(), policyService.authorize(scriptByScope.getScript(), scriptMap.get(scriptByScope)))) {
+                    log.trace("Stop authorization scriptMap execution, current script returns false, script inum: " + entry.getKey() + ", scope: " + scriptByScope.getScope());
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean authorizeConcurrently(Map<String, UmaScriptByScope> pending, Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap) {
+            final CompletionService<Boolean> completionService = new ExecutorCompletionService<Boolean>(executor);
+            final Map<Future<Boolean>, String> futures = new HashMap<Future<Boolean>, String>();
+            try {
+                for (Map.Entry<String, UmaScriptByScope> entry : pending.entrySet()) {
+                    final CustomScriptConfiguration script = entry.getValue().getScript();
+                    final UmaAuthorizationContext context = scriptMap.get(entry.getValue());
+                    futures.put(completionService.submit(new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() {
+                            return policyService.authorize(script, context);
+                        }
+                    }), entry.getKey());
+                }
+
+                for (int i = 0; i < futures.size(); i++) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    final Future<Boolean> done = remaining > 0 ? completionService.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                    if (done == null) {
+                        log.error("UMA policy evaluation timed out, deny access. Scripts: {}", pending.keySet());
+                        return false;
+                    }
+
+                    final String inum = futures.get(done);
+                    if (!record(inum, done.get())) {
+                        log.trace("Stop authorization scriptMap execution, script returns false, script inum: " + inum);
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (Exception e) {
+                log.error("Failed to evaluate UMA policy scripts, deny access", e);
+                return false;
+            } finally {
+                for (Future<Boolean> future : futures.keySet()) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        private boolean record(String inum, boolean result) {
+            log.trace("Policy script inum: '{}' result: '{}'", inum, result);
+            results.put(inum, result);
+            return result;
+        }
+    }
+}
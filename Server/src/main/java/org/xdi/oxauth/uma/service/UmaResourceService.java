@@ -18,6 +18,7 @@ import org.slf4j.Logger;
 import org.xdi.oxauth.model.config.StaticConfiguration;
 import org.xdi.oxauth.model.error.ErrorResponseFactory;
 import org.xdi.oxauth.model.uma.persistence.UmaResource;
+import org.xdi.oxauth.service.CleanerStatistics;
 import org.xdi.oxauth.service.CleanerTimer;
 import org.xdi.service.CacheService;
 import org.xdi.util.StringHelper;
@@ -55,6 +56,9 @@ public class UmaResourceService {
     @Inject
     private CacheService cacheService;
 
+    @Inject
+    private UmaScopeExpressionCache scopeExpressionCache;
+
     public void addBranch() {
         SimpleBranch branch = new SimpleBranch();
         branch.setOrganizationalUnitName("resources");
@@ -89,6 +93,7 @@ public class UmaResourceService {
     public void updateResource(UmaResource resource) {
         validate(resource);
         ldapEntryManager.merge(resource);
+        scopeExpressionCache.invalidate(resource);
     }
 
     /**
@@ -98,6 +103,7 @@ public class UmaResourceService {
      */
     public void remove(UmaResource resource) {
         ldapEntryManager.remove(resource);
+        scopeExpressionCache.invalidate(resource);
     }
 
     /**
@@ -106,7 +112,7 @@ public class UmaResourceService {
      * @param rsid resource ID
      */
     public void remove(String rsid) {
-        ldapEntryManager.remove(getResourceById(rsid));
+        remove(getResourceById(rsid));
     }
 
     public void remove(List<UmaResource> resources) {
@@ -263,16 +269,19 @@ public class UmaResourceService {
         return true;
     }
 
-    public void cleanup(Date now) {
+    public void cleanup(final Date now, final CleanerStatistics statistics) {
         prepareBranch();
 
         BatchOperation<UmaResource> batchService = new ProcessBatchOperation<UmaResource>() {
             @Override
             public void performAction(List<UmaResource> entries) {
+                statistics.found(entries.size());
                 for (UmaResource p : entries) {
                     try {
                         remove(p);
+                        statistics.removed(1);
                     } catch (Exception e) {
+                        statistics.failed(1);
                         log.error("Failed to remove entry", e);
                     }
                 }
@@ -31,6 +31,7 @@ import org.xdi.oxauth.model.configuration.AppConfiguration;
 import org.xdi.oxauth.model.registration.Client;
 import org.xdi.oxauth.model.uma.persistence.UmaPermission;
 import org.xdi.oxauth.model.util.Util;
+import org.xdi.oxauth.service.CleanerStatistics;
 import org.xdi.oxauth.service.CleanerTimer;
 import org.xdi.oxauth.service.ClientService;
 import org.xdi.oxauth.service.token.TokenService;
@@ -75,6 +76,12 @@ public class UmaRptService {
     @Inject
     private ClientService clientService;
 
+    @Inject
+    private UmaPermissionService permissionService;
+
+    @Inject
+    private UmaIntrospectionNearCache introspectionNearCache;
+
     public static String getDn(String clientDn, String uniqueIdentifier) {
         return String.format("uniqueIdentifier=%s,%s", uniqueIdentifier, branchDn(clientDn));
     }
@@ -117,6 +124,7 @@ public class UmaRptService {
 
     public void deleteByCode(String rptCode) {
         try {
+            introspectionNearCache.invalidateRpt(rptCode);
             final UmaRPT t = getRPTByCode(rptCode);
             if (t != null) {
                 ldapEntryManager.remove(t);
@@ -126,14 +134,17 @@ public class UmaRptService {
         }
     }
 
-    public void cleanup(final Date now) {
+    public void cleanup(final Date now, final CleanerStatistics statistics) {
     	BatchOperation<UmaRPT> rptBatchService = new ProcessBatchOperation<UmaRPT>() {
             @Override
             public void performAction(List<UmaRPT> entries) {
+                statistics.found(entries.size());
                 for (UmaRPT p : entries) {
                     try {
                         ldapEntryManager.remove(p);
+                        statistics.removed(1);
                     } catch (Exception e) {
+                        statistics.failed(1);
                         log.error("Failed to remove entry", e);
                     }
                 }
@@ -167,6 +178,7 @@ public class UmaRptService {
         rpt.setPermissions(permissions);
 
         try {
+            introspectionNearCache.invalidateRpt(rpt.getCode());
             ldapEntryManager.merge(rpt);
             log.trace("Persisted RPT: " + rpt);
         } catch (Exception e) {
@@ -175,21 +187,14 @@ public class UmaRptService {
     }
 
     public List<UmaPermission> getRptPermissions(UmaRPT p_rpt) {
-        final List<UmaPermission> result = new ArrayList<UmaPermission>();
         try {
             if (p_rpt != null && p_rpt.getPermissions() != null) {
-                final List<String> permissionDns = p_rpt.getPermissions();
-                for (String permissionDn : permissionDns) {
-                    final UmaPermission permissionObject = ldapEntryManager.find(UmaPermission.class, permissionDn);
-                    if (permissionObject != null) {
-                        result.add(permissionObject);
-                    }
-                }
+                return permissionService.getPermissionsByDns(p_rpt.getPermissions());
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
-        return result;
+        return new ArrayList<UmaPermission>();
     }
 
     public UmaRPT createRPT(String clientId) {
@@ -0,0 +1,63 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.uma.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.xdi.oxauth.model.uma.JsonLogicExpression;
+import org.xdi.oxauth.model.uma.JsonLogicNodeParser;
+import org.xdi.oxauth.model.uma.persistence.UmaResource;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+
+/**
+ * Compiled scope expressions of resources, by resource DN. Entry is recompiled when resource comes with different
+ * expression, so update on another node is picked up on next evaluation.
+ */
+@ApplicationScoped
+@Named
+public class UmaScopeExpressionCache {
+
+    private static final int MAX_SIZE = 10000;
+
+    private final Cache<String, Entry> expressions = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+
+    /**
+     * @return compiled scope expression of resource or <code>null</code> if expression can't be parsed
+     */
+    public JsonLogicExpression get(UmaResource resource) {
+        final String scopeExpression = resource.getScopeExpression();
+        final String key = resource.getDn();
+
+        Entry entry = key != null ? expressions.getIfPresent(key) : null;
+        if (entry == null || !entry.scopeExpression.equals(scopeExpression)) {
+            entry = new Entry(scopeExpression, JsonLogicExpression.compile(JsonLogicNodeParser.parseNode(scopeExpression)));
+            if (key != null) {
+                expressions.put(key, entry);
+            }
+        }
+        return entry.expression;
+    }
+
+    public void invalidate(UmaResource resource) {
+        if (resource != null && resource.getDn() != null) {
+            expressions.invalidate(resource.getDn());
+        }
+    }
+
+    private static class Entry {
+
+        private final String scopeExpression;
+        private final JsonLogicExpression expression;
+
+        Entry(String scopeExpression, JsonLogicExpression expression) {
+            this.scopeExpression = scopeExpression;
+            this.expression = expression;
+        }
+    }
+}
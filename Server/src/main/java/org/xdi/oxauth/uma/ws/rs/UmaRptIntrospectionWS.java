@@ -19,6 +19,7 @@ import org.xdi.oxauth.model.uma.RptIntrospectionResponse;
 import org.xdi.oxauth.model.uma.UmaConstants;
 import org.xdi.oxauth.model.uma.UmaErrorResponseType;
 import org.xdi.oxauth.model.uma.persistence.UmaPermission;
+import org.xdi.oxauth.uma.service.UmaIntrospectionNearCache;
 import org.xdi.oxauth.uma.service.UmaPctService;
 import org.xdi.oxauth.uma.service.UmaRptService;
 import org.xdi.oxauth.uma.service.UmaScopeService;
@@ -56,6 +57,8 @@ public class UmaRptIntrospectionWS {
     private UmaScopeService umaScopeService;
     @Inject
     private UmaPctService pctService;
+    @Inject
+    private UmaIntrospectionNearCache introspectionNearCache;
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
@@ -77,7 +80,13 @@ public class UmaRptIntrospectionWS {
         try {
             umaValidationService.assertHasProtectionScope(authorization);
 
-            final UmaRPT rpt = rptService.getRPTByCode(token);
+            UmaRPT rpt = introspectionNearCache.getRpt(token);
+            if (rpt == null) {
+                rpt = rptService.getRPTByCode(token);
+                introspectionNearCache.putRpt(rpt);
+            }
+            // Resolved through permission near cache on every call, it's invalidated when permission changes
+            final List<UmaPermission> rptPermissions = rptService.getRptPermissions(rpt);
 
             if (!isValid(rpt)) {
                 return Response.status(Response.Status.OK).
@@ -86,7 +95,7 @@ public class UmaRptIntrospectionWS {
                         build();
             }
 
-            final List<org.xdi.oxauth.model.uma.UmaPermission> permissions = buildStatusResponsePermissions(rpt);
+            final List<org.xdi.oxauth.model.uma.UmaPermission> permissions = buildStatusResponsePermissions(rpt, rptPermissions);
 
             // active status
             final RptIntrospectionResponse statusResponse = new RptIntrospectionResponse();
@@ -98,12 +107,15 @@ public class UmaRptIntrospectionWS {
             statusResponse.setAud(rpt.getClientId());
             statusResponse.setSub(rpt.getUserId());
 
-            final List<UmaPermission> rptPermissions = rptService.getRptPermissions(rpt);
             if (!rptPermissions.isEmpty()) {
                 UmaPermission permission = rptPermissions.iterator().next();
                 String pctCode = permission.getAttributes().get(UmaPermission.PCT);
                 if (StringUtils.isNotBlank(pctCode)) {
-                    UmaPCT pct = pctService.getByCode(pctCode);
+                    UmaPCT pct = introspectionNearCache.getPct(pctCode);
+                    if (pct == null) {
+                        pct = pctService.getByCode(pctCode);
+                        introspectionNearCache.putPct(pct);
+                    }
                     if (pct != null) {
                         statusResponse.setPctClaims(pct.getClaims().toMap());
                     } else {
@@ -146,10 +158,9 @@ public class UmaRptIntrospectionWS {
         return false;
     }
 
-    private List<org.xdi.oxauth.model.uma.UmaPermission> buildStatusResponsePermissions(UmaRPT rpt) {
+    private List<org.xdi.oxauth.model.uma.UmaPermission> buildStatusResponsePermissions(UmaRPT rpt, List<UmaPermission> rptPermissions) {
         final List<org.xdi.oxauth.model.uma.UmaPermission> result = new ArrayList<org.xdi.oxauth.model.uma.UmaPermission>();
         if (rpt != null) {
-            final List<UmaPermission> rptPermissions = rptService.getRptPermissions(rpt);
             if (rptPermissions != null && !rptPermissions.isEmpty()) {
                 for (UmaPermission permission : rptPermissions) {
                     if (isValid(permission)) {
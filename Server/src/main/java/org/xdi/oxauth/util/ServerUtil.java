@@ -37,8 +37,10 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Yuriy Zabrovarnyy
@@ -158,6 +160,21 @@ public class ServerUtil {
         });
     }
 
+    /**
+     * Creates bounded pool of daemon threads named <code>namePrefix-N</code>.
+     */
+    public static ExecutorService createFixedExecutor(int threads, final String namePrefix) {
+        return Executors.newFixedThreadPool(Math.max(threads, 1), new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            public Thread newThread(Runnable p_r) {
+                Thread thread = new Thread(p_r, namePrefix + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
     public static org.xdi.oxauth.model.uma.UmaPermission convert(UmaPermission permission, UmaScopeService umaScopeService) {
         if (permission != null) {
             final org.xdi.oxauth.model.uma.UmaPermission result = new org.xdi.oxauth.model.uma.UmaPermission();
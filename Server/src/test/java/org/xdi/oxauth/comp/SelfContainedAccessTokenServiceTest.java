@@ -0,0 +1,107 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.comp;
+
+import javax.inject.Inject;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+import org.xdi.oxauth.BaseComponentTest;
+import org.xdi.oxauth.model.common.AccessToken;
+import org.xdi.oxauth.model.common.AccessTokenFormat;
+import org.xdi.oxauth.model.common.AuthorizationGrant;
+import org.xdi.oxauth.model.common.AuthorizationGrantList;
+import org.xdi.oxauth.model.common.User;
+import org.xdi.oxauth.model.configuration.AppConfiguration;
+import org.xdi.oxauth.model.jwt.Jwt;
+import org.xdi.oxauth.model.registration.Client;
+import org.xdi.oxauth.service.ClientService;
+import org.xdi.oxauth.service.GrantService;
+import org.xdi.oxauth.service.token.RevokedGrantList;
+import org.xdi.oxauth.service.token.SelfContainedAccessTokenService;
+
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Self-contained access tokens must stop validating once their grant is revoked.
+ */
+public class SelfContainedAccessTokenServiceTest extends BaseComponentTest {
+
+	@Inject
+	private AppConfiguration appConfiguration;
+
+	@Inject
+	private SelfContainedAccessTokenService selfContainedAccessTokenService;
+
+	@Inject
+	private RevokedGrantList revokedGrantList;
+
+	@Inject
+	private GrantService grantService;
+
+	@Inject
+	private AuthorizationGrantList authorizationGrantList;
+
+	@Inject
+	private ClientService clientService;
+
+	private AccessTokenFormat previousFormat;
+
+	@BeforeClass
+	public void enableSelfContainedTokens() {
+		previousFormat = appConfiguration.getAccessTokenFormat();
+		appConfiguration.setAccessTokenFormat(AccessTokenFormat.JWT);
+	}
+
+	@AfterClass
+	public void restoreTokenFormat() {
+		appConfiguration.setAccessTokenFormat(previousFormat);
+	}
+
+	@Parameters(value = "clientId")
+	@Test
+	public void revokedGrantIsNotValid(String clientId) throws Exception {
+		final AuthorizationGrant grant = createGrant(clientId);
+		final Jwt jwt = createToken(grant);
+		assertNotNull(selfContainedAccessTokenService.validate(jwt));
+
+		revokedGrantList.revokeGrant(grant.getGrantId());
+		assertNull(selfContainedAccessTokenService.validate(jwt));
+	}
+
+	@Parameters(value = "clientId")
+	@Test
+	public void replayedCodeRevokesGrant(String clientId) throws Exception {
+		final AuthorizationGrant grant = createGrant(clientId);
+		final Jwt jwt = createToken(grant);
+		final String code = GrantService.generateGrantId();
+
+		grantService.removeUsedAuthorizationCode(code, clientId, grant.getGrantId());
+		assertNotNull(selfContainedAccessTokenService.validate(jwt));
+
+		// no token of grant is persisted, grant is found by remembered code only
+		grantService.removeAllByAuthorizationCode(code, clientId);
+		assertNull(selfContainedAccessTokenService.validate(jwt));
+	}
+
+	private AuthorizationGrant createGrant(String clientId) {
+		final Client client = clientService.getClient(clientId);
+		assertNotNull(client);
+		return authorizationGrantList.createClientCredentialsGrant(new User(), client);
+	}
+
+	private Jwt createToken(AuthorizationGrant grant) throws Exception {
+		final String code = selfContainedAccessTokenService.createCode(grant, new AccessToken(appConfiguration.getAccessTokenLifetime()));
+		final Jwt jwt = selfContainedAccessTokenService.parse(code);
+		assertNotNull(jwt);
+		return jwt;
+	}
+
+}
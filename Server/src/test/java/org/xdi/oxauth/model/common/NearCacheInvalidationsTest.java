@@ -0,0 +1,106 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.model.common;
+
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+public class NearCacheInvalidationsTest {
+
+    // stands for shared CacheService
+    private final Map<String, String> shared = new HashMap<String, String>();
+
+    private void invalidate(String region, String key) {
+        shared.put(NearCacheInvalidations.cacheKey(region, key), NearCacheInvalidations.newVersion());
+    }
+
+    private String published(String region, String key) {
+        return shared.get(NearCacheInvalidations.cacheKey(region, key));
+    }
+
+    @Test
+    public void entryCachedBeforeInvalidationIsStale() {
+        shared.clear();
+
+        final String cachedVersion = published("client", "a");
+        assertTrue(NearCacheInvalidations.isCurrent(cachedVersion, published("client", "a")));
+
+        invalidate("client", "a");
+        assertFalse(NearCacheInvalidations.isCurrent(cachedVersion, published("client", "a")));
+    }
+
+    @Test
+    public void laterInvalidationMakesReloadedEntryStaleAgain() {
+        shared.clear();
+
+        invalidate("client", "a");
+        final String reloadedVersion = published("client", "a");
+        assertTrue(NearCacheInvalidations.isCurrent(reloadedVersion, published("client", "a")));
+
+        invalidate("client", "a");
+        assertFalse(NearCacheInvalidations.isCurrent(reloadedVersion, published("client", "a")));
+    }
+
+    @Test
+    public void expiredVersionDropsEntry() {
+        shared.clear();
+
+        invalidate("client", "a");
+        final String cachedVersion = published("client", "a");
+
+        shared.clear();
+        assertFalse(NearCacheInvalidations.isCurrent(cachedVersion, published("client", "a")));
+    }
+
+    @Test
+    public void burstOfInvalidationsDropsNothing() {
+        shared.clear();
+
+        final String cachedVersion = published("grant", "first");
+        invalidate("grant", "first");
+        for (int i = 0; i < 5000; i++) {
+            invalidate("grant", "key" + i);
+        }
+
+        assertEquals(shared.size(), 5001);
+        assertFalse(NearCacheInvalidations.isCurrent(cachedVersion, published("grant", "first")));
+    }
+
+    @Test
+    public void keysAreIndependentPerRegion() {
+        final Set<String> keys = new HashSet<String>();
+        keys.add(NearCacheInvalidations.cacheKey("client", "a"));
+        keys.add(NearCacheInvalidations.cacheKey("client", "b"));
+        keys.add(NearCacheInvalidations.cacheKey("user", "a"));
+        assertEquals(keys.size(), 3);
+
+        assertNotEquals(NearCacheInvalidations.newVersion(), NearCacheInvalidations.newVersion());
+    }
+
+    @Test
+    public void invalidationPublishedAfterEntryWasCachedIsDetected() {
+        shared.clear();
+
+        invalidate("client", "a");
+        final long publishedAt = System.currentTimeMillis();
+        assertFalse(NearCacheInvalidations.isPublishedAfter(published("client", "a"), publishedAt + 1000));
+        assertTrue(NearCacheInvalidations.isPublishedAfter(published("client", "a"), publishedAt - 1000));
+
+        assertFalse(NearCacheInvalidations.isPublishedAfter(null, publishedAt));
+        assertTrue(NearCacheInvalidations.isPublishedAfter("unknown", publishedAt));
+    }
+
+}
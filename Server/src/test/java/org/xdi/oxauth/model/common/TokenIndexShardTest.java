@@ -0,0 +1,49 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.model.common;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TokenIndexShardTest {
+
+    @Test
+    public void removesExpiredMembersOnly() {
+        TokenIndexShard shard = new TokenIndexShard();
+        shard.getMembers().put("expired", 1000L);
+        shard.getMembers().put("expiresNow", 2000L);
+        shard.getMembers().put("valid", 3000L);
+
+        shard.removeExpired(2000L);
+
+        assertEquals(shard.getMembers().size(), 1);
+        assertTrue(shard.getMembers().containsKey("valid"));
+        assertFalse(shard.getMembers().containsKey("expiresNow"));
+    }
+
+    @Test
+    public void maxExpirationFollowsLongestLivingMember() {
+        TokenIndexShard shard = new TokenIndexShard();
+        assertEquals(shard.getMaxExpiration(), 0L);
+
+        shard.getMembers().put("a", 5000L);
+        shard.getMembers().put("b", 3000L);
+        assertEquals(shard.getMaxExpiration(), 5000L);
+
+        shard.getMembers().put("c", Long.MAX_VALUE);
+        assertEquals(shard.getMaxExpiration(), Long.MAX_VALUE);
+    }
+
+    @Test
+    public void cacheKeyIsIndependentOfShardCount() {
+        assertEquals(TokenIndexShard.cacheKey("client_tokens", 3), "client_tokens_3");
+    }
+
+}
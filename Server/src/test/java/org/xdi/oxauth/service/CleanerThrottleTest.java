@@ -0,0 +1,60 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertTrue;
+
+public class CleanerThrottleTest {
+
+    @Test
+    public void unlimitedThrottleDoesNotWait() {
+        CleanerThrottle throttle = new CleanerThrottle(0, 0);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 100; i++) {
+            throttle.acquire(CleanerTimer.BATCH_SIZE);
+            throttle.completed(CleanerTimer.BATCH_SIZE, 10000);
+        }
+        assertTrue(System.currentTimeMillis() - start < 500);
+    }
+
+    @Test
+    public void rateLimitsRemovals() {
+        CleanerThrottle throttle = new CleanerThrottle(100, 0);
+        throttle.acquire(50);
+
+        long start = System.currentTimeMillis();
+        throttle.acquire(1); // waits for 50 permits acquired before, i.e. ~500ms
+        assertTrue(System.currentTimeMillis() - start >= 400);
+    }
+
+    @Test
+    public void backsOffWhenLatencyIsAboveThreshold() {
+        CleanerThrottle throttle = new CleanerThrottle(0, 50);
+
+        long start = System.currentTimeMillis();
+        throttle.completed(10, 300); // 30ms per entry, under threshold
+        assertTrue(System.currentTimeMillis() - start < 200);
+
+        start = System.currentTimeMillis();
+        throttle.completed(2, 300); // 150ms per entry, pauses for time batch took
+        assertTrue(System.currentTimeMillis() - start >= 300);
+    }
+
+    @Test
+    public void ignoresEmptyBatches() {
+        CleanerThrottle throttle = new CleanerThrottle(1, 1);
+
+        long start = System.currentTimeMillis();
+        throttle.acquire(0);
+        throttle.completed(0, 10000);
+        assertTrue(System.currentTimeMillis() - start < 500);
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service;
+
+import org.testng.annotations.Test;
+
+import java.util.Date;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ClientAccessTimeUpdaterTest {
+
+    private static final String CLIENT = "inum=@!1111,ou=clients,o=gluu";
+
+    @Test
+    public void coalescesUpdatesOfClient() {
+        ClientAccessTimeUpdater.PendingUpdates pending = new ClientAccessTimeUpdater.PendingUpdates();
+
+        assertTrue(pending.add(CLIENT, new Date(1000), null, 10));
+        assertTrue(pending.add(CLIENT, new Date(3000), new Date(3000), 10));
+        assertTrue(pending.add(CLIENT, new Date(2000), null, 10));
+        assertEquals(pending.getClientDns().size(), 1);
+
+        ClientAccessTimeUpdater.AccessTime accessTime = pending.take(CLIENT);
+        assertEquals(accessTime.getAccessTime(), new Date(3000));
+        assertEquals(accessTime.getLogonTime(), new Date(3000));
+        assertTrue(pending.isEmpty());
+        assertNull(pending.take(CLIENT));
+    }
+
+    @Test
+    public void updateOfTakenEntryIsQueuedAgain() {
+        ClientAccessTimeUpdater.PendingUpdates pending = new ClientAccessTimeUpdater.PendingUpdates();
+        pending.add(CLIENT, new Date(1000), null, 10);
+
+        ClientAccessTimeUpdater.AccessTime flushed = pending.take(CLIENT);
+        assertFalse(flushed.update(new Date(2000), null));
+
+        assertTrue(pending.add(CLIENT, new Date(2000), null, 10));
+        assertEquals(flushed.getAccessTime(), new Date(1000));
+        assertEquals(pending.take(CLIENT).getAccessTime(), new Date(2000));
+    }
+
+    @Test
+    public void rejectsNewClientWhenFull() {
+        ClientAccessTimeUpdater.PendingUpdates pending = new ClientAccessTimeUpdater.PendingUpdates();
+
+        assertTrue(pending.add(CLIENT, new Date(1000), null, 1));
+        assertFalse(pending.add("inum=@!2222,ou=clients,o=gluu", new Date(1000), null, 1));
+        assertTrue(pending.add(CLIENT, new Date(2000), null, 1));
+    }
+
+}
@@ -0,0 +1,30 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class CacheTokenIndexTest {
+
+    @Test
+    public void readsBothShardLayoutsAfterShardCountChange() {
+        assertEquals(CacheTokenIndex.getReadShardCount(16, 0), 16);
+        assertEquals(CacheTokenIndex.getReadShardCount(8, 16), 16);
+        assertEquals(CacheTokenIndex.getReadShardCount(32, 16), 32);
+
+        for (int i = 0; i < 1000; i++) {
+            final String tokenHash = "token" + i;
+            final int oldShard = CacheTokenIndex.shard(tokenHash, 16);
+            assertTrue(oldShard >= 0 && oldShard < CacheTokenIndex.getReadShardCount(8, 16));
+            assertTrue(CacheTokenIndex.shard(tokenHash, 8) < 8);
+        }
+    }
+
+}
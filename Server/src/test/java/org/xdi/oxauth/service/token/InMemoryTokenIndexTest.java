@@ -0,0 +1,75 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.service.token;
+
+import org.testng.annotations.Test;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class InMemoryTokenIndexTest {
+
+    private static Date inFuture() {
+        return new Date(System.currentTimeMillis() + 60000);
+    }
+
+    private static Date inPast() {
+        return new Date(System.currentTimeMillis() - 1000);
+    }
+
+    @Test
+    public void addsAndRemovesMembers() {
+        InMemoryTokenIndex index = new InMemoryTokenIndex();
+        index.add("client_a", "t1", inFuture());
+        index.add("client_a", "t2", null);
+        index.add("client_b", "t3", inFuture());
+
+        Set<String> expected = new HashSet<String>();
+        expected.add("t1");
+        expected.add("t2");
+        assertEquals(index.get("client_a"), expected);
+
+        index.remove("client_a", "t1");
+        index.remove("client_a", "unknown");
+        assertEquals(index.get("client_a").size(), 1);
+        assertTrue(index.get("client_a").contains("t2"));
+        assertTrue(index.get("client_b").contains("t3"));
+        assertTrue(index.get("unknown").isEmpty());
+    }
+
+    @Test
+    public void skipsExpiredMembers() {
+        InMemoryTokenIndex index = new InMemoryTokenIndex();
+        index.add("session_a", "expired", inPast());
+        index.add("session_a", "valid", inFuture());
+
+        assertEquals(index.get("session_a").size(), 1);
+        assertTrue(index.get("session_a").contains("valid"));
+    }
+
+    @Test
+    public void cleanUpDropsExpiredMembersAndEmptyIndexes() {
+        InMemoryTokenIndex index = new InMemoryTokenIndex();
+        index.add("session_a", "expired", inPast());
+        index.add("session_b", "expired", inPast());
+        index.add("session_b", "valid", inFuture());
+
+        index.cleanUp();
+
+        assertTrue(index.get("session_a").isEmpty());
+        assertEquals(index.get("session_b").size(), 1);
+
+        // index dropped by clean up is recreated on next addition
+        index.add("session_a", "new", inFuture());
+        assertTrue(index.get("session_a").contains("new"));
+    }
+
+}
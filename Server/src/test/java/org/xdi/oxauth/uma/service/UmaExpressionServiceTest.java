@@ -0,0 +1,84 @@
+/*
+ * oxAuth is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2014, Gluu
+ */
+
+package org.xdi.oxauth.uma.service;
+
+import org.testng.annotations.Test;
+import org.xdi.oxauth.model.uma.persistence.UmaScopeDescription;
+import org.xdi.oxauth.uma.authorization.UmaAuthorizationContext;
+import org.xdi.oxauth.uma.authorization.UmaScriptByScope;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class UmaExpressionServiceTest {
+
+    private static UmaScriptByScope script(String scopeId) {
+        UmaScopeDescription scope = new UmaScopeDescription();
+        scope.setId(scopeId);
+        scope.setDn("inum=" + scopeId + ",ou=scopes,o=gluu");
+        return new UmaScriptByScope(scope, null);
+    }
+
+    private static List<Map<UmaScriptByScope, UmaAuthorizationContext>> getScopeScripts(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap,
+                                                                                        List<String> dataScopes, String... permissionScopeIds) {
+        List<String> permissionScopeDns = new ArrayList<String>();
+        for (String scopeId : permissionScopeIds) {
+            permissionScopeDns.add("inum=" + scopeId + ",ou=scopes,o=gluu");
+        }
+        Map<String, String> scopeIdToDnMap = UmaExpressionService.scopeIdToDnMap(scriptMap, permissionScopeDns);
+        return UmaExpressionService.getScopeScripts(scriptMap, dataScopes, scopeIdToDnMap, permissionScopeDns);
+    }
+
+    @Test
+    public void sameScopesAreEvaluated() {
+        Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap = new HashMap<UmaScriptByScope, UmaAuthorizationContext>();
+        scriptMap.put(script("a"), null);
+        scriptMap.put(script("b"), null);
+
+        List<Map<UmaScriptByScope, UmaAuthorizationContext>> scopeScripts = getScopeScripts(scriptMap, Arrays.asList("b", "a"), "a", "b");
+        assertNotNull(scopeScripts);
+        assertEquals(scopeScripts.size(), 2);
+        assertEquals(scopeScripts.get(0).keySet().iterator().next().getScope().getId(), "b");
+        assertEquals(scopeScripts.get(1).keySet().iterator().next().getScope().getId(), "a");
+    }
+
+    @Test
+    public void dataScopeMissingInPermissionIsDenied() {
+        Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap = new HashMap<UmaScriptByScope, UmaAuthorizationContext>();
+        scriptMap.put(script("a"), null);
+        scriptMap.put(script("b"), null);
+        scriptMap.put(script("c"), null);
+
+        // same size but 'c' policy would never run and 'b' would be granted without its policy
+        assertNull(getScopeScripts(scriptMap, Arrays.asList("a", "c"), "a", "b"));
+    }
+
+    @Test
+    public void permissionScopeWithoutPolicyIsDenied() {
+        Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap = new HashMap<UmaScriptByScope, UmaAuthorizationContext>();
+        scriptMap.put(script("a"), null);
+
+        assertNull(getScopeScripts(scriptMap, Arrays.asList("a"), "a", "b"));
+    }
+
+    @Test
+    public void dataScopeWithoutScriptIsDenied() {
+        Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap = new HashMap<UmaScriptByScope, UmaAuthorizationContext>();
+        Map<String, String> scopeIdToDnMap = new HashMap<String, String>();
+        scopeIdToDnMap.put("a", "inum=a,ou=scopes,o=gluu");
+
+        assertNull(UmaExpressionService.getScopeScripts(scriptMap, Arrays.asList("a"), scopeIdToDnMap, Arrays.asList("inum=a,ou=scopes,o=gluu")));
+    }
+
+}